@@ -0,0 +1,40 @@
+package net.coderodde.loan.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the benchmarks with allocation profiling. The arguments are
+ * the usual JMH command line, for example
+ * <tt>SimplifierBenchmark -p nodeCount=10</tt>.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    /**
+     * The entry point of the benchmarks.
+     *
+     * @param  args the JMH command line.
+     * @throws CommandLineOptionException if the command line is malformed.
+     * @throws RunnerException            if a benchmark fails.
+     */
+    public static void main(final String... args)
+    throws CommandLineOptionException, RunnerException {
+        final Options options =
+                new OptionsBuilder()
+                        .parent(new CommandLineOptions(args))
+                        .addProfiler(GCProfiler.class)
+                        .build();
+
+        new Runner(options).run();
+    }
+}
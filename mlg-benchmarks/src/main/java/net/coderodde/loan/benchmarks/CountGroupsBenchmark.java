@@ -0,0 +1,127 @@
+package net.coderodde.loan.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.support.BlockSumMatcher;
+import net.coderodde.loan.support.SpecialPartitionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares the group counting kernels on all the partition pairs
+ * with <code>k</code> blocks the partitional simplifiers go through: a
+ * {@link net.coderodde.loan.support.BlockSumMatcher} on the nodes, and a
+ * matcher on the block sums maintained by the partition generators.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountGroupsBenchmark {
+
+    /**
+     * The amount of positive nodes.
+     */
+    private static final int POSITIVE_LENGTH = 8;
+
+    /**
+     * The amount of negative nodes.
+     */
+    private static final int NEGATIVE_LENGTH = 9;
+
+    /**
+     * The maximum node weight.
+     */
+    private static final long MAX_WEIGHT = 1000L;
+
+    @Param({ "3", "4", "5" })
+    public int k;
+
+    private long[] positiveArray;
+
+    private long[] negativeArray;
+
+    @Setup
+    public void setUp() {
+        final Random rnd = new Random(2017L);
+        positiveArray = new long[POSITIVE_LENGTH];
+        negativeArray = new long[NEGATIVE_LENGTH];
+        long sum = 0L;
+
+        for (int i = 0; i < positiveArray.length; ++i) {
+            positiveArray[i] = 1L + (long)(rnd.nextDouble() * MAX_WEIGHT);
+            sum += positiveArray[i];
+        }
+
+        for (int i = 0; i < negativeArray.length - 1; ++i) {
+            negativeArray[i] = -1L - (long)(rnd.nextDouble() * MAX_WEIGHT / 2);
+            sum += negativeArray[i];
+        }
+
+        negativeArray[negativeArray.length - 1] = -sum;
+    }
+
+    @Benchmark
+    public long matcher() {
+        final BlockSumMatcher matcher = new BlockSumMatcher(k);
+        final SpecialPartitionGenerator positiveGenerator =
+                new SpecialPartitionGenerator(positiveArray.length, k);
+        final int[] positiveIndices = positiveGenerator.getIndices();
+        long total = 0L;
+
+        do {
+            final SpecialPartitionGenerator negativeGenerator =
+                    new SpecialPartitionGenerator(negativeArray.length, k);
+            final int[] negativeIndices = negativeGenerator.getIndices();
+
+            do {
+                total += matcher.countGroups(positiveArray,
+                                             negativeArray,
+                                             positiveIndices,
+                                             negativeIndices,
+                                             k);
+            } while (negativeGenerator.inc());
+        } while (positiveGenerator.inc());
+
+        return total;
+    }
+
+    @Benchmark
+    public long incremental() {
+        final BlockSumMatcher matcher = new BlockSumMatcher(k);
+        final SpecialPartitionGenerator positiveGenerator =
+                new SpecialPartitionGenerator(positiveArray.length,
+                                              k,
+                                              positiveArray);
+        final long[] positiveSums = positiveGenerator.getBlockSums();
+        long total = 0L;
+
+        do {
+            final SpecialPartitionGenerator negativeGenerator =
+                    new SpecialPartitionGenerator(negativeArray.length,
+                                                  k,
+                                                  negativeArray);
+            final long[] negativeSums = negativeGenerator.getBlockSums();
+
+            do {
+                total += matcher.countGroups(positiveSums, negativeSums, k);
+            } while (negativeGenerator.inc());
+        } while (positiveGenerator.inc());
+
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package net.coderodde.loan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.support.CombinationGenerator;
+import net.coderodde.loan.support.GeneralPartitionGenerator;
+import net.coderodde.loan.support.ReversedGeneralPartitionGenerator;
+import net.coderodde.loan.support.SpecialPartitionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class measures going through all the combinations or partitions of a
+ * set with the generators.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({ "8", "10", "12" })
+    public int n;
+
+    @Benchmark
+    public void combinations(final Blackhole blackhole) {
+        final CombinationGenerator generator = new CombinationGenerator(n);
+
+        while (generator.inc()) {
+            blackhole.consume(generator.getIndices());
+        }
+    }
+
+    @Benchmark
+    public void specialPartitions(final Blackhole blackhole) {
+        final SpecialPartitionGenerator generator =
+                new SpecialPartitionGenerator(n, n / 3);
+
+        do {
+            blackhole.consume(generator.getIndices());
+        } while (generator.inc());
+    }
+
+    @Benchmark
+    public void generalPartitions(final Blackhole blackhole) {
+        final GeneralPartitionGenerator generator =
+                new GeneralPartitionGenerator(n);
+
+        do {
+            blackhole.consume(generator.getIndices());
+        } while (generator.inc());
+    }
+
+    @Benchmark
+    public void reversedGeneralPartitions(final Blackhole blackhole) {
+        final ReversedGeneralPartitionGenerator generator =
+                new ReversedGeneralPartitionGenerator(n);
+
+        do {
+            blackhole.consume(generator.getIndices());
+        } while (generator.inc());
+    }
+}
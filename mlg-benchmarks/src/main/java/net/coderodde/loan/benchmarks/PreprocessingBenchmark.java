@@ -0,0 +1,96 @@
+package net.coderodde.loan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.Utilities;
+import net.coderodde.loan.support.BlockSumMatcher;
+import net.coderodde.loan.support.SpecialPartitionGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the linear preprocessing passes on large graphs, and
+ * the group counting kernel of the partitional simplifiers on a single
+ * partition pair.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class PreprocessingBenchmark {
+
+    /**
+     * The amount of blocks in the partition pair.
+     */
+    private static final int BLOCKS = 4;
+
+    @Param({ "10000", "1000000" })
+    public int nodeCount;
+
+    @Param({ "1000", "1000000000" })
+    public long maxWeight;
+
+    @Param({ "PLANTED", "SEMITRIVIAL", "DUPLICATES" })
+    public Workloads.Structure structure;
+
+    private long[] graph;
+
+    private long[] positiveArray;
+
+    private long[] negativeArray;
+
+    private int[] positiveIndices;
+
+    private int[] negativeIndices;
+
+    private BlockSumMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        graph = Workloads.create(nodeCount, maxWeight, structure);
+        positiveArray = new long[]{ 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L };
+        negativeArray = new long[]{ -3L, -3L, -4L, -5L, -6L, -7L, -8L };
+        positiveIndices = new SpecialPartitionGenerator(8, BLOCKS)
+                                  .getIndices().clone();
+        negativeIndices = new SpecialPartitionGenerator(7, BLOCKS)
+                                  .getIndices().clone();
+        matcher = new BlockSumMatcher(BLOCKS);
+    }
+
+    @Benchmark
+    public long[] split() {
+        return Utilities.nontrivialNodes(graph);
+    }
+
+    @Benchmark
+    public boolean isGroup() {
+        return Utilities.isGroup(graph);
+    }
+
+    @Benchmark
+    public int countGroups() {
+        return Utilities.countGroups(graph);
+    }
+
+    @Benchmark
+    public int countBlockGroupsByMatching() {
+        return matcher.countGroups(positiveArray,
+                                   negativeArray,
+                                   positiveIndices,
+                                   negativeIndices,
+                                   BLOCKS);
+    }
+}
@@ -0,0 +1,75 @@
+package net.coderodde.loan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.Simplifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class measures the simplifiers on graphs of various sizes, weight
+ * ranges and structures.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimplifierBenchmark {
+
+    @Param({ "PartitionalSimplifierV1",
+             "PartitionalSimplifierV2",
+             "PartitionalSimplifierV3",
+             "PartitionalSimplifierV4",
+             "PartitionalSimplifierV5",
+             "PartitionalSimplifierV6",
+             "PartitionalSimplifierV7",
+             "CombinatorialSimplifierV1",
+             "CombinatorialSimplifierV2",
+             "CombinatorialSimplifierV3",
+             "CombinatorialSimplifierV4",
+             "GreedyCombinatorialSimplifier",
+             "DynamicProgrammingSimplifier",
+             "MeetInTheMiddleSimplifier",
+             "BranchAndBoundSimplifier" })
+    public String simplifierName;
+
+    @Param({ "10", "14" })
+    public int nodeCount;
+
+    @Param({ "10", "1000" })
+    public long maxWeight;
+
+    @Param({ "RANDOM", "PLANTED", "SEMITRIVIAL", "DUPLICATES" })
+    public Workloads.Structure structure;
+
+    private Simplifier simplifier;
+
+    private long[] graph;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        simplifier = (Simplifier)
+                Class.forName("net.coderodde.loan.support." + simplifierName)
+                     .getConstructor()
+                     .newInstance();
+        graph = Workloads.create(nodeCount, maxWeight, structure);
+    }
+
+    @Benchmark
+    public long[] simplify() {
+        return simplifier.simplify(graph);
+    }
+}
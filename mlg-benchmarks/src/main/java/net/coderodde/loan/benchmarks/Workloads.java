@@ -0,0 +1,130 @@
+package net.coderodde.loan.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.loan.Utilities;
+import net.coderodde.loan.WorkloadGenerator;
+
+/**
+ * This class creates the input graphs of the benchmarks. The graphs depend
+ * only on their parameters, so that every run measures the same inputs.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class Workloads {
+
+    /**
+     * The load factor of the random arcs.
+     */
+    private static final float ARC_LOAD_FACTOR = 0.3f;
+
+    /**
+     * The seed of all workloads.
+     */
+    private static final long SEED = 2017L;
+
+    /**
+     * The size of the planted proper groups.
+     */
+    private static final int GROUP_SIZE = 4;
+
+    /**
+     * The structures of the generated graphs.
+     */
+    public enum Structure {
+
+        /**
+         * Random arcs between all the nodes. Takes quadratic time to create,
+         * so use with small graphs only.
+         */
+        RANDOM,
+
+        /**
+         * Proper groups of four nodes.
+         */
+        PLANTED,
+
+        /**
+         * Half of the nodes in semi-trivial groups, the other half in proper
+         * groups of four nodes.
+         */
+        SEMITRIVIAL,
+
+        /**
+         * Proper groups of four nodes, each of which is duplicated.
+         */
+        DUPLICATES
+    }
+
+    private Workloads() {}
+
+    /**
+     * Creates a graph of <code>nodeCount</code> nodes.
+     *
+     * @param  nodeCount the amount of nodes.
+     * @param  maxWeight the maximum arc or node weight.
+     * @param  structure the structure of the graph.
+     * @return the graph.
+     */
+    public static long[] create(final int nodeCount,
+                                final long maxWeight,
+                                final Structure structure) {
+        final Random rnd = new Random(SEED + 31L * nodeCount + maxWeight);
+        final WorkloadGenerator generator =
+                new WorkloadGenerator(rnd, maxWeight);
+
+        switch (structure) {
+            case RANDOM:
+                return Utilities.createEquityArray(nodeCount,
+                                                   rnd,
+                                                   maxWeight,
+                                                   ARC_LOAD_FACTOR);
+
+            case PLANTED:
+                return plant(generator, nodeCount, 0, 0);
+
+            case SEMITRIVIAL:
+                return plant(generator, nodeCount, nodeCount / 4, 0);
+
+            case DUPLICATES:
+                return plant(generator,
+                             nodeCount,
+                             0,
+                             nodeCount / (2 * GROUP_SIZE));
+
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown structure: " + structure + ".");
+        }
+    }
+
+    /**
+     * Creates a graph of exactly <code>nodeCount</code> nodes out of proper
+     * groups of {@link #GROUP_SIZE} nodes, semi-trivial groups and
+     * duplicates, padding it with zeros.
+     *
+     * @param  generator            the workload generator.
+     * @param  nodeCount            the amount of nodes.
+     * @param  semitrivialPairCount the amount of semi-trivial groups.
+     * @param  duplicateGroupCount  the amount of duplicated proper groups.
+     * @return the graph.
+     */
+    private static long[] plant(final WorkloadGenerator generator,
+                                final int nodeCount,
+                                final int semitrivialPairCount,
+                                final int duplicateGroupCount) {
+        final int rest = nodeCount - 2 * semitrivialPairCount -
+                         GROUP_SIZE * duplicateGroupCount;
+        final int[] groupSizes = new int[rest / GROUP_SIZE];
+
+        Arrays.fill(groupSizes, GROUP_SIZE);
+
+        return generator.generate(groupSizes,
+                                  groupSizes.length == 0 ?
+                                          0 : duplicateGroupCount,
+                                  semitrivialPairCount,
+                                  rest % GROUP_SIZE,
+                                  0).getGraph();
+    }
+}
@@ -0,0 +1,28 @@
+package net.coderodde.loan;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This interface defines the API for simplifiers that can be stopped after a 
+ * given time budget, after which they return the best solution found so far.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public interface AnytimeSimplifier {
+    
+    /**
+     * Simplifies the input graph spending at most (approximately) 
+     * <code>budget</code> time units in the search. If the budget runs out, 
+     * the best valid solution found so far is returned, and the result is not
+     * flagged as optimal.
+     * 
+     * @param  graph  the graph to simplify.
+     * @param  budget the time budget.
+     * @param  unit   the time unit of <code>budget</code>.
+     * @return the simplification result.
+     */
+    public SimplificationResult simplify(final long[] graph,
+                                         final long budget,
+                                         final TimeUnit unit);
+}
@@ -0,0 +1,114 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+
+/**
+ * Holds a solution as indices into the input graph instead of equities, so
+ * that nodes with equal equities remain distinguishable. The solution is
+ * <code>graph[order[0]], graph[order[1]], ...</code>, and the group
+ * <tt>g</tt> consists of the nodes <code>order[i]</code> for
+ * <code>groupBoundaries[g] &lt;= i &lt; groupBoundaries[g + 1]</code>.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class GroupingResult {
+
+    /**
+     * The indices of the nodes of the input graph, group by group.
+     */
+    private final int[] order;
+
+    /**
+     * The index in <code>order</code> at which each group starts, followed by
+     * the length of <code>order</code>.
+     */
+    private final int[] groupBoundaries;
+
+    /**
+     * Constructs a new grouping result. The arrays are not copied, so the
+     * caller must not modify them afterwards.
+     *
+     * @param order           the node indices, group by group.
+     * @param groupBoundaries the index in <code>order</code> at which each
+     *                        group starts, followed by the length of
+     *                        <code>order</code>.
+     */
+    public GroupingResult(final int[] order, final int[] groupBoundaries) {
+        if (order == null) {
+            throw new IllegalArgumentException("'order' is null.");
+        }
+
+        if (groupBoundaries == null) {
+            throw new IllegalArgumentException("'groupBoundaries' is null.");
+        }
+
+        if (groupBoundaries.length == 0 ||
+                groupBoundaries[0] != 0 ||
+                groupBoundaries[groupBoundaries.length - 1] != order.length) {
+            throw new IllegalArgumentException(
+                    "'groupBoundaries' must start with 0 and end with " +
+                    order.length + ".");
+        }
+
+        this.order = order;
+        this.groupBoundaries = groupBoundaries;
+    }
+
+    /**
+     * Returns the node indices, group by group. The returned array is a copy.
+     *
+     * @return the node indices.
+     */
+    public int[] getOrder() {
+        return order.clone();
+    }
+
+    /**
+     * Returns the index in {@link #getOrder()} at which each group starts,
+     * followed by the length of the order. The returned array is a copy.
+     *
+     * @return the group boundaries.
+     */
+    public int[] getGroupBoundaries() {
+        return groupBoundaries.clone();
+    }
+
+    /**
+     * Returns the amount of groups.
+     *
+     * @return the amount of groups.
+     */
+    public int getGroupCount() {
+        return groupBoundaries.length - 1;
+    }
+
+    /**
+     * Returns the node indices of the group <code>group</code>.
+     *
+     * @param  group the index of the group.
+     * @return the node indices of the group.
+     */
+    public int[] getGroup(final int group) {
+        return Arrays.copyOfRange(order,
+                                  groupBoundaries[group],
+                                  groupBoundaries[group + 1]);
+    }
+
+    /**
+     * Returns the equities of <code>graph</code> in the order of this result,
+     * which is the solution as returned by {@link Simplifier#simplify(long[])}.
+     *
+     * @param  graph the input graph.
+     * @return the ordered equities.
+     */
+    public long[] toGraph(final long[] graph) {
+        final long[] result = new long[order.length];
+
+        for (int i = 0; i < order.length; ++i) {
+            result[i] = graph[order[i]];
+        }
+
+        return result;
+    }
+}
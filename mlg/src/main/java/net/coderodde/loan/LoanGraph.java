@@ -0,0 +1,419 @@
+package net.coderodde.loan;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class holds a loan graph given as a list of arcs. The nodes are the
+ * parties <tt>0, 1, ..., n - 1</tt>. An arc of weight <tt>D</tt> from a
+ * lender to a debtor adds <tt>D</tt> to the equity of the lender and subtracts
+ * it from the equity of the debtor.
+ * <p>
+ * The weakly connected components of the graph are maintained in a
+ * union-find structure as the arcs are added. As no arc crosses two
+ * components, the equities of each component sum up to zero, and the
+ * components may be simplified independently: the best solution of the whole
+ * graph is the concatenation of the best solutions of its components. Since
+ * the simplifiers are exponential in the amount of nodes, solving many small
+ * components is much cheaper than solving their union, and the components are
+ * solved in parallel.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class LoanGraph {
+
+    /**
+     * The equity of each node.
+     */
+    private final long[] equities;
+
+    /**
+     * The union-find parent of each node. A root is its own parent.
+     */
+    private final int[] parents;
+
+    /**
+     * The amount of nodes in the tree of each root.
+     */
+    private final int[] sizes;
+
+    /**
+     * The amount of arcs added.
+     */
+    private int arcCount;
+
+    /**
+     * Constructs a loan graph of <code>nodeCount</code> nodes and no arcs.
+     *
+     * @param nodeCount the amount of nodes.
+     */
+    public LoanGraph(final int nodeCount) {
+        if (nodeCount < 0) {
+            throw new IllegalArgumentException("'nodeCount' < 0.");
+        }
+
+        this.equities = new long[nodeCount];
+        this.parents = new int[nodeCount];
+        this.sizes = new int[nodeCount];
+
+        for (int i = 0; i < nodeCount; ++i) {
+            parents[i] = i;
+            sizes[i] = 1;
+        }
+    }
+
+    /**
+     * Adds an arc from <code>lender</code> to <code>debtor</code> of weight
+     * <code>amount</code>.
+     *
+     * @param lender the lending node.
+     * @param debtor the debtor node.
+     * @param amount the amount lent.
+     */
+    public void addArc(final int lender, final int debtor, final long amount) {
+        checkNode(lender);
+        checkNode(debtor);
+
+        if (amount < 0L) {
+            throw new IllegalArgumentException("'amount' < 0.");
+        }
+
+        equities[lender] += amount;
+        equities[debtor] -= amount;
+        union(lender, debtor);
+        ++arcCount;
+    }
+
+    /**
+     * Returns the amount of nodes.
+     *
+     * @return the amount of nodes.
+     */
+    public int getNodeCount() {
+        return equities.length;
+    }
+
+    /**
+     * Returns the amount of arcs added.
+     *
+     * @return the amount of arcs.
+     */
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    /**
+     * Returns the equities of the nodes. The equity of the node <tt>i</tt> is
+     * at index <tt>i</tt>.
+     *
+     * @return the array of equities.
+     */
+    public long[] getEquities() {
+        return equities.clone();
+    }
+
+    /**
+     * Returns the weakly connected components. Each component is an array of
+     * nodes in ascending order, and the components are ordered by their
+     * lowest node. A node without arcs is a component of its own.
+     *
+     * @return the array of components.
+     */
+    public int[][] getComponents() {
+        final int n = equities.length;
+
+        // componentIds[root] is the component of the tree of 'root'.
+        final int[] componentIds = new int[n];
+        final int[] nodeComponents = new int[n];
+        int componentCount = 0;
+
+        for (int i = 0; i < n; ++i) {
+            final int root = find(i);
+
+            if (root == i) {
+                componentIds[root] = componentCount++;
+            }
+        }
+
+        final int[] componentSizes = new int[componentCount];
+
+        for (int i = 0; i < n; ++i) {
+            nodeComponents[i] = componentIds[find(i)];
+            ++componentSizes[nodeComponents[i]];
+        }
+
+        final int[][] components = new int[componentCount][];
+
+        for (int c = 0; c < componentCount; ++c) {
+            components[c] = new int[componentSizes[c]];
+            componentSizes[c] = 0;
+        }
+
+        for (int i = 0; i < n; ++i) {
+            final int c = nodeComponents[i];
+            components[c][componentSizes[c]++] = i;
+        }
+
+        return components;
+    }
+
+    /**
+     * Simplifies each component of this graph using <code>simplifier</code>
+     * and returns the concatenation of the solutions, in the order of the
+     * components returned by {@link #getComponents()}. The components are
+     * simplified in parallel if more than one core is available.
+     *
+     * @param  simplifier the simplifier to use. Must be thread-safe.
+     * @return the simplified graph.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    public long[] simplify(final Simplifier simplifier) {
+        return group(simplifier).toGraph(equities);
+    }
+
+    /**
+     * Simplifies each component of this graph just like
+     * {@link #simplify(Simplifier)}, but returns the solution as node
+     * indices, so that each group tells which parties it consists of.
+     *
+     * @param  simplifier the simplifier to use. Must be thread-safe.
+     * @return the solution as node indices.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    public GroupingResult group(final Simplifier simplifier) {
+        if (simplifier == null) {
+            throw new IllegalArgumentException("'simplifier' is null.");
+        }
+
+        final int[][] components = getComponents();
+        final GroupingResult[] results = new GroupingResult[components.length];
+        final int coreAmount = Runtime.getRuntime().availableProcessors();
+
+        if (coreAmount < 2 || components.length < 2) {
+            for (int c = 0; c < components.length; ++c) {
+                Simplifier.checkInterrupted();
+                results[c] = group(simplifier, components[c]);
+            }
+        } else {
+            final AtomicBoolean cancelled = new AtomicBoolean();
+            final ComponentTask task = new ComponentTask(simplifier,
+                                                         components,
+                                                         results,
+                                                         cancelled,
+                                                         0,
+                                                         components.length);
+            SharedPool.get().execute(task);
+
+            try {
+                task.get();
+            } catch (final InterruptedException ie) {
+                // Skip the components not started yet and wait for the
+                // running ones, so that no worker keeps simplifying after
+                // returning.
+                cancelled.set(true);
+                task.quietlyJoin();
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Threads interrupted.");
+            } catch (final ExecutionException ee) {
+                final Throwable cause = ee.getCause();
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        int groupCount = 0;
+
+        for (final GroupingResult result : results) {
+            groupCount += result.getGroupCount();
+        }
+
+        final int[] order = new int[equities.length];
+        final int[] groupBoundaries = new int[groupCount + 1];
+        int index = 0;
+        int group = 0;
+
+        for (int c = 0; c < components.length; ++c) {
+            final int[] localOrder = results[c].getOrder();
+            final int[] localBoundaries = results[c].getGroupBoundaries();
+
+            for (int i = 1; i < localBoundaries.length; ++i) {
+                groupBoundaries[++group] = index + localBoundaries[i];
+            }
+
+            for (final int i : localOrder) {
+                order[index++] = components[c][i];
+            }
+        }
+
+        return new GroupingResult(order, groupBoundaries);
+    }
+
+    /**
+     * Simplifies a single component.
+     *
+     * @param  simplifier the simplifier to use.
+     * @param  component  the nodes of the component.
+     * @return the solution as indices into <code>component</code>.
+     */
+    private GroupingResult group(final Simplifier simplifier,
+                                 final int[] component) {
+        if (component.length == 1) {
+            // A node without arcs is a trivial group.
+            return new GroupingResult(new int[]{ 0 }, new int[]{ 0, 1 });
+        }
+
+        final long[] graph = new long[component.length];
+
+        for (int i = 0; i < component.length; ++i) {
+            graph[i] = equities[component[i]];
+        }
+
+        return simplifier.group(graph);
+    }
+
+    /**
+     * Returns the root of the tree containing <code>node</code>, halving the
+     * path on the way.
+     *
+     * @param  node the node.
+     * @return the root.
+     */
+    private int find(int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+
+        return node;
+    }
+
+    /**
+     * Merges the trees containing <code>node1</code> and <code>node2</code>,
+     * hanging the smaller tree under the root of the larger one.
+     *
+     * @param node1 the first node.
+     * @param node2 the second node.
+     */
+    private void union(final int node1, final int node2) {
+        int root1 = find(node1);
+        int root2 = find(node2);
+
+        if (root1 == root2) {
+            return;
+        }
+
+        if (sizes[root1] < sizes[root2]) {
+            final int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+
+        parents[root2] = root1;
+        sizes[root1] += sizes[root2];
+    }
+
+    /**
+     * Checks that <code>node</code> is a node of this graph.
+     *
+     * @param node the node to check.
+     */
+    private void checkNode(final int node) {
+        if (node < 0 || node >= equities.length) {
+            throw new IllegalArgumentException(
+                    "Node " + node + " is out of range [0, " +
+                    equities.length + ").");
+        }
+    }
+
+    /**
+     * Simplifies the components within a range, splitting the range in
+     * halves until single components remain.
+     */
+    private final class ComponentTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The simplifier to use.
+         */
+        private final Simplifier simplifier;
+
+        /**
+         * All the components.
+         */
+        private final int[][] components;
+
+        /**
+         * The array to store the solution of each component in.
+         */
+        private final GroupingResult[] results;
+
+        /**
+         * Set when the remaining components should be skipped.
+         */
+        private final AtomicBoolean cancelled;
+
+        /**
+         * The first component of the range.
+         */
+        private final int from;
+
+        /**
+         * The component one past the last component of the range.
+         */
+        private final int to;
+
+        ComponentTask(final Simplifier simplifier,
+                      final int[][] components,
+                      final GroupingResult[] results,
+                      final AtomicBoolean cancelled,
+                      final int from,
+                      final int to) {
+            this.simplifier = simplifier;
+            this.components = components;
+            this.results = results;
+            this.cancelled = cancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+
+            if (to - from == 1) {
+                results[from] = group(simplifier, components[from]);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new ComponentTask(simplifier,
+                                        components,
+                                        results,
+                                        cancelled,
+                                        from,
+                                        middle),
+                      new ComponentTask(simplifier,
+                                        components,
+                                        results,
+                                        cancelled,
+                                        middle,
+                                        to));
+        }
+    }
+}
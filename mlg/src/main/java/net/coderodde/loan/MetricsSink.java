@@ -0,0 +1,19 @@
+package net.coderodde.loan;
+
+/**
+ * This interface defines the API for exporting the counters of a
+ * {@link SearchStatistics} to a metrics system.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public interface MetricsSink {
+    
+    /**
+     * Receives the current value of a counter.
+     * 
+     * @param name  the name of the counter.
+     * @param value the value of the counter.
+     */
+    public void record(final String name, final long value);
+}
@@ -0,0 +1,650 @@
+package net.coderodde.loan;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.coderodde.loan.support.LongIntHashMap;
+
+/**
+ * This class implements the linear preprocessing passes over a graph in
+ * parallel: the group check, the counting of groups, the split by sign and
+ * the split into trivial, semi-trivial and non-trivial groups. The graph is
+ * cut into chunks of fixed length, which are processed in the fork/join pool
+ * shared by the library.
+ * For pairing the semi-trivial groups, the nodes are distributed into a fixed
+ * amount of buckets by their absolute value, so that a node and its opposite
+ * always land in the same bucket, and the buckets are paired independently.
+ * <p>
+ * As neither the chunks nor the buckets depend on the amount of cores, and
+ * the partial results are combined in the order of the nodes, the output is
+ * exactly that of the serial passes. {@link Utilities#isGroup(long[])},
+ * {@link Utilities#countGroups(long[])}, {@link Simplifier#split(long[])} and
+ * {@link Simplifier#splitBySign(long[])} delegate to this class for graphs of
+ * at least {@link #PARALLEL_THRESHOLD} nodes when more than one core is
+ * available.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class ParallelPreprocessor {
+
+    /**
+     * The minimum amount of nodes for which the serial passes delegate to
+     * this class.
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 20;
+
+    /**
+     * The amount of nodes in a chunk.
+     */
+    private static final int CHUNK_LENGTH = 1 << 14;
+
+    /**
+     * The amount of bits in a bucket index.
+     */
+    private static final int BUCKET_BITS = 8;
+
+    /**
+     * The amount of buckets for pairing the semi-trivial groups.
+     */
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+
+    /**
+     * Checks whether <code>graph</code> is a group.
+     *
+     * @param  graph the graph to check.
+     * @return <code>true</code> if <code>graph</code> is a group.
+     */
+    public static boolean isGroup(final long[] graph) {
+        long sum = 0L;
+
+        for (final long chunkSum : chunkSums(SharedPool.get(), graph)) {
+            sum += chunkSum;
+        }
+
+        return sum == 0L;
+    }
+
+    /**
+     * Counts the groups formed by the consecutive nodes of
+     * <code>graph</code>, just like {@link Utilities#countGroups(long[])}.
+     *
+     * @param  graph the graph to process.
+     * @return the amount of groups.
+     * @throws IllegalArgumentException if the graph is not a group.
+     */
+    public static int countGroups(final long[] graph) {
+        return countGroupsImpl(SharedPool.get(), graph);
+    }
+
+    /**
+     * Splits <code>graph</code> into positive and negative nodes, just like
+     * {@link Simplifier#splitBySign(long[])}.
+     *
+     * @param  graph the graph to split.
+     * @return the graph split.
+     * @throws IllegalArgumentException if the graph contains a zero node.
+     */
+    static Simplifier.GraphSplit splitBySign(final long[] graph) {
+        return splitBySignImpl(SharedPool.get(), graph);
+    }
+
+    /**
+     * Splits <code>graph</code> into trivial, semi-trivial and non-trivial
+     * groups, just like {@link Simplifier#split(long[])}.
+     *
+     * @param  graph the graph to split.
+     * @return the graph partition.
+     */
+    static Simplifier.GroupSplit split(final long[] graph) {
+        return splitImpl(SharedPool.get(), graph);
+    }
+
+    /**
+     * Returns <code>true</code> if a serial pass over <code>length</code>
+     * nodes should delegate to this class.
+     *
+     * @param  length the amount of nodes.
+     * @return <code>true</code> if the pass should run in parallel.
+     */
+    static boolean isWorthwhile(final int length) {
+        return length >= PARALLEL_THRESHOLD &&
+               Runtime.getRuntime().availableProcessors() > 1;
+    }
+
+    /**
+     * Implements {@link #countGroups(long[])}.
+     *
+     * @param  pool  the pool to run the jobs in.
+     * @param  graph the graph to process.
+     * @return the amount of groups.
+     */
+    private static int countGroupsImpl(final ForkJoinPool pool,
+                                       final long[] graph) {
+        final int chunks = chunkCount(graph.length);
+        final long[] prefixSums = chunkSums(pool, graph);
+        long sum = 0L;
+
+        // Turn the chunk sums into the sums of the preceding chunks.
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            final long chunkSum = prefixSums[chunk];
+            prefixSums[chunk] = sum;
+            sum += chunkSum;
+        }
+
+        if (sum != 0L) {
+            throw new IllegalArgumentException(
+                    "The input graph is not a group.");
+        }
+
+        final int[] counts = new int[chunks];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                long sum = prefixSums[chunk];
+                int count = 0;
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long node = graph[i];
+
+                    if (node == 0L) {
+                        ++count;
+                        continue;
+                    }
+
+                    sum += node;
+
+                    if (sum == 0L) {
+                        ++count;
+                    }
+                }
+
+                counts[chunk] = count;
+            }
+        });
+
+        int count = 0;
+
+        for (final int chunkCount : counts) {
+            count += chunkCount;
+        }
+
+        return count;
+    }
+
+    /**
+     * Implements {@link #splitBySign(long[])}.
+     *
+     * @param  pool  the pool to run the jobs in.
+     * @param  graph the graph to split.
+     * @return the graph split.
+     */
+    private static Simplifier.GraphSplit splitBySignImpl(final ForkJoinPool pool,
+                                                         final long[] graph) {
+        final int chunks = chunkCount(graph.length);
+        final int[] positiveOffsets = new int[chunks];
+        final int[] negativeOffsets = new int[chunks];
+        final int[] firstZeroIndices = new int[chunks];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                firstZeroIndices[chunk] = -1;
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long l = graph[i];
+
+                    if (l < 0L) {
+                        ++negativeOffsets[chunk];
+                    } else if (l > 0L) {
+                        ++positiveOffsets[chunk];
+                    } else if (firstZeroIndices[chunk] < 0) {
+                        firstZeroIndices[chunk] = i;
+                    }
+                }
+            }
+        });
+
+        for (final int index : firstZeroIndices) {
+            if (index >= 0) {
+                throw new IllegalArgumentException(
+                        "Zero element at index " + index + ".");
+            }
+        }
+
+        final long[] positiveArray =
+                new long[toOffsets(positiveOffsets)];
+        final long[] negativeArray =
+                new long[toOffsets(negativeOffsets)];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                int positiveIndex = positiveOffsets[chunk];
+                int negativeIndex = negativeOffsets[chunk];
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long l = graph[i];
+
+                    if (l > 0L) {
+                        positiveArray[positiveIndex++] = l;
+                    } else {
+                        negativeArray[negativeIndex++] = l;
+                    }
+                }
+            }
+        });
+
+        return new Simplifier.GraphSplit(positiveArray, negativeArray);
+    }
+
+    /**
+     * Implements {@link #split(long[])}.
+     *
+     * @param  pool  the pool to run the jobs in.
+     * @param  graph the graph to split.
+     * @return the graph partition.
+     */
+    private static Simplifier.GroupSplit splitImpl(final ForkJoinPool pool,
+                                                   final long[] graph) {
+        final int chunks = chunkCount(graph.length);
+        final int[] trivialCounts = new int[chunks];
+
+        // bucketOffsets[chunk][bucket] is the amount of the non-trivial nodes
+        // of a chunk in a bucket, and later the index in 'order' at which the
+        // chunk writes the indices of those nodes.
+        final int[][] bucketOffsets = new int[chunks][BUCKETS];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long l = graph[i];
+
+                    if (l == 0L) {
+                        ++trivialCounts[chunk];
+                    } else {
+                        ++bucketOffsets[chunk][bucket(l)];
+                    }
+                }
+            }
+        });
+
+        final int[] bucketStarts = new int[BUCKETS + 1];
+        int position = 0;
+
+        for (int bucket = 0; bucket < BUCKETS; ++bucket) {
+            bucketStarts[bucket] = position;
+
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                final int count = bucketOffsets[chunk][bucket];
+                bucketOffsets[chunk][bucket] = position;
+                position += count;
+            }
+        }
+
+        bucketStarts[BUCKETS] = position;
+
+        // The indices of the non-trivial nodes grouped by bucket, each bucket
+        // in ascending order.
+        final int[] order = new int[position];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                final int[] offsets = bucketOffsets[chunk];
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long l = graph[i];
+
+                    if (l != 0L) {
+                        order[offsets[bucket(l)]++] = i;
+                    }
+                }
+            }
+        });
+
+        // semitrivialCounts[i] is the amount of semi-trivial groups emitted at
+        // the node 'i'. nontrivialCounts[i] is the amount of copies of the
+        // node 'i' emitted there, negated if the copies are of its opposite.
+        final int[] semitrivialCounts = new int[graph.length];
+        final int[] nontrivialCounts = new int[graph.length];
+
+        forEach(pool, BUCKETS, new Job() {
+
+            @Override
+            public void run(final int bucket) {
+                pair(graph,
+                     order,
+                     bucketStarts[bucket],
+                     bucketStarts[bucket + 1],
+                     semitrivialCounts,
+                     nontrivialCounts);
+            }
+        });
+
+        final int[] semitrivialOffsets = new int[chunks];
+        final int[] nontrivialOffsets = new int[chunks];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    semitrivialOffsets[chunk] += 2 * semitrivialCounts[i];
+                    nontrivialOffsets[chunk] += Math.abs(nontrivialCounts[i]);
+                }
+            }
+        });
+
+        int trivialGroupCount = 0;
+
+        for (final int count : trivialCounts) {
+            trivialGroupCount += count;
+        }
+
+        final long[] semitrivialGroups =
+                new long[toOffsets(semitrivialOffsets)];
+        final long[] nontrivialGroups =
+                new long[toOffsets(nontrivialOffsets)];
+
+        forEach(pool, chunks, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                int semitrivialIndex = semitrivialOffsets[chunk];
+                int nontrivialIndex = nontrivialOffsets[chunk];
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    final long l = graph[i];
+
+                    for (int j = 0; j < semitrivialCounts[i]; ++j) {
+                        semitrivialGroups[semitrivialIndex++] = l;
+                        semitrivialGroups[semitrivialIndex++] = -l;
+                    }
+
+                    final long node = nontrivialCounts[i] > 0 ? l : -l;
+
+                    for (int j = 0; j < Math.abs(nontrivialCounts[i]); ++j) {
+                        nontrivialGroups[nontrivialIndex++] = node;
+                    }
+                }
+            }
+        });
+
+        return new Simplifier.GroupSplit(new long[trivialGroupCount],
+                                         semitrivialGroups,
+                                         nontrivialGroups);
+    }
+
+    /**
+     * Pairs the nodes of a bucket the way {@link Simplifier#split(long[])}
+     * pairs all the nodes, recording what is emitted at each node instead of
+     * emitting it.
+     *
+     * @param graph             the graph.
+     * @param order             the indices of the nodes grouped by bucket.
+     * @param from              the index in <code>order</code> of the first
+     *                          node of the bucket.
+     * @param to                the index in <code>order</code> one past the
+     *                          last node of the bucket.
+     * @param semitrivialCounts the array of semi-trivial group counts.
+     * @param nontrivialCounts  the array of non-trivial node counts.
+     */
+    private static void pair(final long[] graph,
+                             final int[] order,
+                             final int from,
+                             final int to,
+                             final int[] semitrivialCounts,
+                             final int[] nontrivialCounts) {
+        final LongIntHashMap counts = new LongIntHashMap(to - from);
+
+        for (int k = from; k < to; ++k) {
+            counts.increment(graph[order[k]]);
+        }
+
+        for (int k = from; k < to; ++k) {
+            final int i = order[k];
+            final long l = graph[i];
+            final int count = counts.get(l);
+            final int oppositeCount = counts.get(-l);
+
+            if (count > 0 && oppositeCount > 0) {
+                final int minOccurrences = Math.min(count, oppositeCount);
+                semitrivialCounts[i] = minOccurrences;
+                counts.put(l, count - minOccurrences);
+                counts.put(-l, oppositeCount - minOccurrences);
+            } else if (count > 0) {
+                nontrivialCounts[i] = count;
+                counts.put(l, 0);
+            } else if (oppositeCount > 0) {
+                nontrivialCounts[i] = -oppositeCount;
+                counts.put(-l, 0);
+            }
+        }
+    }
+
+    /**
+     * Computes the sum of each chunk of <code>graph</code>.
+     *
+     * @param  pool  the pool to run the jobs in.
+     * @param  graph the graph.
+     * @return the array of chunk sums.
+     */
+    private static long[] chunkSums(final ForkJoinPool pool,
+                                    final long[] graph) {
+        final long[] sums = new long[chunkCount(graph.length)];
+
+        forEach(pool, sums.length, new Job() {
+
+            @Override
+            public void run(final int chunk) {
+                long sum = 0L;
+
+                for (int i = chunkStart(chunk); i < chunkEnd(chunk, graph);
+                        ++i) {
+                    sum += graph[i];
+                }
+
+                sums[chunk] = sum;
+            }
+        });
+
+        return sums;
+    }
+
+    /**
+     * Replaces each count in <code>counts</code> with the sum of the counts
+     * preceding it.
+     *
+     * @param  counts the counts.
+     * @return the sum of all counts.
+     */
+    private static int toOffsets(final int[] counts) {
+        int sum = 0;
+
+        for (int i = 0; i < counts.length; ++i) {
+            final int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Returns the bucket of <code>node</code>. A node and its opposite always
+     * have the same bucket.
+     *
+     * @param  node the node.
+     * @return the bucket index.
+     */
+    private static int bucket(final long node) {
+        // The bits are mixed thoroughly, as the nodes of a bucket are hashed
+        // again by a map using the high bits of a Fibonacci hash.
+        long value = Math.abs(node);
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return (int)(value >>> (64 - BUCKET_BITS));
+    }
+
+    /**
+     * Returns the amount of chunks in a graph of <code>length</code> nodes.
+     *
+     * @param  length the amount of nodes.
+     * @return the amount of chunks.
+     */
+    private static int chunkCount(final int length) {
+        return (length + CHUNK_LENGTH - 1) / CHUNK_LENGTH;
+    }
+
+    /**
+     * Returns the index of the first node of <code>chunk</code>.
+     *
+     * @param  chunk the chunk index.
+     * @return the index of the first node.
+     */
+    private static int chunkStart(final int chunk) {
+        return chunk * CHUNK_LENGTH;
+    }
+
+    /**
+     * Returns the index one past the last node of <code>chunk</code>.
+     *
+     * @param  chunk the chunk index.
+     * @param  graph the graph.
+     * @return the index one past the last node.
+     */
+    private static int chunkEnd(final int chunk, final long[] graph) {
+        return Math.min(graph.length, (chunk + 1) * CHUNK_LENGTH);
+    }
+
+    /**
+     * Runs <code>job</code> for each index in <code>[0, amount)</code> in
+     * <code>pool</code> and waits for all of them to finish. The jobs never
+     * throw, so that the exceptions of this class are always thrown in the
+     * calling thread.
+     *
+     * @param  pool   the pool to run the jobs in.
+     * @param  amount the amount of indices.
+     * @param  job    the job to run.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    private static void forEach(final ForkJoinPool pool,
+                                final int amount,
+                                final Job job) {
+        if (amount == 0) {
+            return;
+        }
+
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final JobTask task = new JobTask(job, cancelled, 0, amount);
+        pool.execute(task);
+
+        try {
+            task.get();
+        } catch (final InterruptedException ie) {
+            // Skip the jobs not started yet and wait for the running ones, so
+            // that no worker touches the partial results after returning.
+            cancelled.set(true);
+            task.quietlyJoin();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Threads interrupted.");
+        } catch (final ExecutionException ee) {
+            final Throwable cause = ee.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * A job run for each chunk or bucket.
+     */
+    private interface Job {
+
+        /**
+         * Runs the job for the given chunk or bucket.
+         *
+         * @param index the index of the chunk or bucket.
+         */
+        void run(int index);
+    }
+
+    /**
+     * Runs a job for each index of a range, splitting the range in halves
+     * until single indices remain.
+     */
+    private static final class JobTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The job to run.
+         */
+        private final Job job;
+
+        /**
+         * Set when the remaining jobs should be skipped.
+         */
+        private final AtomicBoolean cancelled;
+
+        /**
+         * The first index of the range.
+         */
+        private final int from;
+
+        /**
+         * The index one past the last index of the range.
+         */
+        private final int to;
+
+        JobTask(final Job job,
+                final AtomicBoolean cancelled,
+                final int from,
+                final int to) {
+            this.job = job;
+            this.cancelled = cancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (cancelled.get()) {
+                return;
+            }
+
+            if (to - from == 1) {
+                job.run(from);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+            invokeAll(new JobTask(job, cancelled, from, middle),
+                      new JobTask(job, cancelled, middle, to));
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package net.coderodde.loan;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class counts the work done by simplifiers. Pass an instance to
+ * {@link Simplifier#simplify(long[], SearchStatistics)} to count the work of
+ * a single run, or attach it to a simplifier with 
+ * {@link Simplifier#setStatistics(SearchStatistics)}, and the simplifier adds
+ * to the counters on each run. The counters accumulate over runs; use a fresh
+ * instance or call {@link #reset()} for per-run figures.
+ * <p>
+ * The search loops count in local variables and add to the counters once per
+ * loop, so attaching statistics costs next to nothing. The counters are 
+ * atomic, so a single instance may be shared by simplifiers running in 
+ * parallel, such as those of {@link LoanGraph#simplify(Simplifier)}.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class SearchStatistics {
+    
+    /**
+     * The amount of partitions generated by the partition generators.
+     */
+    private final AtomicLong partitionsVisited = new AtomicLong();
+    
+    /**
+     * The amount of combinations generated by the combination generators.
+     */
+    private final AtomicLong combinationsGenerated = new AtomicLong();
+    
+    /**
+     * The amount of partition pairs whose groups were counted.
+     */
+    private final AtomicLong countGroupsInvocations = new AtomicLong();
+    
+    /**
+     * The amount of partition pairs that turned out to be groups.
+     */
+    private final AtomicLong countGroupsHits = new AtomicLong();
+    
+    /**
+     * The amount of bipartitions tried by the combinatorial search.
+     */
+    private final AtomicLong bipartitionsTried = new AtomicLong();
+    
+    /**
+     * The deepest recursion of the combinatorial search.
+     */
+    private final AtomicLong maximumRecursionDepth = new AtomicLong();
+    
+    /**
+     * The amount of threads started, counting each worker of a pool.
+     */
+    private final AtomicLong threadsSpawned = new AtomicLong();
+    
+    /**
+     * The amount of graphs split into trivial, semi-trivial and non-trivial
+     * groups.
+     */
+    private final AtomicLong splits = new AtomicLong();
+    
+    /**
+     * The total time spent on splitting, in nanoseconds.
+     */
+    private final AtomicLong splitNanos = new AtomicLong();
+    
+    /**
+     * The amount of solutions found in a cache.
+     */
+    private final AtomicLong cacheHits = new AtomicLong();
+    
+    /**
+     * The amount of solutions not found in a cache.
+     */
+    private final AtomicLong cacheMisses = new AtomicLong();
+    
+    /**
+     * Records that <code>amount</code> partitions were generated.
+     * 
+     * @param amount the amount of partitions.
+     */
+    public void recordPartitions(final long amount) {
+        partitionsVisited.addAndGet(amount);
+    }
+    
+    /**
+     * Records that <code>amount</code> combinations were generated.
+     * 
+     * @param amount the amount of combinations.
+     */
+    public void recordCombinations(final long amount) {
+        combinationsGenerated.addAndGet(amount);
+    }
+    
+    /**
+     * Records that the groups of <code>invocations</code> partition pairs 
+     * were counted, and <code>hits</code> of them turned out to be groups.
+     * 
+     * @param invocations the amount of partition pairs counted.
+     * @param hits        the amount of partition pairs being groups.
+     */
+    public void recordCountGroups(final long invocations, final long hits) {
+        countGroupsInvocations.addAndGet(invocations);
+        countGroupsHits.addAndGet(hits);
+    }
+    
+    /**
+     * Records that <code>amount</code> bipartitions were tried at recursion
+     * depth <code>depth</code>, the top level being at depth 1.
+     * 
+     * @param amount the amount of bipartitions.
+     * @param depth  the recursion depth.
+     */
+    public void recordBipartitions(final long amount, final int depth) {
+        bipartitionsTried.addAndGet(amount);
+        
+        long current;
+        
+        while ((current = maximumRecursionDepth.get()) < depth) {
+            if (maximumRecursionDepth.compareAndSet(current, depth)) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Records that <code>amount</code> threads were started.
+     * 
+     * @param amount the amount of threads.
+     */
+    public void recordThreads(final int amount) {
+        threadsSpawned.addAndGet(amount);
+    }
+    
+    /**
+     * Records that a graph was split in <code>nanos</code> nanoseconds.
+     * 
+     * @param nanos the duration of the split.
+     */
+    public void recordSplit(final long nanos) {
+        splits.incrementAndGet();
+        splitNanos.addAndGet(nanos);
+    }
+    
+    /**
+     * Records a cache lookup.
+     * 
+     * @param hit whether the solution was found in the cache.
+     */
+    public void recordCacheLookup(final boolean hit) {
+        if (hit) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+        }
+    }
+    
+    /**
+     * Returns the amount of partitions generated by the partition generators.
+     * 
+     * @return the amount of partitions visited.
+     */
+    public long getPartitionsVisited() {
+        return partitionsVisited.get();
+    }
+    
+    /**
+     * Returns the amount of combinations generated by the combination 
+     * generators.
+     * 
+     * @return the amount of combinations generated.
+     */
+    public long getCombinationsGenerated() {
+        return combinationsGenerated.get();
+    }
+    
+    /**
+     * Returns the amount of partition pairs whose groups were counted.
+     * 
+     * @return the amount of group counts.
+     */
+    public long getCountGroupsInvocations() {
+        return countGroupsInvocations.get();
+    }
+    
+    /**
+     * Returns the amount of partition pairs that turned out to be groups.
+     * 
+     * @return the amount of matching partition pairs.
+     */
+    public long getCountGroupsHits() {
+        return countGroupsHits.get();
+    }
+    
+    /**
+     * Returns the amount of bipartitions tried by the combinatorial search.
+     * 
+     * @return the amount of bipartitions tried.
+     */
+    public long getBipartitionsTried() {
+        return bipartitionsTried.get();
+    }
+    
+    /**
+     * Returns the deepest recursion of the combinatorial search.
+     * 
+     * @return the maximum recursion depth.
+     */
+    public long getMaximumRecursionDepth() {
+        return maximumRecursionDepth.get();
+    }
+    
+    /**
+     * Returns the amount of threads started.
+     * 
+     * @return the amount of threads spawned.
+     */
+    public long getThreadsSpawned() {
+        return threadsSpawned.get();
+    }
+    
+    /**
+     * Returns the amount of graphs split into trivial, semi-trivial and 
+     * non-trivial groups.
+     * 
+     * @return the amount of splits.
+     */
+    public long getSplits() {
+        return splits.get();
+    }
+    
+    /**
+     * Returns the total time spent on splitting.
+     * 
+     * @return the split time in nanoseconds.
+     */
+    public long getSplitNanos() {
+        return splitNanos.get();
+    }
+    
+    /**
+     * Returns the amount of solutions found in a cache.
+     * 
+     * @return the amount of cache hits.
+     */
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+    
+    /**
+     * Returns the amount of solutions not found in a cache.
+     * 
+     * @return the amount of cache misses.
+     */
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+    
+    /**
+     * Sets all the counters to zero.
+     */
+    public void reset() {
+        partitionsVisited.set(0L);
+        combinationsGenerated.set(0L);
+        countGroupsInvocations.set(0L);
+        countGroupsHits.set(0L);
+        bipartitionsTried.set(0L);
+        maximumRecursionDepth.set(0L);
+        threadsSpawned.set(0L);
+        splits.set(0L);
+        splitNanos.set(0L);
+        cacheHits.set(0L);
+        cacheMisses.set(0L);
+    }
+    
+    /**
+     * Passes the current value of each counter to <code>sink</code>.
+     * 
+     * @param sink the sink receiving the counters.
+     */
+    public void exportTo(final MetricsSink sink) {
+        if (sink == null) {
+            throw new IllegalArgumentException("'sink' is null.");
+        }
+        
+        sink.record("partitionsVisited", getPartitionsVisited());
+        sink.record("combinationsGenerated", getCombinationsGenerated());
+        sink.record("countGroupsInvocations", getCountGroupsInvocations());
+        sink.record("countGroupsHits", getCountGroupsHits());
+        sink.record("bipartitionsTried", getBipartitionsTried());
+        sink.record("maximumRecursionDepth", getMaximumRecursionDepth());
+        sink.record("threadsSpawned", getThreadsSpawned());
+        sink.record("splits", getSplits());
+        sink.record("splitNanos", getSplitNanos());
+        sink.record("cacheHits", getCacheHits());
+        sink.record("cacheMisses", getCacheMisses());
+    }
+    
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        
+        exportTo(new MetricsSink() {
+            @Override
+            public void record(final String name, final long value) {
+                if (sb.length() > 1) {
+                    sb.append(", ");
+                }
+                
+                sb.append(name).append('=').append(value);
+            }
+        });
+        
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,22 @@
+package net.coderodde.loan;
+
+/**
+ * This interface defines the API for receiving the arcs of a settlement plan
+ * one by one from a {@link SettlementPlanner}.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public interface SettlementListener {
+    
+    /**
+     * Receives an arc of the plan: <code>payer</code>, whose equity is 
+     * negative, pays <code>amount</code> to <code>payee</code>, whose equity 
+     * is positive.
+     * 
+     * @param payer  the identifier of the paying party.
+     * @param payee  the identifier of the receiving party.
+     * @param amount the amount to pay. Always positive.
+     */
+    public void onArc(final int payer, final int payee, final long amount);
+}
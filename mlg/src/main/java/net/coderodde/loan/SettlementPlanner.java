@@ -0,0 +1,229 @@
+package net.coderodde.loan;
+
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This class turns a solution of a simplifier into concrete payments. The
+ * groups of a solution are its shortest runs of nodes summing to zero, and
+ * each group is settled separately: the negative nodes pay the positive ones
+ * in the order they appear in the group, each payment settling the equity of
+ * at least one of the two nodes, so that a group of <tt>k</tt> nodes needs at
+ * most <tt>k - 1</tt> payments. A zero node needs no payments at all.
+ * <p>
+ * The payments are streamed to a {@link SettlementListener} as they are
+ * found, and the planner allocates no memory per group, so a solution of
+ * millions of groups is planned in a single linear pass over the array.
+ * Given a {@link GroupingResult} instead of a solution array, the payments
+ * refer to the nodes of the input graph, even if their equities are equal.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class SettlementPlanner {
+
+    /**
+     * The listener receiving the payments.
+     */
+    private final SettlementListener listener;
+
+    /**
+     * Constructs a planner streaming the payments to <code>listener</code>.
+     *
+     * @param listener the listener receiving the payments.
+     */
+    public SettlementPlanner(final SettlementListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("'listener' is null.");
+        }
+
+        this.listener = listener;
+    }
+
+    /**
+     * Plans the payments of <code>solution</code>. The node at index
+     * <tt>i</tt> of the solution is identified by <tt>i</tt>.
+     *
+     * @param  solution the solution of a simplifier.
+     * @return the amount of payments.
+     */
+    public long plan(final long[] solution) {
+        return plan(solution, (int[]) null);
+    }
+
+    /**
+     * Plans the payments of <code>solution</code>. The node at index
+     * <tt>i</tt> of the solution is identified by <code>parties[i]</code>.
+     *
+     * @param  solution the solution of a simplifier.
+     * @param  parties  the identifiers of the nodes, or <code>null</code> for
+     *                  identifying each node by its index.
+     * @return the amount of payments.
+     */
+    public long plan(final long[] solution, final int[] parties) {
+        checkIsGroup(solution);
+
+        if (parties != null && parties.length != solution.length) {
+            throw new IllegalArgumentException(
+                    "The amount of parties (" + parties.length + ") does " +
+                    "not match the amount of nodes (" + solution.length +
+                    ").");
+        }
+
+        long arcs = 0L;
+        long sum = 0L;
+        int groupStart = 0;
+
+        for (int i = 0; i < solution.length; ++i) {
+            sum += solution[i];
+
+            if (sum == 0L) {
+                arcs += planGroup(solution, null, parties, groupStart, i + 1);
+                groupStart = i + 1;
+            }
+        }
+
+        return arcs;
+    }
+
+    /**
+     * Plans the payments of the groups of <code>grouping</code>. The node at
+     * index <tt>i</tt> of <code>graph</code> is identified by <tt>i</tt>.
+     *
+     * @param  graph    the graph.
+     * @param  grouping the solution of a simplifier as indices into
+     *                  <code>graph</code>.
+     * @return the amount of payments.
+     */
+    public long plan(final long[] graph, final GroupingResult grouping) {
+        final int[] order = grouping.getOrder();
+        final int[] groupBoundaries = grouping.getGroupBoundaries();
+
+        if (order.length != graph.length) {
+            throw new IllegalArgumentException(
+                    "The grouping has " + order.length + " nodes, the " +
+                    "graph has " + graph.length + ".");
+        }
+
+        for (int g = 0; g + 1 < groupBoundaries.length; ++g) {
+            long sum = 0L;
+
+            for (int i = groupBoundaries[g]; i < groupBoundaries[g + 1]; ++i) {
+                sum += graph[order[i]];
+            }
+
+            if (sum != 0L) {
+                throw new IllegalArgumentException(
+                        "The group " + g + " does not sum up to zero.");
+            }
+        }
+
+        long arcs = 0L;
+
+        for (int g = 0; g + 1 < groupBoundaries.length; ++g) {
+            arcs += planGroup(graph,
+                              order,
+                              null,
+                              groupBoundaries[g],
+                              groupBoundaries[g + 1]);
+        }
+
+        return arcs;
+    }
+
+    /**
+     * Plans the payments of a group by advancing a pointer over its positive
+     * nodes and another over its negative nodes. The group consists of the
+     * nodes <code>order[from..to - 1]</code> of <code>graph</code>, or of
+     * <code>graph[from..to - 1]</code> if <code>order</code> is
+     * <code>null</code>.
+     *
+     * @param  graph   the graph.
+     * @param  order   the node indices, or <code>null</code>.
+     * @param  parties the identifiers of the nodes, or <code>null</code>.
+     * @param  from    the position of the first node of the group.
+     * @param  to      the position one past the last node of the group.
+     * @return the amount of payments.
+     */
+    private long planGroup(final long[] graph,
+                           final int[] order,
+                           final int[] parties,
+                           final int from,
+                           final int to) {
+        int payee = nextPosition(graph, order, from, to, true);
+        int payer = nextPosition(graph, order, from, to, false);
+        long credit = payee < to ? graph[node(order, payee)] : 0L;
+        long debt = payer < to ? -graph[node(order, payer)] : 0L;
+        long arcs = 0L;
+
+        while (payee < to && payer < to) {
+            final long amount = Math.min(credit, debt);
+            final int payerNode = node(order, payer);
+            final int payeeNode = node(order, payee);
+
+            listener.onArc(parties == null ? payerNode : parties[payerNode],
+                           parties == null ? payeeNode : parties[payeeNode],
+                           amount);
+            ++arcs;
+            credit -= amount;
+            debt -= amount;
+
+            if (credit == 0L) {
+                payee = nextPosition(graph, order, payee + 1, to, true);
+
+                if (payee < to) {
+                    credit = graph[node(order, payee)];
+                }
+            }
+
+            if (debt == 0L) {
+                payer = nextPosition(graph, order, payer + 1, to, false);
+
+                if (payer < to) {
+                    debt = -graph[node(order, payer)];
+                }
+            }
+        }
+
+        return arcs;
+    }
+
+    /**
+     * Returns the node at <code>position</code>.
+     *
+     * @param  order    the node indices, or <code>null</code>.
+     * @param  position the position.
+     * @return the index of the node.
+     */
+    private static int node(final int[] order, final int position) {
+        return order == null ? position : order[position];
+    }
+
+    /**
+     * Returns the first position within <code>[from, to)</code> holding a
+     * positive or negative node, or <code>to</code> if there is none.
+     *
+     * @param  graph    the graph.
+     * @param  order    the node indices, or <code>null</code>.
+     * @param  from     the position to start from.
+     * @param  to       the position one past the last node of the group.
+     * @param  positive whether to look for a positive node.
+     * @return the position of the node.
+     */
+    private static int nextPosition(final long[] graph,
+                                    final int[] order,
+                                    int from,
+                                    final int to,
+                                    final boolean positive) {
+        while (from < to) {
+            final long node = graph[node(order, from)];
+
+            if (positive ? node > 0L : node < 0L) {
+                break;
+            }
+
+            ++from;
+        }
+
+        return from;
+    }
+}
@@ -0,0 +1,37 @@
+package net.coderodde.loan;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class holds the fork/join pool shared by all parallel computations of
+ * the library. The pool is created on first use with one worker per core.
+ * Its workers are daemon threads that retire after being idle for a while,
+ * so the pool needs no shutdown. Unlike
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, the pool is not
+ * shared with the parallel streams of the application.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+final class SharedPool {
+
+    private SharedPool() {}
+
+    /**
+     * Returns the shared pool.
+     *
+     * @return the shared pool.
+     */
+    static ForkJoinPool get() {
+        return Holder.POOL;
+    }
+
+    /**
+     * Creates the pool when {@link SharedPool#get()} is first called.
+     */
+    private static final class Holder {
+
+        static final ForkJoinPool POOL =
+                new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,53 @@
+package net.coderodde.loan;
+
+/**
+ * Holds a simplified graph along with a flag telling whether the graph is
+ * known to be split into the maximum amount of groups.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class SimplificationResult {
+    
+    /**
+     * The simplified graph.
+     */
+    private final long[] graph;
+    
+    /**
+     * Specifies whether the search proved <code>graph</code> optimal.
+     */
+    private final boolean optimal;
+    
+    /**
+     * Constructs a new simplification result.
+     * 
+     * @param graph   the simplified graph.
+     * @param optimal whether the simplified graph is proven optimal.
+     */
+    public SimplificationResult(final long[] graph, final boolean optimal) {
+        this.graph = graph;
+        this.optimal = optimal;
+    }
+    
+    /**
+     * Returns the simplified graph.
+     * 
+     * @return the simplified graph.
+     */
+    public long[] getGraph() {
+        return graph;
+    }
+    
+    /**
+     * Returns <code>true</code> if the search completed and the simplified 
+     * graph is split into the maximum amount of groups. Returns 
+     * <code>false</code> if the search was stopped before and the graph is 
+     * only the best solution found so far.
+     * 
+     * @return <code>true</code> if the result is proven optimal.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+}
@@ -0,0 +1,2365 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import net.coderodde.loan.jfr.BuildSolutionEvent;
+import net.coderodde.loan.jfr.FlightEvents;
+import net.coderodde.loan.jfr.PartitionLevelEvent;
+import net.coderodde.loan.jfr.SearchThreadEvent;
+import net.coderodde.loan.jfr.SignSplitEvent;
+import net.coderodde.loan.jfr.SplitEvent;
+import net.coderodde.loan.support.BlockSumMatcher;
+import net.coderodde.loan.support.GeneralPartitionGenerator;
+import net.coderodde.loan.support.LongIntHashMap;
+import net.coderodde.loan.support.ReversedGeneralPartitionGenerator;
+import net.coderodde.loan.support.SpecialPartitionGenerator;
+
+/**
+ * This class defines the API for loan graph simplifiers. A loan graph is
+ * represented by an array of long values, where each component corresponds to a
+ * node in the graph, and the value of the component corresponds to the equity 
+ * of the node.
+ * <p>
+ * A <b>group</b> is a set of nodes, for which the sum of equities is zero. A 
+ * group of one node with equity 0 is called a <b>trivial group</b>. A group of
+ * two nodes with opposite non-zero equities is called <b>semi-trivial</b>.
+ * <p>
+ * A group <tt>G</tt> is called a <b>proper group</b> if and only if <tt>G</tt> 
+ * cannot be partitioned in two non-empty groups.
+ * <p>
+ * Since we want to minimize the amount of arcs in the loan graph, the problem
+ * may be rephrased as the problem of splitting the graph in as many groups as
+ * possible. Given a loan graph <tt>G</tt>, it can be reconnected with 
+ * <tt>|G| - k</tt> arcs, if <tt>G</tt> is split in <tt>k</tt> groups.
+ * <p>
+ * All simplifiers honor thread interruption: if the thread running a 
+ * simplification is interrupted, the simplification stops all the threads it
+ * has spawned and throws a {@link java.util.concurrent.CancellationException},
+ * leaving the interrupted status of the thread set.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public abstract class Simplifier {
+    
+    /**
+     * Specifies the minimum amount of nodes to process in the parallel 
+     * combinatorial simplifier.
+     */
+    private static final int MAXIMUM_SERIAL_LOAD = 10;
+    
+    /**
+     * Specifies the maximum amount of bipartitions the parallel combinatorial
+     * simplifier goes through in a single task.
+     */
+    private static final long MAXIMUM_SERIAL_BIPARTITIONS = 1L << 10;
+    
+    /**
+     * The maximum amount of nodes the combinatorial simplifiers can handle, 
+     * as they represent sets of nodes by bit masks.
+     */
+    private static final int MAXIMUM_MASK_NODES = 63;
+    
+    /**
+     * The amount of partitions to check between two time budget checks.
+     */
+    private static final int STEPS_PER_DEADLINE_CHECK = 1024;
+    
+    /**
+     * The mask selecting the subsets after which {@link #subsetSums} checks
+     * the interrupted status of the current thread.
+     */
+    private static final int SUBSET_SUM_INTERRUPT_CHECK_MASK = (1 << 16) - 1;
+    
+    /**
+     * The statistics to record the work of this simplifier in, or 
+     * <code>null</code> for not recording.
+     */
+    private volatile SearchStatistics statistics;
+    
+    /**
+     * The statistics of the runs of 
+     * {@link #simplify(long[], SearchStatistics)} in progress in each 
+     * thread. Being kept per thread rather than per simplifier, they also 
+     * reach the simplifiers a decorator delegates to in the same thread.
+     */
+    private static final ThreadLocal<SearchStatistics> runStatistics = 
+            new ThreadLocal<>();
+    
+    /**
+     * Simplifies the input graph using a particular algorithm.
+     * 
+     * @param  graph the graph to simplify.
+     * @return a simplified graph.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    public abstract long[] simplify(final long[] graph);
+    
+    /**
+     * Simplifies the input graph just like {@link #simplify(long[])}, 
+     * recording the work of this run in <code>statistics</code> instead of in
+     * the statistics set by {@link #setStatistics(SearchStatistics)}. Unlike 
+     * the latter, this allows running a simplifier in several threads at 
+     * once, each run with its own statistics.
+     * 
+     * @param  graph      the graph to simplify.
+     * @param  statistics the statistics of this run.
+     * @return a simplified graph.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    public long[] simplify(final long[] graph, 
+                           final SearchStatistics statistics) {
+        if (statistics == null) {
+            throw new IllegalArgumentException("'statistics' is null.");
+        }
+        
+        final SearchStatistics previous = runStatistics.get();
+        runStatistics.set(statistics);
+        
+        try {
+            return simplify(graph);
+        } finally {
+            if (previous == null) {
+                runStatistics.remove();
+            } else {
+                runStatistics.set(previous);
+            }
+        }
+    }
+    
+    /**
+     * Sets the statistics to record the work of this simplifier in. Pass 
+     * <code>null</code> to stop recording. This is a convenience for 
+     * simplifiers used by a single thread at a time; the runs of 
+     * {@link #simplify(long[], SearchStatistics)} record in their own 
+     * statistics instead.
+     * 
+     * @param statistics the statistics, or <code>null</code>.
+     */
+    public void setStatistics(final SearchStatistics statistics) {
+        this.statistics = statistics;
+    }
+    
+    /**
+     * Returns the statistics recording the work of this simplifier: those of
+     * the run of {@link #simplify(long[], SearchStatistics)} in progress in 
+     * the calling thread, if any, and those set by 
+     * {@link #setStatistics(SearchStatistics)} otherwise.
+     * 
+     * @return the statistics, or <code>null</code> if not recording.
+     */
+    public SearchStatistics getStatistics() {
+        final SearchStatistics statistics = runStatistics.get();
+        return statistics != null ? statistics : this.statistics;
+    }
+    
+    /**
+     * Records a partition search in the statistics, if any.
+     * 
+     * @param partitions  the amount of partitions generated.
+     * @param invocations the amount of partition pairs counted.
+     * @param hits        the amount of partition pairs being groups.
+     */
+    private void recordPartitionSearch(final long partitions,
+                                       final long invocations,
+                                       final long hits) {
+        final SearchStatistics statistics = getStatistics();
+        
+        if (statistics != null) {
+            statistics.recordPartitions(partitions);
+            statistics.recordCountGroups(invocations, hits);
+        }
+    }
+    
+    /**
+     * Holds a partition of a graph into array of positive nodes and an array
+     * of negative nodes. The index arrays, if not <code>null</code>, give the 
+     * index of each node in the input graph.
+     */
+    protected static class GraphSplit {
+        public final long[] positiveArray;
+        public final long[] negativeArray;
+        public final int[] positiveIndices;
+        public final int[] negativeIndices;
+        
+        GraphSplit(final long[] positiveArray, final long[] negativeArray) {
+            this(positiveArray, negativeArray, null, null);
+        }
+        
+        GraphSplit(final long[] positiveArray, 
+                   final long[] negativeArray,
+                   final int[] positiveIndices,
+                   final int[] negativeIndices) {
+            this.positiveArray = positiveArray;
+            this.negativeArray = negativeArray;
+            this.positiveIndices = positiveIndices;
+            this.negativeIndices = negativeIndices;
+        }
+    }
+    
+    /**
+     * Holds a partition of the smaller and a partition of the larger node 
+     * array, as found by the partitional searches: the node <tt>i</tt> of the
+     * smaller array is in the block <code>smallIndices[i]</code>, and likewise
+     * for the larger array. Sorted by the absolute values of their sums, the 
+     * blocks of the two partitions pair up into groups.
+     */
+    protected static class PartitionPair {
+        public final int[] smallIndices;
+        public final int[] largeIndices;
+        public final int blocks;
+        public final boolean optimal;
+        
+        public PartitionPair(final int[] smallIndices,
+                             final int[] largeIndices,
+                             final int blocks,
+                             final boolean optimal) {
+            this.smallIndices = smallIndices;
+            this.largeIndices = largeIndices;
+            this.blocks = blocks;
+            this.optimal = optimal;
+        }
+        
+        /**
+         * Returns the pair putting all nodes in a single block, which is the
+         * fallback of the searches running out of time.
+         * 
+         * @param  smallLength the length of the smaller array.
+         * @param  largeLength the length of the larger array.
+         * @return the pair of single block partitions.
+         */
+        static PartitionPair singleBlock(final int smallLength,
+                                         final int largeLength) {
+            return new PartitionPair(new int[smallLength], 
+                                     new int[largeLength], 
+                                     1, 
+                                     false);
+        }
+    }
+    
+    /**
+     * Holds a partition of a graph to trivial, semi-trivial and non-trivial
+     * groups. The index arrays, if not <code>null</code>, give the index of 
+     * each node in the input graph.
+     */
+    protected static class GroupSplit {
+        public final long[] trivialGroups;
+        public final long[] semitrivialGroups;
+        public final long[] nontrivialGroups;
+        public final int[] trivialIndices;
+        public final int[] semitrivialIndices;
+        public final int[] nontrivialIndices;
+        
+        GroupSplit(final long[] trivialGroups,
+                   final long[] semitrivialGroups,
+                   final long[] nontrivialGroups) {
+            this(trivialGroups, 
+                 semitrivialGroups, 
+                 nontrivialGroups, 
+                 null, 
+                 null, 
+                 null);
+        }
+        
+        GroupSplit(final long[] trivialGroups,
+                   final long[] semitrivialGroups,
+                   final long[] nontrivialGroups,
+                   final int[] trivialIndices,
+                   final int[] semitrivialIndices,
+                   final int[] nontrivialIndices) {
+            this.trivialGroups = trivialGroups;
+            this.semitrivialGroups = semitrivialGroups;
+            this.nontrivialGroups = nontrivialGroups;
+            this.trivialIndices = trivialIndices;
+            this.semitrivialIndices = semitrivialIndices;
+            this.nontrivialIndices = nontrivialIndices;
+        }
+    }
+    
+    /**
+     * Splits the input graph into positive and negative nodes.
+     * 
+     * @param  graph the graph to split.
+     * @return a graph split.
+     */
+    protected static GraphSplit splitBySign(final long[] graph) {
+        final SignSplitEvent event = 
+                FlightEvents.AVAILABLE ? 
+                SignSplitEvent.start(graph.length) : 
+                null;
+        
+        if (ParallelPreprocessor.isWorthwhile(graph.length)) {
+            return finish(event, ParallelPreprocessor.splitBySign(graph));
+        }
+        
+        int positiveCount = 0;
+        int negativeCount = 0;
+        
+        for (int i = 0; i < graph.length; ++i) {
+            final long l = graph[i];
+            
+            if (l < 0L) {
+                ++negativeCount;
+            } else if (l > 0L) {
+                ++positiveCount;
+            } else {
+                throw new IllegalArgumentException(
+                        "Zero element at index " + i + ".");
+            }
+        }
+        
+        final long[] positiveArray = new long[positiveCount];
+        final long[] negativeArray = new long[negativeCount];
+        
+        int positiveIndex = 0;
+        int negativeIndex = 0;
+        
+        for (final long l : graph) {
+            if (l > 0L) {
+                positiveArray[positiveIndex++] = l;
+            } else {
+                negativeArray[negativeIndex++] = l;
+            }
+        }
+        
+        return finish(event, new GraphSplit(positiveArray, negativeArray));
+    }
+    
+    /**
+     * Splits the input graph just like {@link #splitBySign(long[])}, and also
+     * records the index of each node in the input graph.
+     * 
+     * @param  graph the graph to split.
+     * @return a graph split with node indices.
+     */
+    protected static GraphSplit splitBySignWithIndices(final long[] graph) {
+        final GraphSplit gs = splitBySign(graph);
+        final int[] positiveIndices = new int[gs.positiveArray.length];
+        final int[] negativeIndices = new int[gs.negativeArray.length];
+        int positiveIndex = 0;
+        int negativeIndex = 0;
+        
+        // Both arrays keep the nodes in the order of the input graph.
+        for (int i = 0; i < graph.length; ++i) {
+            if (graph[i] > 0L) {
+                positiveIndices[positiveIndex++] = i;
+            } else {
+                negativeIndices[negativeIndex++] = i;
+            }
+        }
+        
+        return new GraphSplit(gs.positiveArray, 
+                              gs.negativeArray,
+                              positiveIndices,
+                              negativeIndices);
+    }
+    
+    /**
+     * Commits <code>event</code>, if any, and returns <code>split</code>.
+     * 
+     * @param  event the event of the split, or <code>null</code>.
+     * @param  split the result of the split.
+     * @return <code>split</code>.
+     */
+    private static GraphSplit finish(final SignSplitEvent event,
+                                     final GraphSplit split) {
+        if (event != null) {
+            event.finish(split.positiveArray.length, 
+                         split.negativeArray.length);
+        }
+        
+        return split;
+    }
+    
+    /**
+     * Counts the amount of groups formed by the indices. 
+     * <code>positiveIndices[i]</code> gives the block index for a node
+     * <code>positiveArray[i]</code>. Negative structures work in analogous way.
+     * Once the nodes are in their blocks, the routine checks whether they can
+     * be matched. If so the amount of blocks is returned. Otherwise zero is 
+     * returned indicating that the buckets may not be paired into groups.
+     * <p>
+     * This routine sorts the block sums. The searches use the faster
+     * {@link net.coderodde.loan.support.BlockSumMatcher} instead.
+     * 
+     * @param positiveArray       the array of positive nodes.
+     * @param negativeArray       the array of negative nodes.
+     * @param positiveIndices     the array of positive indices.
+     * @param negativeIndices     the array of negative indices.
+     * @param cachedPositiveArray the array caching positive nodes of each 
+     *                            group.
+     * @param cachedNegativeArray the array caching negative nodes of each
+     *                            group.
+     * @param k                   the amount of partition blocks.
+     * @return                    the amount of groups in the data.
+     */
+    protected static int countGroups(final long[] positiveArray,
+                                     final long[] negativeArray,
+                                     final int[] positiveIndices,
+                                     final int[] negativeIndices,
+                                     final long[] cachedPositiveArray,
+                                     final long[] cachedNegativeArray,
+                                     final int k) {
+        for (int i = 0; i < cachedPositiveArray.length; ++i) {
+            cachedPositiveArray[i] = 0L;
+            cachedNegativeArray[i] = 0L;
+        }
+        
+        for (int i = 0; i < positiveIndices.length; ++i) {
+            cachedPositiveArray[positiveIndices[i]] += positiveArray[i];
+        }
+        
+        for (int i = 0; i < negativeIndices.length; ++i) {
+            // cachedNegativeArray[i] is the absolute value of the sum of 
+            // negative elements in the block.
+            cachedNegativeArray[negativeIndices[i]] -= negativeArray[i]; 
+        }
+        
+        Arrays.sort(cachedPositiveArray);
+        Arrays.sort(cachedNegativeArray);
+        
+        for (int i = 0; i < cachedPositiveArray.length; ++i) {
+            if (cachedPositiveArray[i] != cachedNegativeArray[i]) {
+                return 0;
+            }
+        }
+        
+        return k;
+    }
+    
+    /**
+     * Reconstructs a solution from the input data.
+     * 
+     * @param positiveArray   the array of positive nodes.
+     * @param negativeArray   the array of negative nodes.
+     * @param positiveIndices the array of positive indices.
+     * @param negativeIndices the array of negative indices.
+     * @param blocks          the amount of partition blocks.
+     * @return                the graph with <code>blocks</code> groups.
+     */
+    protected static long[] buildSolution(final long[] positiveArray,
+                                          final long[] negativeArray,
+                                          final int[] positiveIndices,
+                                          final int[] negativeIndices,
+                                          final int blocks) {
+        final int[] positions = layOutBlocks(positiveArray,
+                                             negativeArray,
+                                             positiveIndices,
+                                             negativeIndices,
+                                             blocks);
+        final long[] ret = new long[positions.length];
+        
+        for (int i = 0; i < positions.length; ++i) {
+            ret[i] = positions[i] < positiveArray.length ? 
+                     positiveArray[positions[i]] :
+                     negativeArray[positions[i] - positiveArray.length];
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Reconstructs a solution from a pair of partitions found by a search.
+     * 
+     * @param  smallArray the smaller of the node arrays.
+     * @param  largeArray the larger of the node arrays.
+     * @param  pair       the partitions of the arrays.
+     * @return the graph with <code>pair.blocks</code> groups.
+     */
+    protected static long[] buildSolution(final long[] smallArray,
+                                          final long[] largeArray,
+                                          final PartitionPair pair) {
+        return buildSolution(smallArray, 
+                             largeArray, 
+                             pair.smallIndices,
+                             pair.largeIndices,
+                             pair.blocks);
+    }
+    
+    /**
+     * Reconstructs a solution as node indices from a pair of partitions found
+     * by a search. The smaller array of <code>split</code> is the positive 
+     * one if it is strictly shorter, and the negative one otherwise.
+     * 
+     * @param  split the sign split of the nodes, with node indices.
+     * @param  pair  the partitions of the smaller and the larger array.
+     * @return the node indices, group by group.
+     */
+    protected static int[] buildOrder(final GraphSplit split,
+                                      final PartitionPair pair) {
+        final boolean positiveIsSmall = 
+                split.positiveArray.length < split.negativeArray.length;
+        final long[] smallArray = positiveIsSmall ? 
+                                  split.positiveArray : 
+                                  split.negativeArray;
+        final long[] largeArray = positiveIsSmall ? 
+                                  split.negativeArray : 
+                                  split.positiveArray;
+        final int[] smallNodes = positiveIsSmall ?
+                                 split.positiveIndices :
+                                 split.negativeIndices;
+        final int[] largeNodes = positiveIsSmall ?
+                                 split.negativeIndices :
+                                 split.positiveIndices;
+        final int[] order = layOutBlocks(smallArray,
+                                         largeArray,
+                                         pair.smallIndices,
+                                         pair.largeIndices,
+                                         pair.blocks);
+        
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = order[i] < smallArray.length ?
+                       smallNodes[order[i]] :
+                       largeNodes[order[i] - smallArray.length];
+        }
+        
+        return order;
+    }
+    
+    /**
+     * Lays out the nodes of two partitions block by block. The blocks of 
+     * each partition are sorted by the absolute values of their sums, and the
+     * <tt>i</tt>th block of the first partition is followed by the 
+     * <tt>i</tt>th block of the second one. Within a block, the nodes keep 
+     * their order.
+     * 
+     * @param  firstArray    the nodes of the first partition.
+     * @param  secondArray   the nodes of the second partition.
+     * @param  firstIndices  the block of each node of the first partition.
+     * @param  secondIndices the block of each node of the second partition.
+     * @param  blocks        the amount of blocks in each partition.
+     * @return the positions of the nodes in the concatenation of 
+     *         <code>firstArray</code> and <code>secondArray</code>, block by 
+     *         block.
+     */
+    private static int[] layOutBlocks(final long[] firstArray,
+                                      final long[] secondArray,
+                                      final int[] firstIndices,
+                                      final int[] secondIndices,
+                                      final int blocks) {
+        final BuildSolutionEvent event = 
+                FlightEvents.AVAILABLE ?
+                BuildSolutionEvent.start(firstArray.length + 
+                                         secondArray.length, 
+                                         blocks) :
+                null;
+        final int[] firstStarts = blockStarts(firstIndices, blocks);
+        final int[] secondStarts = blockStarts(secondIndices, blocks);
+        final int[] firstPositions = 
+                positionsByBlock(firstIndices, firstStarts, 0);
+        final int[] secondPositions = 
+                positionsByBlock(secondIndices, 
+                                 secondStarts, 
+                                 firstArray.length);
+        final int[] firstBlocks = 
+                blocksBySum(firstArray, firstIndices, blocks);
+        final int[] secondBlocks = 
+                blocksBySum(secondArray, secondIndices, blocks);
+        final int[] ret = new int[firstArray.length + secondArray.length];
+        int index = 0;
+        
+        for (int i = 0; i < blocks; ++i) {
+            final int firstBlock = firstBlocks[i];
+            final int secondBlock = secondBlocks[i];
+            
+            for (int j = firstStarts[firstBlock]; 
+                    j < firstStarts[firstBlock + 1]; 
+                    ++j) {
+                ret[index++] = firstPositions[j];
+            }
+            
+            for (int j = secondStarts[secondBlock]; 
+                    j < secondStarts[secondBlock + 1]; 
+                    ++j) {
+                ret[index++] = secondPositions[j];
+            }
+        }
+        
+        if (event != null) {
+            event.finish();
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Returns the index at which each block starts when the nodes are 
+     * sorted by block, followed by the amount of nodes.
+     * 
+     * @param  indices the block of each node.
+     * @param  blocks  the amount of blocks.
+     * @return the block starts.
+     */
+    private static int[] blockStarts(final int[] indices, final int blocks) {
+        final int[] starts = new int[blocks + 1];
+        
+        for (final int block : indices) {
+            ++starts[block + 1];
+        }
+        
+        for (int i = 0; i < blocks; ++i) {
+            starts[i + 1] += starts[i];
+        }
+        
+        return starts;
+    }
+    
+    /**
+     * Sorts the positions of the nodes by their blocks. Within a block, the 
+     * nodes keep their order.
+     * 
+     * @param  indices the block of each node.
+     * @param  starts  the block starts as given by 
+     *                 {@link #blockStarts(int[], int)}.
+     * @param  offset  the value to add to each position.
+     * @return the positions of the nodes sorted by block.
+     */
+    private static int[] positionsByBlock(final int[] indices,
+                                          final int[] starts,
+                                          final int offset) {
+        final int[] next = starts.clone();
+        final int[] positions = new int[indices.length];
+        
+        for (int i = 0; i < indices.length; ++i) {
+            positions[next[indices[i]]++] = offset + i;
+        }
+        
+        return positions;
+    }
+    
+    /**
+     * Returns the blocks sorted by the absolute values of their sums. Blocks 
+     * with equal absolute sums keep their order.
+     * 
+     * @param  array   the nodes.
+     * @param  indices the block of each node.
+     * @param  blocks  the amount of blocks.
+     * @return the sorted blocks.
+     */
+    private static int[] blocksBySum(final long[] array,
+                                     final int[] indices,
+                                     final int blocks) {
+        final long[] sums = new long[blocks];
+        
+        for (int i = 0; i < indices.length; ++i) {
+            sums[indices[i]] += array[i];
+        }
+        
+        final int[] order = new int[blocks];
+        
+        // Insertion sort, as the exponential searches never produce many 
+        // blocks.
+        for (int i = 0; i < blocks; ++i) {
+            final long key = Math.abs(sums[i]);
+            int j = i;
+            
+            while (j > 0 && Math.abs(sums[order[j - 1]]) > key) {
+                order[j] = order[j - 1];
+                --j;
+            }
+            
+            order[j] = i;
+        }
+        
+        return order;
+    }
+    
+    /**
+     * Implements the combinatorial search for groups. A set of nodes is 
+     * represented by a bit mask over <code>nodes</code>: the bit <tt>i</tt> is
+     * set if and only if <code>nodes[i]</code> is in the set. The groups found
+     * are returned as such masks as well, so the search allocates nothing but
+     * the arrays of groups.
+     * 
+     * @param  nodes the array of nodes.
+     * @param  set   the set of nodes to partition. Must be a group.
+     * @return the array of group masks.
+     */
+    protected static long[] simplify(final long[] nodes, final long set) {
+        return simplify(nodes, set, null, 1);
+    }
+    
+    /**
+     * Implements the combinatorial search for groups just like
+     * {@link #simplify(long[], long)}, recording the bipartitions tried in
+     * <code>statistics</code>.
+     * 
+     * @param  nodes      the array of nodes.
+     * @param  set        the set of nodes to partition. Must be a group.
+     * @param  statistics the statistics, or <code>null</code>.
+     * @param  depth      the recursion depth of this call, starting from 1.
+     * @return the array of group masks.
+     */
+    protected static long[] simplify(final long[] nodes, 
+                                     final long set,
+                                     final SearchStatistics statistics,
+                                     final int depth) {
+        long[] bestGroups = null;
+        long bipartitions = 0L;
+        
+        // Generate all ways of splitting the set into two subsets.
+        for (long subset = (set - 1L) & set; 
+                subset != 0L; 
+                subset = (subset - 1L) & set) {
+            checkInterrupted();
+            ++bipartitions;
+            
+            // As 'set' is a group, so is the rest of it if 'subset' is.
+            if (sum(nodes, subset) == 0L) {
+                final long[] groups0 = 
+                        simplify(nodes, subset, statistics, depth + 1);
+                final long[] groups1 = 
+                        simplify(nodes, set & ~subset, statistics, depth + 1);
+                
+                if (bestGroups == null || 
+                        bestGroups.length < groups0.length + groups1.length) {
+                    bestGroups = append(groups0, groups1);
+                }
+            }
+        }
+        
+        if (statistics != null) {
+            statistics.recordBipartitions(bipartitions, depth);
+        }
+        
+        return bestGroups != null ? bestGroups : new long[]{ set };
+    }
+    
+    /**
+     * Implements the combinatorial search for groups. Unlike 
+     * {@link #simplify(long[], long)}, considers each split of the set only 
+     * once by keeping the last node in the second subset.
+     * 
+     * @param  nodes the array of nodes.
+     * @param  set   the set of nodes to partition. Must be a group.
+     * @return the array of group masks.
+     */
+    protected static long[] simplifyV2(final long[] nodes, final long set) {
+        return simplifyV2(nodes, set, null, 1);
+    }
+    
+    /**
+     * Implements the combinatorial search for groups just like
+     * {@link #simplifyV2(long[], long)}, recording the bipartitions tried in
+     * <code>statistics</code>.
+     * 
+     * @param  nodes      the array of nodes.
+     * @param  set        the set of nodes to partition. Must be a group.
+     * @param  statistics the statistics, or <code>null</code>.
+     * @param  depth      the recursion depth of this call, starting from 1.
+     * @return the array of group masks.
+     */
+    protected static long[] simplifyV2(final long[] nodes, 
+                                       final long set,
+                                       final SearchStatistics statistics,
+                                       final int depth) {
+        final long rest = set & ~Long.highestOneBit(set);
+        long[] bestGroups = null;
+        long bipartitions = 0L;
+        
+        // Generate all ways of splitting the set into two subsets.
+        for (long subset = rest; subset != 0L; subset = (subset - 1L) & rest) {
+            checkInterrupted();
+            ++bipartitions;
+            
+            if (sum(nodes, subset) == 0L) {
+                final long[] groups0 = 
+                        simplify(nodes, subset, statistics, depth + 1);
+                final long[] groups1 = 
+                        simplify(nodes, set & ~subset, statistics, depth + 1);
+                
+                if (bestGroups == null || 
+                        bestGroups.length < groups0.length + groups1.length) {
+                    bestGroups = append(groups0, groups1);
+                }
+            }
+        }
+        
+        if (statistics != null) {
+            statistics.recordBipartitions(bipartitions, depth);
+        }
+        
+        return bestGroups != null ? bestGroups : new long[]{ set };
+    }
+    
+    private static class PartitionalSimplifierThread extends Thread {
+        
+        /**
+         * The smaller of the two arrays.
+         */
+        private final long[] smallArray;
+
+        /**
+         * The larger of the two arrays.
+         */
+        private final long[] largeArray;
+        
+        /**
+         * The pair of partitions found.
+         */
+        private volatile PartitionPair output;
+        
+        /**
+         * Specifies whether this thread generates the partitions starting from
+         * the greatest amount of blocks.
+         */
+        private final boolean reversedMode;
+        
+        /**
+         * The amount of blocks to start from.
+         */
+        private final int startingBlockAmount;
+        
+        /**
+         * The flag controlling this thread.
+         */
+        private volatile boolean quit = false;
+        
+        /**
+         * Used for speeding up the group counting.
+         */
+        private final BlockSumMatcher matcher;
+        
+        /**
+         * Another thread doing the search. When this thread is ready, it asks
+         * <code>brotherThread</code> to stop.
+         */
+        private PartitionalSimplifierThread brotherThread;
+        
+        /**
+         * The statistics to record the search in, or <code>null</code>.
+         */
+        private final SearchStatistics statistics;
+        
+        /**
+         * The amount of partitions generated so far.
+         */
+        private long partitions;
+        
+        /**
+         * The amount of partition pairs whose groups were counted so far.
+         */
+        private long invocations;
+        
+        /**
+         * The amount of partition pairs found to be groups so far.
+         */
+        private long hits;
+        
+        PartitionalSimplifierThread(final long[] smallArray,
+                                    final long[] largeArray,
+                                    final boolean reversedMode,
+                                    final int startingBlockAmount,
+                                    final SearchStatistics statistics) {
+            this.smallArray = smallArray;
+            this.largeArray = largeArray;
+            this.reversedMode = reversedMode;
+            this.startingBlockAmount = startingBlockAmount;
+            this.statistics = statistics;
+            this.matcher = new BlockSumMatcher(smallArray.length);
+        }
+        
+        void setBrotherThread(final PartitionalSimplifierThread brotherThread) {
+            this.brotherThread = brotherThread;
+        }
+        
+        @Override
+        public void run() {
+            final SearchThreadEvent event = 
+                    FlightEvents.AVAILABLE ?
+                    SearchThreadEvent.start(
+                            reversedMode ? "reversed" : "forward",
+                            smallArray.length,
+                            largeArray.length) :
+                    null;
+            
+            try {
+                search();
+            } finally {
+                if (statistics != null) {
+                    statistics.recordPartitions(partitions);
+                    statistics.recordCountGroups(invocations, hits);
+                }
+                
+                if (event != null) {
+                    event.finish(invocations, hits);
+                }
+            }
+        }
+        
+        /**
+         * Runs the search in the mode of this thread.
+         */
+        private void search() {
+            if (reversedMode) {
+                final ReversedGeneralPartitionGenerator smallGenerator =
+                new ReversedGeneralPartitionGenerator(smallArray.length,
+                                                      startingBlockAmount,
+                                                      smallArray);
+                do {
+                    ++partitions;
+                    final int[] smallArrayIndices = smallGenerator.getIndices();
+
+                    final int blocks = smallGenerator.getk();
+
+                    final SpecialPartitionGenerator largeGenerator = 
+                            new SpecialPartitionGenerator(largeArray.length, 
+                                                          blocks,
+                                                          largeArray);
+
+                    final int[] largeArrayIndices = largeGenerator.getIndices();
+                    final long[] smallSums = smallGenerator.getBlockSums();
+                    final long[] largeSums = largeGenerator.getBlockSums();
+
+                    do {
+                        ++partitions;
+                        ++invocations;
+                        int groups = matcher.countGroups(smallSums,
+                                                         largeSums,
+                                                         blocks);
+
+                        if (groups > 0) {
+                            ++hits;
+                            output = new PartitionPair(smallArrayIndices,
+                                                       largeArrayIndices,
+                                                       blocks,
+                                                       true);
+                            brotherThread.quit();
+                            return;
+                        }
+                        
+                        if (quit) {
+                            // Quitting this thread requested.
+                            return;
+                        }
+                    } while (largeGenerator.inc());
+                } while (smallGenerator.inc());
+
+                throw new IllegalStateException("Should not get here.");
+            } else {
+                final GeneralPartitionGenerator smallGenerator =
+                new GeneralPartitionGenerator(smallArray.length,
+                                              startingBlockAmount,
+                                              smallArray);
+
+                final int[] bestSmallIndices = new int[smallArray.length];
+                final int[] bestLargeIndices = new int[largeArray.length];
+
+                int bestGroupAmount = 0;
+                int bestk = -1;
+
+                do {
+                    ++partitions;
+                    final int[] smallIndices = smallGenerator.getIndices();
+                    final int blocks = smallGenerator.getk();
+
+                    final SpecialPartitionGenerator largeGenerator = 
+                            new SpecialPartitionGenerator(largeArray.length, 
+                                                          blocks,
+                                                          largeArray);
+
+                    final int[] largeIndices = largeGenerator.getIndices();
+                    final long[] smallSums = smallGenerator.getBlockSums();
+                    final long[] largeSums = largeGenerator.getBlockSums();
+
+                    do {
+                        if (quit) {
+                            // Quitting this thread requested.
+                            return;
+                        }
+                        
+                        ++partitions;
+                        ++invocations;
+                        int groups = matcher.countGroups(smallSums,
+                                                         largeSums,
+                                                         blocks);
+
+                        if (groups > 0) {
+                            ++hits;
+                        }
+
+                        if (bestGroupAmount < groups) {
+                            bestGroupAmount = groups;
+                            bestk = blocks;
+
+                            System.arraycopy(smallIndices, 
+                                             0, 
+                                             bestSmallIndices,
+                                             0,
+                                             smallIndices.length);
+
+                            System.arraycopy(largeIndices,
+                                             0, 
+                                             bestLargeIndices, 
+                                             0, 
+                                             largeIndices.length);
+                        }
+                    } while (largeGenerator.inc());
+                } while (smallGenerator.inc());
+
+                brotherThread.quit();
+                output = new PartitionPair(bestSmallIndices,
+                                           bestLargeIndices,
+                                           bestk,
+                                           true);
+            }
+        }
+        
+        boolean isQuit() {
+            return this.quit;
+        }
+        
+        /**
+         * Stops this thread.
+         */
+        void quit() {
+            this.quit = true;
+        }
+    }
+    
+    /**
+     * Finds the best way of splitting a set of nodes into groups. Sets small
+     * enough are handled by {@link #simplifyV2(long[], long)}, larger sets are
+     * handed to a {@link BipartitionTask} covering all their bipartitions.
+     */
+    private static final class SimplifyTask extends RecursiveTask<long[]> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The array of nodes.
+         */
+        private final long[] nodes;
+        
+        /**
+         * The set of nodes to partition. Must be a group.
+         */
+        private final long set;
+        
+        /**
+         * Set when the entire simplification is cancelled.
+         */
+        private final AtomicBoolean cancelled;
+        
+        /**
+         * The statistics to record the search in, or <code>null</code>.
+         */
+        private final SearchStatistics statistics;
+        
+        /**
+         * The recursion depth of this task.
+         */
+        private final int depth;
+        
+        SimplifyTask(final long[] nodes, 
+                     final long set, 
+                     final AtomicBoolean cancelled,
+                     final SearchStatistics statistics,
+                     final int depth) {
+            this.nodes = nodes;
+            this.set = set;
+            this.cancelled = cancelled;
+            this.statistics = statistics;
+            this.depth = depth;
+        }
+        
+        @Override
+        protected long[] compute() {
+            if (cancelled.get()) {
+                throw new CancellationException("Simplification cancelled.");
+            }
+            
+            final int size = Long.bitCount(set);
+            
+            if (size - 1 <= MAXIMUM_SERIAL_LOAD) {
+                return simplifyV2(nodes, set, statistics, depth);
+            }
+            
+            final long[] result = 
+                    new BipartitionTask(nodes, 
+                                        set, 
+                                        1L, 
+                                        1L << (size - 1),
+                                        cancelled,
+                                        statistics,
+                                        depth).compute();
+            
+            return result.length > 0 ? result : new long[]{ set };
+        }
+    }
+    
+    /**
+     * Goes through the bipartitions of a set of nodes whose indices are within
+     * <code>[from, to)</code>. The bit <tt>i</tt> of an index tells whether 
+     * the <tt>i</tt>th node of the set goes to the first subset; the last node
+     * always goes to the second one. Large ranges are split in two subtasks, 
+     * and both subsets of each bipartition forming two groups are simplified 
+     * in separate subtasks, so that idle workers may steal them.
+     */
+    private static final class BipartitionTask extends RecursiveTask<long[]> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The array of nodes.
+         */
+        private final long[] nodes;
+        
+        /**
+         * The set of nodes to partition. Must be a group.
+         */
+        private final long set;
+        
+        /**
+         * The first index of the range.
+         */
+        private final long from;
+        
+        /**
+         * The index one past the last index of the range.
+         */
+        private final long to;
+        
+        /**
+         * Set when the entire simplification is cancelled.
+         */
+        private final AtomicBoolean cancelled;
+        
+        /**
+         * The statistics to record the search in, or <code>null</code>.
+         */
+        private final SearchStatistics statistics;
+        
+        /**
+         * The recursion depth of the set.
+         */
+        private final int depth;
+        
+        BipartitionTask(final long[] nodes,
+                        final long set,
+                        final long from,
+                        final long to,
+                        final AtomicBoolean cancelled,
+                        final SearchStatistics statistics,
+                        final int depth) {
+            this.nodes = nodes;
+            this.set = set;
+            this.from = from;
+            this.to = to;
+            this.cancelled = cancelled;
+            this.statistics = statistics;
+            this.depth = depth;
+        }
+        
+        /**
+         * Returns the best array of group masks over the range, or an empty 
+         * array if no bipartition in the range splits the set in two groups.
+         * 
+         * @return the best array of group masks.
+         */
+        @Override
+        protected long[] compute() {
+            // A cancelled task must not split, or the forked halves left 
+            // behind would walk the entire range of subtasks.
+            if (cancelled.get()) {
+                throw new CancellationException("Simplification cancelled.");
+            }
+            
+            if (to - from > MAXIMUM_SERIAL_BIPARTITIONS) {
+                final long middle = from + (to - from) / 2;
+                final BipartitionTask left = 
+                        new BipartitionTask(nodes, 
+                                            set, 
+                                            from, 
+                                            middle, 
+                                            cancelled,
+                                            statistics,
+                                            depth);
+                final BipartitionTask right =
+                        new BipartitionTask(nodes, 
+                                            set, 
+                                            middle, 
+                                            to, 
+                                            cancelled,
+                                            statistics,
+                                            depth);
+                
+                left.fork();
+                final long[] rightResult = right.compute();
+                final long[] leftResult = left.join();
+                
+                return leftResult.length < rightResult.length ? 
+                       rightResult : 
+                       leftResult;
+            }
+            
+            final long rest = set & ~Long.highestOneBit(set);
+            long[] bestGroups = new long[0];
+            
+            for (long index = from; index < to; ++index) {
+                if (cancelled.get()) {
+                    throw new CancellationException(
+                            "Simplification cancelled.");
+                }
+                
+                final long subset = deposit(index, rest);
+                
+                if (sum(nodes, subset) == 0L) {
+                    final SimplifyTask task0 = 
+                            new SimplifyTask(nodes, 
+                                             subset, 
+                                             cancelled,
+                                             statistics,
+                                             depth + 1);
+                    final SimplifyTask task1 = 
+                            new SimplifyTask(nodes, 
+                                             set & ~subset, 
+                                             cancelled,
+                                             statistics,
+                                             depth + 1);
+                    
+                    task0.fork();
+                    final long[] groups1 = task1.compute();
+                    final long[] groups0 = task0.join();
+                    
+                    if (bestGroups.length < groups0.length + groups1.length) {
+                        bestGroups = append(groups0, groups1);
+                    }
+                }
+            }
+            
+            if (statistics != null) {
+                statistics.recordBipartitions(to - from, depth);
+            }
+            
+            return bestGroups;
+        }
+    }
+    
+    /**
+     * Implements the combinatorial search for groups in parallel. The search
+     * runs in the fork/join pool shared by the library.
+     * 
+     * @param  nodes the array of nodes. Must be a group.
+     * @return the array of group masks.
+     */
+    protected long[] simplifyV3(final long[] nodes) {
+        final long set = fullSet(nodes.length);
+        final int coreAmount = Runtime.getRuntime().availableProcessors();
+        final SearchStatistics statistics = getStatistics();
+        
+        if (coreAmount < 2 || nodes.length - 1 <= MAXIMUM_SERIAL_LOAD) {
+            return simplifyV2(nodes, set, statistics, 1);
+        }
+        
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final ForkJoinPool pool = SharedPool.get();
+        
+        if (statistics != null) {
+            statistics.recordThreads(pool.getParallelism());
+        }
+        
+        final SimplifyTask task = new SimplifyTask(nodes, 
+                                                   set, 
+                                                   cancelled,
+                                                   statistics,
+                                                   1);
+        pool.execute(task);
+        
+        try {
+            return task.get();
+        } catch (final InterruptedException ie) {
+            // Stop the subtasks and wait for them, so that no worker keeps 
+            // searching after returning. Waiting leaves the interrupted 
+            // status set.
+            cancelled.set(true);
+            task.quietlyJoin();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Threads interrupted.");
+        } catch (final ExecutionException ee) {
+            throw rethrow(ee);
+        } finally {
+            // Stops the subtasks left unjoined by a failed task.
+            cancelled.set(true);
+        }
+    }
+    
+    /**
+     * Runs <code>tasks</code> in the fork/join pool shared by the library and
+     * waits for all of them. The tasks must return soon after 
+     * <code>cancelled</code> is set. If a task fails or the current thread is 
+     * interrupted, <code>cancelled</code> is set and the other tasks are 
+     * waited for before throwing, so that no worker keeps searching after 
+     * this method returns.
+     * 
+     * @param  tasks     the tasks to run.
+     * @param  cancelled the flag stopping the tasks.
+     * @throws CancellationException if the current thread is interrupted.
+     */
+    protected static void invokeInSharedPool(final ForkJoinTask<?>[] tasks,
+                                             final AtomicBoolean cancelled) {
+        final ForkJoinPool pool = SharedPool.get();
+        
+        for (final ForkJoinTask<?> task : tasks) {
+            pool.execute(task);
+        }
+        
+        try {
+            for (final ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (final InterruptedException ie) {
+            cancelled.set(true);
+            
+            for (final ForkJoinTask<?> task : tasks) {
+                task.quietlyJoin();
+            }
+            
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Threads interrupted.");
+        } catch (final ExecutionException ee) {
+            cancelled.set(true);
+            
+            for (final ForkJoinTask<?> task : tasks) {
+                task.quietlyJoin();
+            }
+            
+            throw rethrow(ee);
+        }
+    }
+    
+    /**
+     * Returns the cause of <code>ee</code> as an unchecked exception to 
+     * throw. Runtime exceptions and errors are thrown as is.
+     * 
+     * @param  ee the exception thrown by a task.
+     * @return the exception to throw.
+     */
+    private static RuntimeException rethrow(final ExecutionException ee) {
+        final Throwable cause = ee.getCause();
+        
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        
+        return new IllegalStateException(cause);
+    }
+    
+    /**
+     * Throws a {@link java.util.concurrent.CancellationException} if the 
+     * current thread is interrupted. The interrupted status of the thread is
+     * not cleared.
+     * 
+     * @throws CancellationException if the current thread is interrupted.
+     */
+    protected static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Simplification interrupted.");
+        }
+    }
+    
+    /**
+     * Waits for <code>thread</code> to die even if the current thread gets 
+     * interrupted meanwhile. The interrupted status of the current thread is
+     * restored before returning.
+     * 
+     * @param thread the thread to wait for.
+     */
+    protected static void joinUninterruptibly(final Thread thread) {
+        boolean interrupted = false;
+        
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (final InterruptedException ie) {
+                interrupted = true;
+            }
+        }
+        
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Returns a base 2 logarithm, ceiled towards the nearest integer.
+     * 
+     * @param  num the number whose logarithm to compute.
+     * @return     logarithm of <code>num</code>.
+     */
+    protected static int intLog2(final int num) {
+        int s = 1;
+        
+        while (s < num) {
+            s <<= 1;
+        }
+        
+        return Integer.numberOfTrailingZeros(s);
+    }
+    
+    /**
+     * Returns the bit mask of the set of the first <code>n</code> nodes.
+     * 
+     * @param  n the amount of nodes.
+     * @return the bit mask of all <code>n</code> nodes.
+     * @throws IllegalArgumentException if <code>n</code> is too large for a
+     *                                  bit mask.
+     */
+    protected static long fullSet(final int n) {
+        if (n > MAXIMUM_MASK_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many nodes: " + n + ", maximum is " + 
+                    MAXIMUM_MASK_NODES + ".");
+        }
+        
+        return (1L << n) - 1L;
+    }
+    
+    /**
+     * Scatters the lowest bits of <code>bits</code> to the positions of the 
+     * set bits of <code>set</code>, lowest first. 
+     * 
+     * @param  bits the bits to scatter.
+     * @param  set  the target positions.
+     * @return the subset of <code>set</code> selected by <code>bits</code>.
+     */
+    protected static long deposit(long bits, final long set) {
+        long subset = 0L;
+        
+        for (long rest = set; rest != 0L; rest &= rest - 1L, bits >>>= 1) {
+            if ((bits & 1L) != 0L) {
+                subset |= Long.lowestOneBit(rest);
+            }
+        }
+        
+        return subset;
+    }
+    
+    /**
+     * Lays out the nodes group by group.
+     * 
+     * @param  nodes  the array of nodes.
+     * @param  groups the group masks over <code>nodes</code>.
+     * @return the array of nodes ordered by groups.
+     */
+    protected static long[] flatten(final long[] nodes, final long[] groups) {
+        final long[] result = new long[nodes.length];
+        int index = 0;
+        
+        for (final long group : groups) {
+            for (long rest = group; rest != 0L; rest &= rest - 1L) {
+                result[index++] = nodes[Long.numberOfTrailingZeros(rest)];
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Returns <code>a</code> raised to the power of <code>b</code>.
+     * 
+     * @param  a the number.
+     * @param  b the exponent.
+     * @return <code>a^b</code>.
+     */
+    protected static long mypow(final long a, final long b) {
+        long tmp = 1L;
+        
+        for (long i = 0; i < b; ++i) {
+            tmp *= a;
+        }
+        
+        return tmp;
+    }
+    
+    /**
+     * Implements the algorithm for group maximization.
+     * 
+     * @param  smallArray the smaller of the node arrays.
+     * @param  largeArray the larger of the node arrays.
+     * 
+     * @return the node array producing maximal amount of groups.
+     */
+    protected long[] simplifyImpl(final long[] smallArray,
+                                  final long[] largeArray) {
+        return simplifyImpl(smallArray, largeArray, 1);
+    }
+    
+    /**
+     * Implements the algorithm for group maximization.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * 
+     * @return the node array producing maximal amount of groups.
+     */
+    protected long[] simplifyImpl(final long[] smallArray,
+                                  final long[] largeArray,
+                                  final int initialBlocks) {
+        return simplifyImpl(smallArray, 
+                            largeArray, 
+                            initialBlocks, 
+                            Long.MAX_VALUE).getGraph();
+    }
+    
+    /**
+     * Implements the algorithm for group maximization. If the search takes 
+     * more than <code>budgetNanos</code> nanoseconds, the best solution found 
+     * so far is returned.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * @param  budgetNanos   the time budget in nanoseconds.
+     * 
+     * @return the node array producing maximal amount of groups found within
+     *         the time budget.
+     */
+    protected SimplificationResult simplifyImpl(final long[] smallArray,
+                                                final long[] largeArray,
+                                                final int initialBlocks,
+                                                final long budgetNanos) {
+        final PartitionPair pair = searchPartitions(smallArray,
+                                                    largeArray,
+                                                    initialBlocks,
+                                                    budgetNanos);
+        return new SimplificationResult(buildSolution(smallArray,
+                                                      largeArray,
+                                                      pair),
+                                        pair.optimal);
+    }
+    
+    /**
+     * Searches for the pair of partitions producing maximal amount of groups
+     * just like {@link #simplifyImpl(long[], long[], int, long)}, without 
+     * building the solution.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * @param  budgetNanos   the time budget in nanoseconds.
+     * 
+     * @return the best pair of partitions found within the time budget.
+     */
+    protected PartitionPair searchPartitions(final long[] smallArray,
+                                             final long[] largeArray,
+                                             final int initialBlocks,
+                                             final long budgetNanos) {
+        final long startTime = System.nanoTime();
+        final GeneralPartitionGenerator smallGenerator =
+                new GeneralPartitionGenerator(smallArray.length,
+                                              initialBlocks,
+                                              smallArray);
+        final BlockSumMatcher matcher = 
+                new BlockSumMatcher(smallArray.length);
+        
+        final int[] bestSmallIndices = new int[smallArray.length];
+        final int[] bestLargeIndices = new int[largeArray.length];
+        
+        int bestGroupAmount = 0;
+        int bestk = -1;
+        int stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+        long partitions = 0L;
+        long invocations = 0L;
+        long hits = 0L;
+        final boolean recordLevels = 
+                FlightEvents.AVAILABLE && PartitionLevelEvent.isRecording();
+        PartitionLevelEvent levelEvent = null;
+        
+        try {
+            do {
+                ++partitions;
+                final int[] smallIndices = smallGenerator.getIndices();
+                final int blocks = smallGenerator.getk();
+                
+                if (recordLevels && (levelEvent == null || 
+                                     levelEvent.getBlocks() != blocks)) {
+                    if (levelEvent != null) {
+                        levelEvent.finish(invocations, hits);
+                    }
+                    
+                    levelEvent = PartitionLevelEvent.start(smallArray.length,
+                                                           largeArray.length,
+                                                           blocks,
+                                                           false,
+                                                           invocations,
+                                                           hits);
+                }
+            
+                final SpecialPartitionGenerator largeGenerator = 
+                        new SpecialPartitionGenerator(largeArray.length, 
+                                                      blocks,
+                                                      largeArray);
+            
+                final int[] largeIndices = largeGenerator.getIndices();
+                final long[] smallSums = smallGenerator.getBlockSums();
+                final long[] largeSums = largeGenerator.getBlockSums();
+            
+                do {
+                    if (--stepsUntilDeadlineCheck == 0) {
+                        stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+                        checkInterrupted();
+                    
+                        if (System.nanoTime() - startTime > budgetNanos) {
+                            return bestk < 0 ? 
+                                   PartitionPair.singleBlock(
+                                           smallArray.length, 
+                                           largeArray.length) :
+                                   new PartitionPair(bestSmallIndices,
+                                                     bestLargeIndices,
+                                                     bestk,
+                                                     false);
+                        }
+                    }
+                
+                    ++partitions;
+                    ++invocations;
+                    int groups = matcher.countGroups(smallSums, 
+                                                     largeSums, 
+                                                     blocks);
+                
+                    if (groups > 0) {
+                        ++hits;
+                    }
+                
+                    if (bestGroupAmount < groups) {
+                        bestGroupAmount = groups;
+                        bestk = blocks;
+                    
+                        System.arraycopy(smallIndices, 
+                                         0, 
+                                         bestSmallIndices,
+                                         0,
+                                         smallIndices.length);
+                    
+                        System.arraycopy(largeIndices,
+                                         0, 
+                                         bestLargeIndices, 
+                                         0, 
+                                         largeIndices.length);
+                    }
+                } while (largeGenerator.inc());
+            } while (smallGenerator.inc());
+        
+            return new PartitionPair(bestSmallIndices,
+                                     bestLargeIndices,
+                                     bestk,
+                                     true);
+        } finally {
+            recordPartitionSearch(partitions, invocations, hits);
+            
+            if (levelEvent != null) {
+                levelEvent.finish(invocations, hits);
+            }
+        }
+    }
+    
+    /**
+     * Implements the algorithm for group maximization. Works in reversed 
+     * fashion: the first match is guaranteed to be optimal.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  minimumBlocks the minimum amount of blocks.
+     * 
+     * @return the node array producing maximal amount of groups.
+     */
+    protected long[] simplifyImplReversed(final long[] smallArray,
+                                          final long[] largeArray,
+                                          final int minimumBlocks) {
+        return simplifyImplReversed(smallArray, 
+                                    largeArray, 
+                                    minimumBlocks, 
+                                    Long.MAX_VALUE).getGraph();
+    }
+    
+    /**
+     * Implements the algorithm for group maximization. Works in reversed 
+     * fashion: the first match is guaranteed to be optimal. If no match is 
+     * found within <code>budgetNanos</code> nanoseconds, the nodes are 
+     * returned as a single group.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  minimumBlocks the minimum amount of blocks.
+     * @param  budgetNanos   the time budget in nanoseconds.
+     * 
+     * @return the node array producing maximal amount of groups, or a single
+     *         group if the time budget runs out.
+     */
+    protected SimplificationResult 
+        simplifyImplReversed(final long[] smallArray,
+                             final long[] largeArray,
+                             final int minimumBlocks,
+                             final long budgetNanos) {
+        final PartitionPair pair = searchPartitionsReversed(smallArray,
+                                                            largeArray,
+                                                            minimumBlocks,
+                                                            budgetNanos);
+        return new SimplificationResult(buildSolution(smallArray,
+                                                      largeArray,
+                                                      pair),
+                                        pair.optimal);
+    }
+    
+    /**
+     * Searches for the pair of partitions producing maximal amount of groups
+     * just like {@link #simplifyImplReversed(long[], long[], int, long)}, 
+     * without building the solution.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  minimumBlocks the minimum amount of blocks.
+     * @param  budgetNanos   the time budget in nanoseconds.
+     * 
+     * @return the optimal pair of partitions, or a single block pair if the
+     *         time budget runs out.
+     */
+    protected PartitionPair 
+        searchPartitionsReversed(final long[] smallArray,
+                                 final long[] largeArray,
+                                 final int minimumBlocks,
+                                 final long budgetNanos) {
+        final long startTime = System.nanoTime();
+        final ReversedGeneralPartitionGenerator smallGenerator =
+                new ReversedGeneralPartitionGenerator(smallArray.length,
+                                                      minimumBlocks,
+                                                      smallArray);
+        final BlockSumMatcher matcher = 
+                new BlockSumMatcher(smallArray.length);
+        int stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+        long partitions = 0L;
+        long invocations = 0L;
+        long hits = 0L;
+        final boolean recordLevels = 
+                FlightEvents.AVAILABLE && PartitionLevelEvent.isRecording();
+        PartitionLevelEvent levelEvent = null;
+        
+        try {
+            do {
+                ++partitions;
+                final int[] smallArrayIndices = smallGenerator.getIndices();
+            
+                final int blocks = smallGenerator.getk();
+                
+                if (recordLevels && (levelEvent == null || 
+                                     levelEvent.getBlocks() != blocks)) {
+                    if (levelEvent != null) {
+                        levelEvent.finish(invocations, hits);
+                    }
+                    
+                    levelEvent = PartitionLevelEvent.start(smallArray.length,
+                                                           largeArray.length,
+                                                           blocks,
+                                                           true,
+                                                           invocations,
+                                                           hits);
+                }
+            
+                final SpecialPartitionGenerator largeGenerator = 
+                        new SpecialPartitionGenerator(largeArray.length, 
+                                                      blocks,
+                                                      largeArray);
+            
+                final int[] largeArrayIndices = largeGenerator.getIndices();
+                final long[] smallSums = smallGenerator.getBlockSums();
+                final long[] largeSums = largeGenerator.getBlockSums();
+            
+                do {
+                    if (--stepsUntilDeadlineCheck == 0) {
+                        stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+                        checkInterrupted();
+                    
+                        if (System.nanoTime() - startTime > budgetNanos) {
+                            return PartitionPair.singleBlock(
+                                    smallArray.length, 
+                                    largeArray.length);
+                        }
+                    }
+                
+                    ++partitions;
+                    ++invocations;
+                    int groups = matcher.countGroups(smallSums, 
+                                                     largeSums, 
+                                                     blocks);
+                
+                    if (groups > 0) {
+                        ++hits;
+                        return new PartitionPair(smallArrayIndices,
+                                                 largeArrayIndices,
+                                                 blocks,
+                                                 true);
+                    }
+                } while (largeGenerator.inc());
+            } while (smallGenerator.inc());
+        
+            throw new IllegalStateException("Should not get here.");
+        } finally {
+            recordPartitionSearch(partitions, invocations, hits);
+            
+            if (levelEvent != null) {
+                levelEvent.finish(invocations, hits);
+            }
+        }
+    }
+    
+    /**
+     * Implements the algorithm for group maximization by running the forward
+     * and the reversed search in two threads, returning the solution of the 
+     * one finishing first.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * 
+     * @return the node array producing maximal amount of groups.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    protected long[] 
+        simplifyByPartitioningUsingThreads(final long[] smallArray,
+                                           final long[] largeArray,
+                                           final int initialBlocks) {
+        return buildSolution(smallArray,
+                             largeArray,
+                             searchPartitionsUsingThreads(smallArray,
+                                                          largeArray,
+                                                          initialBlocks));
+    }
+    
+    /**
+     * Searches for the pair of partitions producing maximal amount of groups
+     * just like {@link #simplifyByPartitioningUsingThreads(long[], long[], 
+     * int)}, without building the solution.
+     * 
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * 
+     * @return the optimal pair of partitions.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    protected PartitionPair 
+        searchPartitionsUsingThreads(final long[] smallArray,
+                                     final long[] largeArray,
+                                     final int initialBlocks) {
+        final SearchStatistics statistics = getStatistics();
+        final PartitionalSimplifierThread forwardSearchThread = 
+                new PartitionalSimplifierThread(smallArray, 
+                                                largeArray, 
+                                                false, 
+                                                initialBlocks,
+                                                statistics);
+        
+        final PartitionalSimplifierThread backwardSearchThread =
+                new PartitionalSimplifierThread(smallArray,
+                                                largeArray, 
+                                                true, 
+                                                initialBlocks,
+                                                statistics);
+        
+        // Let them know each other. The winner has to stop the loser.
+        forwardSearchThread.setBrotherThread(backwardSearchThread);
+        backwardSearchThread.setBrotherThread(forwardSearchThread);
+        
+        // Spawn.
+        forwardSearchThread.start();
+        backwardSearchThread.start();
+        
+        if (statistics != null) {
+            statistics.recordThreads(2);
+        }
+        
+        // Wait for them.
+        try {
+            forwardSearchThread.join();
+            backwardSearchThread.join();
+        } catch (final InterruptedException ie) {
+            forwardSearchThread.quit();
+            backwardSearchThread.quit();
+            joinUninterruptibly(forwardSearchThread);
+            joinUninterruptibly(backwardSearchThread);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Threads interrupted.");
+        }
+        
+        if (forwardSearchThread.isQuit()) {
+            return backwardSearchThread.output;
+        } else {
+            return forwardSearchThread.output;
+        }
+    }
+    
+    /**
+     * Splits the input graph into trivial, semi-trivial and non-trivial groups.
+     * 
+     * @param  graph the graph to split.
+     * @return the graph partition.
+     */
+    protected static GroupSplit split(final long[] graph) {
+        final SplitEvent event = 
+                FlightEvents.AVAILABLE ? SplitEvent.start(graph.length) : null;
+        
+        if (ParallelPreprocessor.isWorthwhile(graph.length)) {
+            return finish(event, ParallelPreprocessor.split(graph));
+        }
+        
+        int trivialGroupCount = 0;
+        
+        for (final long l : graph) {
+            if (l == 0L) {
+                ++trivialGroupCount;
+            }
+        }
+        
+        final long[] trivialGroups = new long[trivialGroupCount];
+        
+        // A count of zero means that the node is absent. Trivial groups are 
+        // never counted.
+        final LongIntHashMap counts = 
+                new LongIntHashMap(graph.length - trivialGroupCount);
+        
+        for (final long l : graph) {
+            if (l != 0L) {
+                counts.increment(l);
+            }
+        }
+        
+        final long[] semitrivialGroups = 
+                new long[graph.length - trivialGroupCount];
+        
+        final long[] nontrivialGroups = 
+                new long[graph.length - trivialGroupCount];
+        
+        int semitrivialIndex = 0;
+        int nontrivialIndex = 0;
+        
+        for (final long l : graph) {
+            if (l == 0L) {
+                // Skip trivial group once again.
+                continue;
+            }
+            
+            final int count = counts.get(l);
+            final int oppositeCount = counts.get(-l);
+            
+            if (count > 0 && oppositeCount > 0) {
+                final int minOccurrences = Math.min(count, oppositeCount);
+                
+                for (int i = 0; i < minOccurrences; ++i) {
+                    semitrivialGroups[semitrivialIndex++] = l;
+                    semitrivialGroups[semitrivialIndex++] = -l;
+                }
+                
+                counts.put(l, count - minOccurrences);
+                counts.put(-l, oppositeCount - minOccurrences);
+            } else if (count > 0) {
+                for (int i = 0; i < count; ++i) {
+                    nontrivialGroups[nontrivialIndex++] = l;
+                }
+                
+                counts.put(l, 0);
+            } else if (oppositeCount > 0) {
+                for (int i = 0; i < oppositeCount; ++i) {
+                    nontrivialGroups[nontrivialIndex++] = -l;
+                }
+                
+                counts.put(-l, 0);
+            }
+        }
+        
+        return finish(event, 
+                      new GroupSplit(trivialGroups, 
+                                     Arrays.copyOf(semitrivialGroups, 
+                                                   semitrivialIndex), 
+                                     Arrays.copyOf(nontrivialGroups, 
+                                                   nontrivialIndex)));
+    }
+    
+    /**
+     * Commits <code>event</code>, if any, and returns <code>split</code>.
+     * 
+     * @param  event the event of the split, or <code>null</code>.
+     * @param  split the result of the split.
+     * @return <code>split</code>.
+     */
+    private static GroupSplit finish(final SplitEvent event,
+                                     final GroupSplit split) {
+        if (event != null) {
+            event.finish(split.trivialGroups.length,
+                         split.semitrivialGroups.length,
+                         split.nontrivialGroups.length);
+        }
+        
+        return split;
+    }
+    
+    /**
+     * Splits the input graph just like {@link #split(long[])}, recording the
+     * time spent in <code>statistics</code>.
+     * 
+     * @param  graph      the graph to split.
+     * @param  statistics the statistics, or <code>null</code>.
+     * @return the graph partition.
+     */
+    protected static GroupSplit split(final long[] graph,
+                                      final SearchStatistics statistics) {
+        if (statistics == null) {
+            return split(graph);
+        }
+        
+        final long startTime = System.nanoTime();
+        
+        try {
+            return split(graph);
+        } finally {
+            statistics.recordSplit(System.nanoTime() - startTime);
+        }
+    }
+    
+    /**
+     * Splits the input graph just like {@link #split(long[])}, and also 
+     * records the index of each node in the input graph.
+     * 
+     * @param  graph the graph to split.
+     * @return the graph partition with node indices.
+     */
+    protected static GroupSplit splitWithIndices(final long[] graph) {
+        return splitWithIndices(graph, null);
+    }
+    
+    /**
+     * Splits the input graph just like {@link #splitWithIndices(long[])}, 
+     * recording the time spent on splitting in <code>statistics</code>.
+     * 
+     * @param  graph      the graph to split.
+     * @param  statistics the statistics, or <code>null</code>.
+     * @return the graph partition with node indices.
+     */
+    protected static GroupSplit 
+        splitWithIndices(final long[] graph, 
+                         final SearchStatistics statistics) {
+        final GroupSplit gs = split(graph, statistics);
+        final IndexQueues queues = new IndexQueues(graph);
+        
+        return new GroupSplit(gs.trivialGroups,
+                              gs.semitrivialGroups,
+                              gs.nontrivialGroups,
+                              queues.poll(gs.trivialGroups),
+                              queues.poll(gs.semitrivialGroups),
+                              queues.poll(gs.nontrivialGroups));
+    }
+    
+    /**
+     * Simplifies the input graph, returning the solution as indices into 
+     * <code>graph</code>. The trivial and semi-trivial groups are indexed 
+     * while splitting the graph, and the non-trivial nodes are ordered by
+     * {@link #orderNontrivialNodes(long[])}.
+     * 
+     * @param  graph the graph to simplify.
+     * @return the solution as node indices.
+     * @throws CancellationException if the calling thread is interrupted.
+     */
+    public GroupingResult group(final long[] graph) {
+        Utilities.checkIsGroup(graph);
+        
+        final GroupSplit gs = splitWithIndices(graph, getStatistics());
+        final int[] order = new int[graph.length];
+        int index = 0;
+        
+        if (gs.nontrivialGroups.length > 0) {
+            for (final int i : orderNontrivialNodes(gs.nontrivialGroups)) {
+                order[index++] = gs.nontrivialIndices[i];
+            }
+        }
+        
+        System.arraycopy(gs.trivialIndices, 
+                         0, 
+                         order, 
+                         index, 
+                         gs.trivialIndices.length);
+        index += gs.trivialIndices.length;
+        
+        System.arraycopy(gs.semitrivialIndices, 
+                         0, 
+                         order, 
+                         index, 
+                         gs.semitrivialIndices.length);
+        
+        return toGroupingResult(graph, order);
+    }
+    
+    /**
+     * Orders the non-trivial nodes of a graph into groups, returning the 
+     * indices of the nodes in <code>nodes</code>. This implementation 
+     * simplifies the nodes and matches the equities of the solution back to 
+     * the nodes in linear time; simplifiers that know the indices of the 
+     * nodes they order override it.
+     * 
+     * @param  nodes the non-trivial nodes. Must be a group.
+     * @return the indices of the nodes, group by group.
+     */
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        return matchValues(nodes, simplify(nodes));
+    }
+    
+    /**
+     * Matches each equity of <code>solution</code> to a distinct node of 
+     * <code>nodes</code> with that equity. Equal equities are matched in 
+     * ascending index order.
+     * 
+     * @param  nodes    the nodes.
+     * @param  solution a permutation of <code>nodes</code>.
+     * @return the index in <code>nodes</code> of each solution node.
+     */
+    protected static int[] matchValues(final long[] nodes, 
+                                       final long[] solution) {
+        if (nodes.length != solution.length) {
+            throw new IllegalStateException(
+                    "The solution is not a permutation of the input.");
+        }
+        
+        return new IndexQueues(nodes).poll(solution);
+    }
+    
+    /**
+     * Lays out the indices of the nodes group by group.
+     * 
+     * @param  groups the group masks.
+     * @param  length the amount of nodes.
+     * @return the array of node indices ordered by groups.
+     */
+    protected static int[] flattenIndices(final long[] groups, 
+                                          final int length) {
+        final int[] result = new int[length];
+        int index = 0;
+        
+        for (final long group : groups) {
+            for (long rest = group; rest != 0L; rest &= rest - 1L) {
+                result[index++] = Long.numberOfTrailingZeros(rest);
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Returns the equities of <code>nodes</code> in the order given by 
+     * <code>order</code>.
+     * 
+     * @param  nodes the nodes.
+     * @param  order the node indices.
+     * @return the ordered equities.
+     */
+    protected static long[] select(final long[] nodes, final int[] order) {
+        final long[] result = new long[order.length];
+        
+        for (int i = 0; i < order.length; ++i) {
+            result[i] = nodes[order[i]];
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Creates a grouping result from node indices, closing a group whenever 
+     * the equities since the end of the previous group sum up to zero.
+     * 
+     * @param  graph the graph.
+     * @param  order the node indices.
+     * @return the grouping result.
+     */
+    protected static GroupingResult toGroupingResult(final long[] graph, 
+                                                     final int[] order) {
+        final int[] boundaries = new int[order.length + 1];
+        int groupCount = 0;
+        long sum = 0L;
+        
+        for (int i = 0; i < order.length; ++i) {
+            sum += graph[order[i]];
+            
+            if (sum == 0L) {
+                boundaries[++groupCount] = i + 1;
+            }
+        }
+        
+        return new GroupingResult(order, 
+                                  Arrays.copyOf(boundaries, groupCount + 1));
+    }
+    
+    /**
+     * Holds the indices of the nodes of each equity in ascending order and 
+     * hands them out one by one.
+     */
+    private static final class IndexQueues {
+        
+        /**
+         * <code>next[i]</code> is the next index after <tt>i</tt> with the 
+         * same equity, or -1 if none.
+         */
+        private final int[] next;
+        
+        /**
+         * Maps an equity to its first index not handed out yet, plus one.
+         */
+        private final LongIntHashMap heads;
+        
+        IndexQueues(final long[] nodes) {
+            this.next = new int[nodes.length];
+            this.heads = new LongIntHashMap(nodes.length);
+            
+            for (int i = nodes.length - 1; i >= 0; --i) {
+                next[i] = heads.get(nodes[i]) - 1;
+                heads.put(nodes[i], i + 1);
+            }
+        }
+        
+        /**
+         * Hands out an index for each node of <code>nodes</code>.
+         * 
+         * @param  nodes the nodes to index.
+         * @return the indices.
+         */
+        int[] poll(final long[] nodes) {
+            final int[] indices = new int[nodes.length];
+            
+            for (int i = 0; i < nodes.length; ++i) {
+                final int index = heads.get(nodes[i]) - 1;
+                
+                if (index < 0) {
+                    throw new IllegalStateException(
+                            "The solution is not a permutation of the " +
+                            "input.");
+                }
+                
+                heads.put(nodes[i], next[index] + 1);
+                indices[i] = index;
+            }
+            
+            return indices;
+        }
+    }
+    
+    /**
+     * Creates and returns an array resulting from concatenating 
+     * <code>array1</code> and <code>array2</code>.
+     * 
+     * @param  array1 the first array.
+     * @param  array2 the second array to append to the first one.
+     * @return the concatenation of the two input arrays.
+     */
+    protected static long[] append(final long[] array1, final long[] array2) {
+        final long[] ret = new long[array1.length + array2.length];
+        System.arraycopy(array1, 0, ret, 0, array1.length);
+        System.arraycopy(array2, 0, ret, array1.length, array2.length);
+        return ret;
+    }
+    
+    /**
+     * Returns a new array holding the elements of <code>array</code> divided
+     * by <code>divisor</code>.
+     * 
+     * @param  array   the array to divide.
+     * @param  divisor the divisor. Must divide each element.
+     * @return the divided array.
+     */
+    protected static long[] divide(final long[] array, final long divisor) {
+        final long[] ret = new long[array.length];
+        
+        for (int i = 0; i < array.length; ++i) {
+            ret[i] = array[i] / divisor;
+        }
+        
+        return ret;
+    }
+    
+    /**
+     * Multiplies the elements of <code>array</code> by <code>factor</code> in
+     * place.
+     * 
+     * @param  array  the array to multiply.
+     * @param  factor the factor.
+     * @return <code>array</code>.
+     */
+    protected static long[] multiply(final long[] array, final long factor) {
+        for (int i = 0; i < array.length; ++i) {
+            array[i] *= factor;
+        }
+        
+        return array;
+    }
+    
+    /**
+     * Sums those elements in <code>array</code> whose index is mentioned in
+     * <code>indices</code>.
+     * 
+     * @param  array   the array of elements.
+     * @param  indices the indices of elements to select.
+     * @return the sum of selected elements.
+     */
+    protected static long sum(final long[] array, final int[] indices) {
+        long sum = 0L;
+        
+        for (final int i : indices) {
+            sum += array[i];
+        }
+        
+        return sum;
+    }
+    
+    /**
+     * Sums those elements in <code>array</code> whose index is set in 
+     * <code>set</code>.
+     * 
+     * @param  array the array of elements.
+     * @param  set   the bit mask of elements to select.
+     * @return the sum of selected elements.
+     */
+    protected static long sum(final long[] array, final long set) {
+        long sum = 0L;
+        
+        for (long rest = set; rest != 0L; rest &= rest - 1L) {
+            sum += array[Long.numberOfTrailingZeros(rest)];
+        }
+        
+        return sum;
+    }
+    
+    /**
+     * Computes the sums of all subsets of <code>nodes[from..to - 1]</code>.
+     * The bit <tt>i</tt> of a subset index denotes the node
+     * <code>nodes[from + i]</code>.
+     * 
+     * @param  nodes the node array.
+     * @param  from  the index of the first node.
+     * @param  to    the index one past the last node.
+     * @return the array of subset sums.
+     * @throws CancellationException if the current thread is interrupted.
+     */
+    protected static long[] subsetSums(final long[] nodes,
+                                       final int from,
+                                       final int to) {
+        final long[] sums = new long[1 << (to - from)];
+        
+        for (int set = 1; set < sums.length; ++set) {
+            if ((set & SUBSET_SUM_INTERRUPT_CHECK_MASK) == 0) {
+                checkInterrupted();
+            }
+            
+            final int bit = Integer.numberOfTrailingZeros(set);
+            sums[set] = sums[set & (set - 1)] + nodes[from + bit];
+        }
+        
+        return sums;
+    }
+}
@@ -65,6 +65,10 @@ public class Utilities {
      * @return <code>true</code> if <code>array</code> is a group.
      */
     public static final boolean isGroup(final long[] array) {
+        if (ParallelPreprocessor.isWorthwhile(array.length)) {
+            return ParallelPreprocessor.isGroup(array);
+        }
+        
         long sum = 0L;
         
         for (final long l : array) {
@@ -97,6 +101,10 @@ public class Utilities {
      * @return the amount of substrings summing to zero.
      */
     public static int countGroups(final long[] array) {
+        if (ParallelPreprocessor.isWorthwhile(array.length)) {
+            return ParallelPreprocessor.countGroups(array);
+        }
+        
         if (!isGroup(array)) {
             throw new IllegalArgumentException(
                     "The input graph is not a group.");
@@ -121,6 +129,47 @@ public class Utilities {
         return count;
     }
     
+    /**
+     * Returns the nodes of <code>graph</code> left for the search once the 
+     * trivial groups (zero nodes) and the semi-trivial groups (pairs of 
+     * opposite nodes) are split off, just like the simplifiers do before 
+     * searching. Large graphs are split in parallel.
+     * 
+     * @param  graph the graph to split.
+     * @return the nodes of the non-trivial groups.
+     */
+    public static long[] nontrivialNodes(final long[] graph) {
+        return Simplifier.split(graph).nontrivialGroups;
+    }
+    
+    /**
+     * Returns the greatest common divisor of the elements of 
+     * <code>array</code>, which is always non-negative. If all the elements 
+     * are zero, or the array is empty, returns zero.
+     * 
+     * @param  array the array to process.
+     * @return the greatest common divisor.
+     */
+    public static long gcd(final long[] array) {
+        long gcd = 0L;
+        
+        for (final long node : array) {
+            long a = node;
+            
+            while (a != 0L) {
+                final long tmp = gcd % a;
+                gcd = a;
+                a = tmp;
+            }
+            
+            if (gcd == 1L || gcd == -1L) {
+                return 1L;
+            }
+        }
+        
+        return Math.abs(gcd);
+    }
+    
     /**
      * Prints a graph if it is not too large.
      * 
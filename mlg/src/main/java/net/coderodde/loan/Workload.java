@@ -0,0 +1,52 @@
+package net.coderodde.loan;
+
+/**
+ * Holds a generated graph along with the amount of groups planted in it. The
+ * planted groups are a solution of the graph, so the optimal solution has at
+ * least as many groups.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class Workload {
+
+    /**
+     * The generated graph.
+     */
+    private final long[] graph;
+
+    /**
+     * The amount of groups planted in <code>graph</code>.
+     */
+    private final int plantedGroupCount;
+
+    /**
+     * Constructs a new workload.
+     *
+     * @param graph             the generated graph.
+     * @param plantedGroupCount the amount of groups planted in the graph.
+     */
+    public Workload(final long[] graph, final int plantedGroupCount) {
+        this.graph = graph;
+        this.plantedGroupCount = plantedGroupCount;
+    }
+
+    /**
+     * Returns the generated graph.
+     *
+     * @return the generated graph.
+     */
+    public long[] getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the amount of groups planted in the graph, which is a lower
+     * bound for the amount of groups in the optimal solution.
+     *
+     * @return the amount of planted groups.
+     */
+    public int getPlantedGroupCount() {
+        return plantedGroupCount;
+    }
+}
@@ -0,0 +1,284 @@
+package net.coderodde.loan;
+
+import java.util.Random;
+
+/**
+ * This class generates graphs with a known group structure in linear time.
+ * Unlike {@link Utilities#createEquityArray(int, Random, long, float)}, which
+ * draws a quadratic amount of random arcs, the generator builds the graph out
+ * of the following groups and shuffles it:
+ * <ul>
+ *   <li>proper groups of the requested sizes, each consisting of positive
+ *       nodes and a single negative node, or the other way around, so that
+ *       no proper subset of the group sums up to zero;</li>
+ *   <li>verbatim copies of randomly chosen proper groups;</li>
+ *   <li>semi-trivial groups <tt>{x, -x}</tt>;</li>
+ *   <li>zero nodes, each being a trivial group;</li>
+ *   <li>a single noise group of random nodes summing up to zero.</li>
+ * </ul>
+ * The planted groups are a solution of the graph, so their amount is a lower
+ * bound for the optimal amount of groups. With a large maximum weight the
+ * nodes of different groups rarely form extra groups by accident, and the
+ * bound is usually the optimum, which allows measuring how far a heuristic
+ * such as {@link net.coderodde.loan.support.GreedyCombinatorialSimplifier}
+ * falls behind.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class WorkloadGenerator {
+
+    /**
+     * The random number generator.
+     */
+    private final Random random;
+
+    /**
+     * The maximum absolute value of a generated node, save for the nodes
+     * balancing a group.
+     */
+    private final long maxWeight;
+
+    /**
+     * Constructs a generator of nodes of absolute value at most
+     * <code>maxWeight</code>. The node balancing a group of <tt>k</tt> nodes
+     * may be up to <tt>(k - 1) * maxWeight</tt> in absolute value.
+     *
+     * @param random    the random number generator.
+     * @param maxWeight the maximum weight of a node.
+     */
+    public WorkloadGenerator(final Random random, final long maxWeight) {
+        if (random == null) {
+            throw new IllegalArgumentException("'random' is null.");
+        }
+
+        if (maxWeight < 1L) {
+            throw new IllegalArgumentException("'maxWeight' < 1.");
+        }
+
+        this.random = random;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Generates a shuffled graph out of the given groups.
+     *
+     * @param  groupSizes           the size of each proper group. Each size
+     *                              must be at least 2, and at most such that
+     *                              the balancing node fits in a 
+     *                              <code>long</code>.
+     * @param  duplicateGroupCount  the amount of copies of proper groups.
+     * @param  semitrivialPairCount the amount of semi-trivial groups.
+     * @param  zeroCount            the amount of zero nodes.
+     * @param  noiseNodeCount       the amount of nodes in the noise group.
+     *                              Must be 0 or at least 2, and at most such
+     *                              that the balancing node fits in a 
+     *                              <code>long</code>.
+     * @return the graph along with the amount of planted groups.
+     */
+    public Workload generate(final int[] groupSizes,
+                             final int duplicateGroupCount,
+                             final int semitrivialPairCount,
+                             final int zeroCount,
+                             final int noiseNodeCount) {
+        if (groupSizes == null) {
+            throw new IllegalArgumentException("'groupSizes' is null.");
+        }
+
+        checkCount(duplicateGroupCount, "duplicateGroupCount");
+        checkCount(semitrivialPairCount, "semitrivialPairCount");
+        checkCount(zeroCount, "zeroCount");
+        checkCount(noiseNodeCount, "noiseNodeCount");
+
+        if (noiseNodeCount == 1) {
+            throw new IllegalArgumentException(
+                    "A noise group of a single node would be a zero.");
+        }
+
+        if (mayOverflow(noiseNodeCount)) {
+            throw new IllegalArgumentException(
+                    "The noise group of " + noiseNodeCount + " nodes may " +
+                    "overflow with 'maxWeight' " + maxWeight + ".");
+        }
+
+        if (duplicateGroupCount > 0 && groupSizes.length == 0) {
+            throw new IllegalArgumentException(
+                    "No proper groups to duplicate.");
+        }
+
+        // groupStarts[g] is the index of the first node of the group 'g'.
+        final int[] groupStarts = new int[groupSizes.length + 1];
+        long length = 0L;
+
+        for (int g = 0; g < groupSizes.length; ++g) {
+            if (groupSizes[g] < 2) {
+                throw new IllegalArgumentException(
+                        "The size of the group " + g + " is " +
+                        groupSizes[g] + ", must be at least 2.");
+            }
+
+            if (mayOverflow(groupSizes[g])) {
+                throw new IllegalArgumentException(
+                        "The group " + g + " of " + groupSizes[g] + 
+                        " nodes may overflow with 'maxWeight' " + 
+                        maxWeight + ".");
+            }
+
+            groupStarts[g] = (int) Math.min(length, Integer.MAX_VALUE);
+            length += groupSizes[g];
+        }
+
+        final int[] duplicates = new int[duplicateGroupCount];
+
+        for (int i = 0; i < duplicateGroupCount; ++i) {
+            duplicates[i] = random.nextInt(groupSizes.length);
+            length += groupSizes[duplicates[i]];
+        }
+
+        length += 2L * semitrivialPairCount + zeroCount + noiseNodeCount;
+
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The graph would have " + length + " nodes.");
+        }
+
+        final long[] graph = new long[(int) length];
+        int index = 0;
+
+        for (final int groupSize : groupSizes) {
+            index = plantProperGroup(graph, index, groupSize);
+        }
+
+        for (final int g : duplicates) {
+            System.arraycopy(graph,
+                             groupStarts[g],
+                             graph,
+                             index,
+                             groupSizes[g]);
+            index += groupSizes[g];
+        }
+
+        for (int i = 0; i < semitrivialPairCount; ++i) {
+            graph[index] = nextWeight();
+            graph[index + 1] = -graph[index];
+            index += 2;
+        }
+
+        // The zero nodes are already there.
+        index += zeroCount;
+
+        if (noiseNodeCount > 0) {
+            long sum = 0L;
+
+            for (int i = 1; i < noiseNodeCount; ++i) {
+                graph[index] = random.nextBoolean() ? nextWeight() :
+                                                      -nextWeight();
+                sum += graph[index++];
+            }
+
+            // The noise may contain smaller groups by accident, which only
+            // raises the optimum above the planted amount of groups.
+            graph[index++] = -sum;
+        }
+
+        shuffle(graph);
+        return new Workload(graph,
+                            groupSizes.length +
+                            duplicateGroupCount +
+                            semitrivialPairCount +
+                            zeroCount +
+                            (noiseNodeCount > 0 ? 1 : 0));
+    }
+
+    /**
+     * Generates a shuffled graph of <code>groupCount</code> proper groups of
+     * <code>groupSize</code> nodes each.
+     *
+     * @param  groupCount the amount of groups.
+     * @param  groupSize  the size of each group.
+     * @return the graph along with the amount of planted groups.
+     */
+    public Workload generate(final int groupCount, final int groupSize) {
+        checkCount(groupCount, "groupCount");
+
+        final int[] groupSizes = new int[groupCount];
+
+        for (int g = 0; g < groupCount; ++g) {
+            groupSizes[g] = groupSize;
+        }
+
+        return generate(groupSizes, 0, 0, 0, 0);
+    }
+
+    /**
+     * Writes a proper group of <code>size</code> nodes starting at
+     * <code>index</code>. All the nodes but one have the same sign, so that
+     * only the whole group sums up to zero.
+     *
+     * @param  graph the graph to write to.
+     * @param  index the index of the first node of the group.
+     * @param  size  the size of the group.
+     * @return the index one past the last node of the group.
+     */
+    private int plantProperGroup(final long[] graph,
+                                 int index,
+                                 final int size) {
+        final long sign = random.nextBoolean() ? 1L : -1L;
+        long sum = 0L;
+
+        for (int i = 1; i < size; ++i) {
+            graph[index] = sign * nextWeight();
+            sum += graph[index++];
+        }
+
+        graph[index++] = -sum;
+        return index;
+    }
+
+    /**
+     * Returns a random weight within <code>[1, maxWeight]</code>.
+     *
+     * @return a random weight.
+     */
+    private long nextWeight() {
+        return 1L + (long)(random.nextDouble() * maxWeight) % maxWeight;
+    }
+
+    /**
+     * Shuffles <code>array</code> in place.
+     *
+     * @param array the array to shuffle.
+     */
+    private void shuffle(final long[] array) {
+        for (int i = array.length - 1; i > 0; --i) {
+            final int j = random.nextInt(i + 1);
+            final long tmp = array[i];
+            array[i] = array[j];
+            array[j] = tmp;
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the node balancing a group of 
+     * <code>size</code> nodes, which may be up to 
+     * <tt>(size - 1) * maxWeight</tt> in absolute value, may overflow.
+     *
+     * @param  size the size of the group.
+     * @return <code>true</code> if the balancing node may overflow.
+     */
+    private boolean mayOverflow(final int size) {
+        return size > 1 && size - 1 > Long.MAX_VALUE / maxWeight;
+    }
+
+    /**
+     * Checks that <code>count</code> is not negative.
+     *
+     * @param count the count to check.
+     * @param name  the name of the count.
+     */
+    private static void checkCount(final int count, final String name) {
+        if (count < 0) {
+            throw new IllegalArgumentException("'" + name + "' < 0.");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.coderodde.loan.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This event records building a solution out of a matching partition pair.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@Name("net.coderodde.loan.BuildSolution")
+@Label("Build Solution")
+@Category(FlightEvents.CATEGORY)
+@Description("Building a solution out of a matching partition pair")
+public final class BuildSolutionEvent extends Event {
+    
+    /**
+     * The type of this event.
+     */
+    private static final EventType TYPE = 
+            EventType.getEventType(BuildSolutionEvent.class);
+    
+    @Label("Nodes")
+    private int nodes;
+    
+    @Label("Groups")
+    private int groups;
+    
+    /**
+     * Begins an event for building a solution of <code>groups</code> groups 
+     * out of <code>nodes</code> nodes.
+     * 
+     * @param  nodes  the amount of nodes.
+     * @param  groups the amount of groups.
+     * @return the event, or <code>null</code> if not recording.
+     */
+    public static BuildSolutionEvent start(final int nodes, final int groups) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        
+        final BuildSolutionEvent event = new BuildSolutionEvent();
+        event.nodes = nodes;
+        event.groups = groups;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends and commits this event.
+     */
+    public void finish() {
+        commit();
+    }
+}
@@ -0,0 +1,53 @@
+package net.coderodde.loan.jfr;
+
+/**
+ * This class tells whether the Java Flight Recorder API is present in the
+ * running JVM. The event classes of this package may be touched only if 
+ * {@link #AVAILABLE} is set, so that the simplifiers keep working on JVMs 
+ * without the <tt>jdk.jfr</tt> module.
+ * <p>
+ * Each event class provides a static <code>start</code> method returning 
+ * <code>null</code> unless the event is being recorded, so a simplification
+ * allocates no events while the recorder is off. A typical call site reads:
+ * <pre>
+ * final SplitEvent event = 
+ *         FlightEvents.AVAILABLE ? SplitEvent.start(graph.length) : null;
+ * // ...
+ * if (event != null) {
+ *     event.finish(...);
+ * }
+ * </pre>
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class FlightEvents {
+    
+    /**
+     * The category of all the events.
+     */
+    static final String CATEGORY = "Loan Graph Simplification";
+    
+    /**
+     * Set if the Java Flight Recorder API is present.
+     */
+    public static final boolean AVAILABLE = isAvailable();
+    
+    private FlightEvents() {}
+    
+    /**
+     * Checks whether the Java Flight Recorder API can be loaded.
+     * 
+     * @return <code>true</code> if the API is present.
+     */
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", 
+                          false, 
+                          FlightEvents.class.getClassLoader());
+            return true;
+        } catch (final ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+}
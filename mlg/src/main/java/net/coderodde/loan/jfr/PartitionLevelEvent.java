@@ -0,0 +1,121 @@
+package net.coderodde.loan.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This event records the search through the partitions of the smaller node 
+ * array with a given amount of blocks, paired with the partitions of the 
+ * larger array with the same amount of blocks.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@Name("net.coderodde.loan.PartitionLevel")
+@Label("Partition Level")
+@Category(FlightEvents.CATEGORY)
+@Description("Searching the partition pairs with a given amount of blocks")
+public final class PartitionLevelEvent extends Event {
+    
+    /**
+     * The type of this event.
+     */
+    private static final EventType TYPE = 
+            EventType.getEventType(PartitionLevelEvent.class);
+    
+    @Label("Small Array Nodes")
+    private int smallNodes;
+    
+    @Label("Large Array Nodes")
+    private int largeNodes;
+    
+    @Label("Blocks")
+    private int blocks;
+    
+    @Label("Reversed")
+    @Description("Whether the levels are searched from the most blocks down")
+    private boolean reversed;
+    
+    @Label("Partition Pairs")
+    private long partitionPairs;
+    
+    @Label("Matches")
+    @Description("The amount of partition pairs forming groups")
+    private long matches;
+    
+    /**
+     * The amount of partition pairs searched before this level.
+     */
+    private transient long partitionPairsBefore;
+    
+    /**
+     * The amount of matches found before this level.
+     */
+    private transient long matchesBefore;
+    
+    /**
+     * Returns <code>true</code> if this event is being recorded. The result
+     * may be cached for the duration of a search.
+     * 
+     * @return <code>true</code> if recording.
+     */
+    public static boolean isRecording() {
+        return TYPE.isEnabled();
+    }
+    
+    /**
+     * Begins an event for a level. The partition pairs and matches are 
+     * counted by the caller, and this event records their growth until 
+     * {@link #finish(long, long)}.
+     * 
+     * @param  smallNodes     the amount of nodes in the smaller array.
+     * @param  largeNodes     the amount of nodes in the larger array.
+     * @param  blocks         the amount of blocks.
+     * @param  reversed       whether the levels are searched from the most 
+     *                        blocks down.
+     * @param  partitionPairs the amount of partition pairs searched so far.
+     * @param  matches        the amount of matches found so far.
+     * @return the event.
+     */
+    public static PartitionLevelEvent start(final int smallNodes,
+                                            final int largeNodes,
+                                            final int blocks,
+                                            final boolean reversed,
+                                            final long partitionPairs,
+                                            final long matches) {
+        final PartitionLevelEvent event = new PartitionLevelEvent();
+        event.smallNodes = smallNodes;
+        event.largeNodes = largeNodes;
+        event.blocks = blocks;
+        event.reversed = reversed;
+        event.partitionPairsBefore = partitionPairs;
+        event.matchesBefore = matches;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Returns the amount of blocks of this level.
+     * 
+     * @return the amount of blocks.
+     */
+    public int getBlocks() {
+        return blocks;
+    }
+    
+    /**
+     * Ends and commits this event.
+     * 
+     * @param partitionPairs the amount of partition pairs searched so far.
+     * @param matches        the amount of matches found so far.
+     */
+    public void finish(final long partitionPairs, final long matches) {
+        this.partitionPairs = partitionPairs - partitionPairsBefore;
+        this.matches = matches - matchesBefore;
+        commit();
+    }
+}
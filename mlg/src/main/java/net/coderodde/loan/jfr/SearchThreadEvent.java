@@ -0,0 +1,79 @@
+package net.coderodde.loan.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This event records the lifetime of a thread searching partitions.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@Name("net.coderodde.loan.SearchThread")
+@Label("Search Thread")
+@Category(FlightEvents.CATEGORY)
+@Description("The lifetime of a thread searching partitions")
+public final class SearchThreadEvent extends Event {
+    
+    /**
+     * The type of this event.
+     */
+    private static final EventType TYPE = 
+            EventType.getEventType(SearchThreadEvent.class);
+    
+    @Label("Search")
+    @Description("The kind of search the thread runs")
+    private String search;
+    
+    @Label("Small Array Nodes")
+    private int smallNodes;
+    
+    @Label("Large Array Nodes")
+    private int largeNodes;
+    
+    @Label("Partition Pairs")
+    private long partitionPairs;
+    
+    @Label("Matches")
+    @Description("The amount of partition pairs forming groups")
+    private long matches;
+    
+    /**
+     * Begins an event for a search thread.
+     * 
+     * @param  search     the kind of search.
+     * @param  smallNodes the amount of nodes in the smaller array.
+     * @param  largeNodes the amount of nodes in the larger array.
+     * @return the event, or <code>null</code> if not recording.
+     */
+    public static SearchThreadEvent start(final String search,
+                                          final int smallNodes,
+                                          final int largeNodes) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        
+        final SearchThreadEvent event = new SearchThreadEvent();
+        event.search = search;
+        event.smallNodes = smallNodes;
+        event.largeNodes = largeNodes;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends and commits this event.
+     * 
+     * @param partitionPairs the amount of partition pairs searched.
+     * @param matches        the amount of matches found.
+     */
+    public void finish(final long partitionPairs, final long matches) {
+        this.partitionPairs = partitionPairs;
+        this.matches = matches;
+        commit();
+    }
+}
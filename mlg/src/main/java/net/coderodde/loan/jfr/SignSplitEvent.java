@@ -0,0 +1,65 @@
+package net.coderodde.loan.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This event records splitting nodes into positive and negative ones.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@Name("net.coderodde.loan.SignSplit")
+@Label("Sign Split")
+@Category(FlightEvents.CATEGORY)
+@Description("Splitting nodes into positive and negative ones")
+public final class SignSplitEvent extends Event {
+    
+    /**
+     * The type of this event.
+     */
+    private static final EventType TYPE = 
+            EventType.getEventType(SignSplitEvent.class);
+    
+    @Label("Nodes")
+    private int nodes;
+    
+    @Label("Positive Nodes")
+    private int positiveNodes;
+    
+    @Label("Negative Nodes")
+    private int negativeNodes;
+    
+    /**
+     * Begins an event for splitting <code>nodes</code> nodes.
+     * 
+     * @param  nodes the amount of nodes.
+     * @return the event, or <code>null</code> if not recording.
+     */
+    public static SignSplitEvent start(final int nodes) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        
+        final SignSplitEvent event = new SignSplitEvent();
+        event.nodes = nodes;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends and commits this event.
+     * 
+     * @param positiveNodes the amount of positive nodes.
+     * @param negativeNodes the amount of negative nodes.
+     */
+    public void finish(final int positiveNodes, final int negativeNodes) {
+        this.positiveNodes = positiveNodes;
+        this.negativeNodes = negativeNodes;
+        commit();
+    }
+}
@@ -0,0 +1,74 @@
+package net.coderodde.loan.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * This event records splitting a graph into trivial, semi-trivial and 
+ * non-trivial groups.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+@Name("net.coderodde.loan.Split")
+@Label("Split")
+@Category(FlightEvents.CATEGORY)
+@Description("Splitting a graph into trivial, semi-trivial and non-trivial " +
+             "groups")
+public final class SplitEvent extends Event {
+    
+    /**
+     * The type of this event.
+     */
+    private static final EventType TYPE = 
+            EventType.getEventType(SplitEvent.class);
+    
+    @Label("Nodes")
+    private int nodes;
+    
+    @Label("Trivial Nodes")
+    private int trivialNodes;
+    
+    @Label("Semi-trivial Nodes")
+    private int semitrivialNodes;
+    
+    @Label("Non-trivial Nodes")
+    private int nontrivialNodes;
+    
+    /**
+     * Begins an event for splitting a graph of <code>nodes</code> nodes.
+     * 
+     * @param  nodes the amount of nodes.
+     * @return the event, or <code>null</code> if not recording.
+     */
+    public static SplitEvent start(final int nodes) {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        
+        final SplitEvent event = new SplitEvent();
+        event.nodes = nodes;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends and commits this event.
+     * 
+     * @param trivialNodes     the amount of trivial nodes.
+     * @param semitrivialNodes the amount of semi-trivial nodes.
+     * @param nontrivialNodes  the amount of non-trivial nodes.
+     */
+    public void finish(final int trivialNodes,
+                       final int semitrivialNodes,
+                       final int nontrivialNodes) {
+        this.trivialNodes = trivialNodes;
+        this.semitrivialNodes = semitrivialNodes;
+        this.nontrivialNodes = nontrivialNodes;
+        commit();
+    }
+}
@@ -0,0 +1,298 @@
+package net.coderodde.loan.support;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.SearchStatistics;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier chooses the engine for each graph by itself. The graph is
+ * split into trivial, semi-trivial and non-trivial groups once, and the
+ * running time of the exact engines on the non-trivial nodes is estimated
+ * from the amount of positive and negative nodes and the amount of cores:
+ * <ul>
+ *   <li>If there are less than six non-trivial nodes, or only one of either
+ *       sign, they cannot form more than one group, and no search is run at
+ *       all. This covers the graphs that are all trivial and semi-trivial.
+ *   </li>
+ *   <li>{@link net.coderodde.loan.support.PartitionalSimplifierV4} matches
+ *       the partitions of the smaller side against the larger side, which
+ *       grows with <tt>s^l</tt>, where <tt>s</tt> and <tt>l</tt> are the
+ *       sizes of the smaller and the larger side. It wins when the signs are
+ *       skewed.</li>
+ *   <li>{@link net.coderodde.loan.support.CombinatorialSimplifierV3} tries
+ *       the bipartitions of the <tt>n</tt> non-trivial nodes, which grows
+ *       with <tt>2^n</tt>, split among the cores. It wins when the signs are
+ *       balanced.</li>
+ *   <li>If neither is expected to finish within the time limit,
+ *       {@link net.coderodde.loan.support.GreedyCombinatorialSimplifier} is
+ *       used, which may return a slightly suboptimal solution.</li>
+ * </ul>
+ * The coefficients of the estimates were fitted to the running times of the
+ * two exact engines on graphs without proper subgroups, which are the hardest
+ * inputs for both of them, and are within a factor of four of the measured
+ * times. The value spread of the nodes did not predict the running time on
+ * those graphs, so it is not a part of the estimate.
+ * <p>
+ * This simplifier is thread-safe: the engines keep no state between runs.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class AutoSimplifier extends Simplifier {
+
+    /**
+     * The engines this simplifier chooses from.
+     */
+    public enum Engine {
+
+        /**
+         * No search: the non-trivial nodes, if any, form a single group.
+         */
+        NONE,
+
+        /**
+         * {@link net.coderodde.loan.support.PartitionalSimplifierV4}.
+         */
+        PARTITIONAL,
+
+        /**
+         * {@link net.coderodde.loan.support.CombinatorialSimplifierV3}.
+         */
+        COMBINATORIAL,
+
+        /**
+         * {@link net.coderodde.loan.support.GreedyCombinatorialSimplifier}.
+         */
+        GREEDY
+    }
+
+    /**
+     * The default time limit of the exact engines in nanoseconds.
+     */
+    private static final long DEFAULT_EXACT_LIMIT_NANOS =
+            TimeUnit.SECONDS.toNanos(1L);
+
+    /**
+     * The minimum amount of non-trivial nodes that may form two groups. As
+     * the semi-trivial groups are removed, each proper group has at least
+     * three nodes.
+     */
+    private static final int MINIMUM_SEARCH_NODES = 6;
+
+    /**
+     * The base-2 logarithm of the running time in nanoseconds of the
+     * partitional engine is estimated as
+     * <code>PARTITIONAL_BASE + PARTITIONAL_PER_STEP * l * log2(s) +
+     * PARTITIONAL_PER_SMALLER_NODE * s</code>.
+     */
+    private static final double PARTITIONAL_BASE = 10.1;
+
+    /**
+     * See {@link #PARTITIONAL_BASE}.
+     */
+    private static final double PARTITIONAL_PER_STEP = 0.648;
+
+    /**
+     * See {@link #PARTITIONAL_BASE}.
+     */
+    private static final double PARTITIONAL_PER_SMALLER_NODE = 0.306;
+
+    /**
+     * The base-2 logarithm of the running time in nanoseconds of the
+     * combinatorial engine on a single core is estimated as
+     * <code>COMBINATORIAL_BASE + COMBINATORIAL_PER_NODE * n</code>.
+     */
+    private static final double COMBINATORIAL_BASE = 7.0;
+
+    /**
+     * See {@link #COMBINATORIAL_BASE}.
+     */
+    private static final double COMBINATORIAL_PER_NODE = 0.82;
+
+    /**
+     * The engine for skewed sign counts.
+     */
+    private final PartitionalSimplifierV4 partitionalSimplifier =
+            new PartitionalSimplifierV4();
+
+    /**
+     * The engine for balanced sign counts.
+     */
+    private final CombinatorialSimplifierV3 combinatorialSimplifier =
+            new CombinatorialSimplifierV3();
+
+    /**
+     * The engine for graphs too large for the exact engines.
+     */
+    private final GreedyCombinatorialSimplifier greedySimplifier =
+            new GreedyCombinatorialSimplifier();
+
+    /**
+     * The amount of cores available to the combinatorial engine.
+     */
+    private final int cores;
+
+    /**
+     * The base-2 logarithm of the time limit of the exact engines in
+     * nanoseconds.
+     */
+    private final double log2ExactLimit;
+
+    /**
+     * Constructs a simplifier allowing the exact engines one second on all
+     * available cores.
+     */
+    public AutoSimplifier() {
+        this(Runtime.getRuntime().availableProcessors(),
+             DEFAULT_EXACT_LIMIT_NANOS,
+             TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructs a simplifier that falls back to the greedy engine whenever
+     * the exact engines are estimated to run longer than
+     * <code>exactLimit</code> on <code>cores</code> cores.
+     *
+     * @param cores      the amount of cores to assume.
+     * @param exactLimit the time limit of the exact engines.
+     * @param unit       the time unit of <code>exactLimit</code>.
+     */
+    public AutoSimplifier(final int cores,
+                          final long exactLimit,
+                          final TimeUnit unit) {
+        if (cores < 1) {
+            throw new IllegalArgumentException("'cores' < 1.");
+        }
+
+        if (exactLimit < 1L) {
+            throw new IllegalArgumentException("'exactLimit' < 1.");
+        }
+
+        if (unit == null) {
+            throw new IllegalArgumentException("'unit' is null.");
+        }
+
+        this.cores = cores;
+        this.log2ExactLimit = log2(unit.toNanos(exactLimit));
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        // If the graph consists of only trivial groups, return.
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        long[] result;
+
+        switch (selectEngine(gs.nontrivialGroups)) {
+            case PARTITIONAL:
+                result = partitionalSimplifier.simplify(gs.nontrivialGroups);
+                break;
+
+            case COMBINATORIAL:
+                result =
+                        combinatorialSimplifier.simplify(gs.nontrivialGroups);
+                break;
+
+            case GREEDY:
+                result = greedySimplifier.simplify(gs.nontrivialGroups);
+                break;
+
+            default:
+                result = gs.nontrivialGroups;
+                break;
+        }
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * Sets the statistics of this simplifier and of all its engines.
+     *
+     * @param statistics the statistics, or <code>null</code>.
+     */
+    @Override
+    public void setStatistics(final SearchStatistics statistics) {
+        super.setStatistics(statistics);
+        partitionalSimplifier.setStatistics(statistics);
+        combinatorialSimplifier.setStatistics(statistics);
+        greedySimplifier.setStatistics(statistics);
+    }
+
+    /**
+     * Returns the engine this simplifier runs on <code>graph</code>.
+     *
+     * @param  graph the graph to inspect. Must be a group.
+     * @return the engine of <code>graph</code>.
+     */
+    public Engine getEngine(final long[] graph) {
+        checkIsGroup(graph);
+        return selectEngine(split(graph).nontrivialGroups);
+    }
+
+    /**
+     * Chooses the engine with the lowest estimated running time on the
+     * non-trivial nodes.
+     *
+     * @param  nodes the non-trivial nodes.
+     * @return the engine to run.
+     */
+    private Engine selectEngine(final long[] nodes) {
+        int positiveCount = 0;
+
+        for (final long node : nodes) {
+            if (node > 0L) {
+                ++positiveCount;
+            }
+        }
+
+        final int smaller = Math.min(positiveCount,
+                                     nodes.length - positiveCount);
+        final int larger = nodes.length - smaller;
+
+        if (nodes.length < MINIMUM_SEARCH_NODES || smaller < 2) {
+            return Engine.NONE;
+        }
+
+        final double log2PartitionalCost =
+                PARTITIONAL_BASE +
+                PARTITIONAL_PER_STEP * larger * log2(smaller) +
+                PARTITIONAL_PER_SMALLER_NODE * smaller;
+
+        final double log2CombinatorialCost =
+                COMBINATORIAL_BASE +
+                COMBINATORIAL_PER_NODE * nodes.length -
+                log2(cores);
+
+        if (Math.min(log2PartitionalCost, log2CombinatorialCost) >
+                log2ExactLimit) {
+            return Engine.GREEDY;
+        }
+
+        return log2PartitionalCost < log2CombinatorialCost ?
+               Engine.PARTITIONAL :
+               Engine.COMBINATORIAL;
+    }
+
+    /**
+     * Returns the base-2 logarithm of <code>x</code>.
+     *
+     * @param  x the argument.
+     * @return the base-2 logarithm.
+     */
+    private static double log2(final double x) {
+        return Math.log(x) / Math.log(2.0);
+    }
+}
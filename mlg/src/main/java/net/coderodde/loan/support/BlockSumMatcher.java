@@ -0,0 +1,177 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+
+/**
+ * This class checks whether the blocks of a partition of positive nodes may
+ * be paired with the blocks of a partition of negative nodes so that each pair
+ * is a group. This is the case if and only if the multiset of positive block
+ * sums equals the multiset of absolute values of negative block sums.
+ * <p>
+ * Instead of sorting the two multisets, this matcher compares their
+ * fingerprints first: the fingerprint of a multiset is the sum of a mixing
+ * function over its elements, which differs for different multisets with
+ * overwhelming probability. Only if the fingerprints are equal, the multisets
+ * are sorted and compared to rule out false positives. As matches are rare,
+ * the typical cost of a check is linear in the amount of nodes. The matcher
+ * allocates nothing after construction.
+ * <p>
+ * If the block sums are already at hand, for example maintained by a
+ * {@link net.coderodde.loan.support.SpecialPartitionGenerator} given node
+ * weights, {@link #countGroups(long[], long[], int)} matches them without
+ * going through the nodes at all.
+ * <p>
+ * A matcher is not thread-safe; each thread should use its own.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class BlockSumMatcher {
+
+    /**
+     * <code>positiveSums[i]</code> holds the sum of positive nodes in the
+     * block <tt>i</tt>.
+     */
+    private final long[] positiveSums;
+
+    /**
+     * <code>negativeSums[i]</code> holds the absolute value of the sum of
+     * negative nodes in the block <tt>i</tt>.
+     */
+    private final long[] negativeSums;
+
+    /**
+     * Constructs a matcher for partitions of at most <code>capacity</code>
+     * blocks.
+     *
+     * @param capacity the maximum amount of blocks.
+     */
+    public BlockSumMatcher(final int capacity) {
+        this.positiveSums = new long[capacity];
+        this.negativeSums = new long[capacity];
+    }
+
+    /**
+     * Counts the amount of groups formed by the indices.
+     * <code>positiveIndices[i]</code> gives the block index for a node
+     * <code>positiveArray[i]</code>. Negative structures work in analogous way.
+     * If the blocks can be paired into groups, <code>k</code> is returned.
+     * Otherwise zero is returned.
+     *
+     * @param positiveArray   the array of positive nodes.
+     * @param negativeArray   the array of negative nodes.
+     * @param positiveIndices the array of positive indices.
+     * @param negativeIndices the array of negative indices.
+     * @param k               the amount of partition blocks.
+     * @return                the amount of groups in the data.
+     */
+    public int countGroups(final long[] positiveArray,
+                           final long[] negativeArray,
+                           final int[] positiveIndices,
+                           final int[] negativeIndices,
+                           final int k) {
+        for (int i = 0; i < k; ++i) {
+            positiveSums[i] = 0L;
+            negativeSums[i] = 0L;
+        }
+
+        for (int i = 0; i < positiveIndices.length; ++i) {
+            positiveSums[positiveIndices[i]] += positiveArray[i];
+        }
+
+        for (int i = 0; i < negativeIndices.length; ++i) {
+            negativeSums[negativeIndices[i]] -= negativeArray[i];
+        }
+
+        return match(k) ? k : 0;
+    }
+
+    /**
+     * Counts the amount of groups formed by two partitions with known block
+     * sums. <code>sums[i]</code> is the sum of nodes in the block <tt>i</tt>
+     * of the first partition, and <code>otherSums[i]</code> is the sum of
+     * nodes in the block <tt>i</tt> of the second partition, whose nodes have
+     * the opposite sign. If the blocks can be paired into groups,
+     * <code>k</code> is returned. Otherwise zero is returned.
+     *
+     * @param sums      the block sums of the first partition.
+     * @param otherSums the block sums of the second partition.
+     * @param k         the amount of partition blocks.
+     * @return          the amount of groups in the data.
+     */
+    public int countGroups(final long[] sums,
+                           final long[] otherSums,
+                           final int k) {
+        long fingerprint = 0L;
+        long otherFingerprint = 0L;
+
+        for (int i = 0; i < k; ++i) {
+            fingerprint += mix(sums[i]);
+            otherFingerprint += mix(-otherSums[i]);
+        }
+
+        if (fingerprint != otherFingerprint) {
+            return 0;
+        }
+
+        for (int i = 0; i < k; ++i) {
+            positiveSums[i] = sums[i];
+            negativeSums[i] = -otherSums[i];
+        }
+
+        return verify(k) ? k : 0;
+    }
+
+    /**
+     * Checks whether the first <code>k</code> positive sums and the first
+     * <code>k</code> negative sums are equal as multisets. Reorders the sums.
+     *
+     * @param  k the amount of blocks.
+     * @return <code>true</code> if the multisets are equal.
+     */
+    private boolean match(final int k) {
+        long positiveFingerprint = 0L;
+        long negativeFingerprint = 0L;
+
+        for (int i = 0; i < k; ++i) {
+            positiveFingerprint += mix(positiveSums[i]);
+            negativeFingerprint += mix(negativeSums[i]);
+        }
+
+        return positiveFingerprint == negativeFingerprint && verify(k);
+    }
+
+    /**
+     * Checks exactly whether the first <code>k</code> positive sums and the
+     * first <code>k</code> negative sums are equal as multisets. Reorders the
+     * sums.
+     *
+     * @param  k the amount of blocks.
+     * @return <code>true</code> if the multisets are equal.
+     */
+    private boolean verify(final int k) {
+        Arrays.sort(positiveSums, 0, k);
+        Arrays.sort(negativeSums, 0, k);
+
+        for (int i = 0; i < k; ++i) {
+            if (positiveSums[i] != negativeSums[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Scrambles the bits of <code>value</code>. This is the finalizer of the
+     * SplitMix64 generator, which is a bijection.
+     *
+     * @param  value the value to scramble.
+     * @return the scrambled value.
+     */
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,391 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.AnytimeSimplifier;
+import net.coderodde.loan.SimplificationResult;
+import net.coderodde.loan.Simplifier;
+import net.coderodde.loan.Utilities;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier builds the groups one by one in a depth-first manner. The
+ * first unused node always opens the next group, and the group is extended
+ * with later nodes until its sum is zero. A branch is pruned as soon as an
+ * upper bound on the amount of groups reachable from it does not exceed the
+ * best solution found so far. The initial best solution is the one found by
+ * {@link net.coderodde.loan.support.GreedyCombinatorialSimplifier}.
+ * <p>
+ * As the semi-trivial groups are removed before the search, each remaining
+ * group consists of at least one positive node, at least one negative node and
+ * at least three nodes in total. Hence, <tt>r</tt> remaining nodes of which
+ * <tt>p</tt> are positive and <tt>q</tt> are negative may form at most
+ * <tt>min(p, q, r / 3)</tt> groups.
+ * <p>
+ * If a time budget is given and it runs out, the best solution found so far is
+ * returned. The time spent on the initial solution counts towards the budget.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class BranchAndBoundSimplifier extends Simplifier
+implements AnytimeSimplifier {
+
+    /**
+     * The amount of search steps between two deadline checks.
+     */
+    private static final int STEPS_PER_DEADLINE_CHECK = 4096;
+
+    /**
+     * The time budget in milliseconds.
+     */
+    private final long timeBudgetMillis;
+
+    /**
+     * Constructs a simplifier without a time budget.
+     */
+    public BranchAndBoundSimplifier() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a simplifier that gives up the search after
+     * <code>timeBudgetMillis</code> milliseconds.
+     *
+     * @param timeBudgetMillis the time budget in milliseconds.
+     */
+    public BranchAndBoundSimplifier(final long timeBudgetMillis) {
+        if (timeBudgetMillis < 1L) {
+            throw new IllegalArgumentException("'timeBudgetMillis' < 1.");
+        }
+
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        return simplify(graph, timeBudgetMillis, TimeUnit.MILLISECONDS)
+               .getGraph();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SimplificationResult simplify(final long[] graph,
+                                         final long budget,
+                                         final TimeUnit unit) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return new SimplificationResult(graph.clone(), true);
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        if (gs.trivialGroups.length == graph.length) {
+            return new SimplificationResult(graph.clone(), true);
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return new SimplificationResult(
+                    append(gs.trivialGroups, gs.semitrivialGroups),
+                    true);
+        }
+
+        final long startTime = System.nanoTime();
+        final long[] incumbent = new GreedyCombinatorialSimplifier()
+                                 .simplify(gs.nontrivialGroups);
+
+        final Search search = new Search(gs.nontrivialGroups,
+                                         incumbent,
+                                         startTime,
+                                         unit.toNanos(budget));
+        search.run();
+
+        long[] result = search.bestSolution;
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return new SimplificationResult(result, !search.expired);
+    }
+
+    /**
+     * Holds the state of a single branch-and-bound search.
+     */
+    private static final class Search {
+
+        /**
+         * The nodes sorted by decreasing absolute value.
+         */
+        private final long[] nodes;
+
+        /**
+         * <code>positiveSuffixSums[i]</code> is the sum of positive nodes with
+         * index at least <tt>i</tt>.
+         */
+        private final long[] positiveSuffixSums;
+
+        /**
+         * <code>negativeSuffixSums[i]</code> is the sum of negative nodes with
+         * index at least <tt>i</tt>.
+         */
+        private final long[] negativeSuffixSums;
+
+        /**
+         * Marks the nodes belonging to the current path.
+         */
+        private final boolean[] used;
+
+        /**
+         * The nodes of the current path in the order of selection.
+         */
+        private final long[] path;
+
+        /**
+         * The best solution found so far.
+         */
+        private long[] bestSolution;
+
+        /**
+         * The amount of groups in the best solution.
+         */
+        private int bestGroups;
+
+        /**
+         * The amount of nodes in the current path.
+         */
+        private int pathLength;
+
+        /**
+         * The amount of unused positive nodes.
+         */
+        private int positiveLeft;
+
+        /**
+         * The amount of unused negative nodes.
+         */
+        private int negativeLeft;
+
+        /**
+         * The time budget in nanoseconds.
+         */
+        private final long timeBudgetNanos;
+
+        /**
+         * The time at which the computation of the initial solution started.
+         */
+        private final long startTime;
+
+        /**
+         * The amount of steps left until the next deadline check.
+         */
+        private int stepsUntilDeadlineCheck;
+
+        /**
+         * Set when the time budget runs out.
+         */
+        private boolean expired;
+
+        Search(final long[] nodes,
+               final long[] incumbent,
+               final long startTime,
+               final long timeBudgetNanos) {
+            this.nodes = sortByDecreasingAbsoluteValue(nodes);
+            this.positiveSuffixSums = new long[nodes.length + 1];
+            this.negativeSuffixSums = new long[nodes.length + 1];
+            this.used = new boolean[nodes.length];
+            this.path = new long[nodes.length];
+            this.bestSolution = incumbent;
+            this.bestGroups = Utilities.countGroups(incumbent);
+            this.timeBudgetNanos = timeBudgetNanos;
+            this.startTime = startTime;
+            this.stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+
+            for (int i = nodes.length - 1; i >= 0; --i) {
+                final long node = this.nodes[i];
+                positiveSuffixSums[i] = positiveSuffixSums[i + 1];
+                negativeSuffixSums[i] = negativeSuffixSums[i + 1];
+
+                if (node > 0L) {
+                    positiveSuffixSums[i] += node;
+                    ++positiveLeft;
+                } else {
+                    negativeSuffixSums[i] += node;
+                    ++negativeLeft;
+                }
+            }
+        }
+
+        /**
+         * Runs the search.
+         */
+        void run() {
+            // The initial solution may have used up the budget.
+            if (System.nanoTime() - startTime > timeBudgetNanos) {
+                expired = true;
+                return;
+            }
+
+            searchGroups(0);
+        }
+
+        /**
+         * Opens a new group with the first unused node.
+         *
+         * @param groups the amount of groups in the current path.
+         */
+        private void searchGroups(final int groups) {
+            if (pathLength == nodes.length) {
+                if (bestGroups < groups) {
+                    bestGroups = groups;
+                    bestSolution = path.clone();
+                }
+
+                return;
+            }
+
+            if (groups + upperBound() <= bestGroups) {
+                return;
+            }
+
+            int first = 0;
+
+            while (used[first]) {
+                ++first;
+            }
+
+            push(first);
+            extendGroup(groups, first + 1, nodes[first]);
+            pop(first);
+        }
+
+        /**
+         * Extends the current group with nodes whose index is at least
+         * <code>start</code>.
+         *
+         * @param groups the amount of closed groups in the current path.
+         * @param start  the index of the first candidate node.
+         * @param sum    the sum of the current group.
+         */
+        private void extendGroup(final int groups,
+                                 final int start,
+                                 final long sum) {
+            if (expired || groups + 1 + upperBound() <= bestGroups) {
+                return;
+            }
+
+            if (--stepsUntilDeadlineCheck == 0) {
+                stepsUntilDeadlineCheck = STEPS_PER_DEADLINE_CHECK;
+                checkInterrupted();
+
+                if (System.nanoTime() - startTime > timeBudgetNanos) {
+                    expired = true;
+                    return;
+                }
+            }
+
+            for (int i = start; i < nodes.length; ++i) {
+                if (used[i]) {
+                    continue;
+                }
+
+                // The remaining nodes cannot bring the sum to zero.
+                if (sum > 0L ? sum + negativeSuffixSums[i] > 0L
+                             : sum + positiveSuffixSums[i] < 0L) {
+                    return;
+                }
+
+                // Equal nodes are interchangeable.
+                if (i > start && nodes[i] == nodes[i - 1] && !used[i - 1]) {
+                    continue;
+                }
+
+                final long nextSum = sum + nodes[i];
+
+                push(i);
+
+                if (nextSum == 0L) {
+                    searchGroups(groups + 1);
+                } else {
+                    extendGroup(groups, i + 1, nextSum);
+                }
+
+                pop(i);
+
+                if (expired) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns an upper bound on the amount of groups formed by the unused
+         * nodes.
+         *
+         * @return an upper bound on the amount of groups.
+         */
+        private int upperBound() {
+            return Math.min(Math.min(positiveLeft, negativeLeft),
+                            (nodes.length - pathLength) / 3);
+        }
+
+        private void push(final int index) {
+            used[index] = true;
+            path[pathLength++] = nodes[index];
+
+            if (nodes[index] > 0L) {
+                --positiveLeft;
+            } else {
+                --negativeLeft;
+            }
+        }
+
+        private void pop(final int index) {
+            used[index] = false;
+            --pathLength;
+
+            if (nodes[index] > 0L) {
+                ++positiveLeft;
+            } else {
+                ++negativeLeft;
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of <code>nodes</code> sorted by decreasing absolute value.
+     * Of two nodes with the same absolute value, the negative one comes first.
+     *
+     * @param  nodes the nodes to sort. Must not contain zeros.
+     * @return sorted nodes.
+     */
+    private static long[] sortByDecreasingAbsoluteValue(final long[] nodes) {
+        final long[] sorted = nodes.clone();
+        Arrays.sort(sorted);
+
+        // The negative nodes come first in 'sorted' by decreasing absolute
+        // value, and the positive nodes last by increasing absolute value.
+        // Merge the two runs.
+        int negativeIndex = 0;
+        int negativeEnd = 0;
+
+        while (negativeEnd < sorted.length && sorted[negativeEnd] < 0L) {
+            ++negativeEnd;
+        }
+
+        int positiveIndex = sorted.length - 1;
+        final long[] ret = new long[nodes.length];
+
+        for (int i = 0; i < ret.length; ++i) {
+            if (positiveIndex < negativeEnd ||
+                    (negativeIndex < negativeEnd &&
+                     -sorted[negativeIndex] >= sorted[positiveIndex])) {
+                ret[i] = sorted[negativeIndex++];
+            } else {
+                ret[i] = sorted[positiveIndex--];
+            }
+        }
+
+        return ret;
+    }
+}
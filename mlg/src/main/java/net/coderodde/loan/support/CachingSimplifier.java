@@ -0,0 +1,309 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.coderodde.loan.SearchStatistics;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+import static net.coderodde.loan.Utilities.gcd;
+
+/**
+ * This simplifier remembers the solutions of another simplifier. The
+ * non-trivial nodes of a graph are sorted and divided by their greatest
+ * common divisor, and the resulting array is the key of the cache. Since a
+ * solution is just an ordering of the equities, and scaling the equities does
+ * not change the groups, a graph whose non-trivial equities are a permutation
+ * of those of an earlier graph, up to a common factor, gets the cached
+ * ordering scaled back, which takes <tt>O(n log n)</tt> time for sorting the
+ * key.
+ * <p>
+ * The memory taken by a solution grows with its amount of nodes, so the cache
+ * holds solutions of at most a given total amount of non-trivial nodes,
+ * evicting the least recently used solutions when full. A solution with more
+ * nodes than the entire capacity is not cached. The amounts of hits, misses
+ * and evictions are counted. This simplifier is thread-safe as long as the
+ * underlying simplifier is; two threads missing the same key at the same time
+ * both compute the solution.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CachingSimplifier extends Simplifier {
+
+    /**
+     * The default maximum total amount of nodes in the cached solutions.
+     */
+    private static final int DEFAULT_CAPACITY = 1 << 20;
+
+    /**
+     * The simplifier computing the solutions not in the cache.
+     */
+    private final Simplifier simplifier;
+
+    /**
+     * The maximum total amount of nodes in the cached solutions.
+     */
+    private final int capacity;
+
+    /**
+     * Maps sorted and scaled non-trivial nodes to their solution. Ordered by
+     * access. Guarded by <code>this</code>.
+     */
+    private final Map<Key, long[]> cache;
+
+    /**
+     * The total amount of nodes in the cached solutions. Guarded by 
+     * <code>this</code>.
+     */
+    private long cachedNodes;
+
+    /**
+     * The amount of cache hits. Guarded by <code>this</code>.
+     */
+    private long hits;
+
+    /**
+     * The amount of cache misses. Guarded by <code>this</code>.
+     */
+    private long misses;
+
+    /**
+     * The amount of evicted solutions. Guarded by <code>this</code>.
+     */
+    private long evictions;
+
+    /**
+     * Constructs a simplifier caching the solutions of 
+     * <code>simplifier</code> up to a total of <tt>2^20</tt> nodes.
+     *
+     * @param simplifier the simplifier to cache.
+     */
+    public CachingSimplifier(final Simplifier simplifier) {
+        this(simplifier, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a simplifier caching the solutions of 
+     * <code>simplifier</code> up to a total of <code>capacity</code> 
+     * non-trivial nodes.
+     *
+     * @param simplifier the simplifier to cache.
+     * @param capacity   the maximum total amount of nodes in the cached 
+     *                   solutions.
+     */
+    public CachingSimplifier(final Simplifier simplifier, final int capacity) {
+        if (simplifier == null) {
+            throw new IllegalArgumentException("'simplifier' is null.");
+        }
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("'capacity' < 1.");
+        }
+
+        this.simplifier = simplifier;
+        this.capacity = capacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        // If the graph consists of only trivial groups, return.
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final long divisor = gcd(gs.nontrivialGroups);
+        final long[] nodes = divisor > 1L ?
+                             divide(gs.nontrivialGroups, divisor) :
+                             gs.nontrivialGroups.clone();
+        Arrays.sort(nodes);
+
+        final Key key = new Key(nodes);
+        long[] result = lookup(key);
+        final SearchStatistics statistics = getStatistics();
+
+        if (statistics != null) {
+            statistics.recordCacheLookup(result != null);
+        }
+
+        if (result == null) {
+            result = simplifier.simplify(nodes);
+            store(key, result);
+        }
+
+        if (divisor > 1L) {
+            result = multiply(result.clone(), divisor);
+        }
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * Sets the statistics of both this simplifier and the cached one.
+     *
+     * @param statistics the statistics, or <code>null</code>.
+     */
+    @Override
+    public void setStatistics(final SearchStatistics statistics) {
+        super.setStatistics(statistics);
+        simplifier.setStatistics(statistics);
+    }
+
+    /**
+     * Returns the amount of cache hits so far.
+     *
+     * @return the amount of cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the amount of cache misses so far.
+     *
+     * @return the amount of cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the amount of solutions evicted from the cache so far.
+     *
+     * @return the amount of evictions.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the amount of solutions currently cached.
+     *
+     * @return the amount of cached solutions.
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the total amount of nodes in the cached solutions.
+     *
+     * @return the amount of cached nodes.
+     */
+    public synchronized long getCachedNodes() {
+        return cachedNodes;
+    }
+
+    /**
+     * Removes all cached solutions. The counters are left intact.
+     */
+    public synchronized void clear() {
+        cache.clear();
+        cachedNodes = 0L;
+    }
+
+    /**
+     * Looks up the solution for <code>key</code> and updates the counters.
+     *
+     * @param  key the sorted and scaled non-trivial nodes.
+     * @return the solution, or <code>null</code> if not cached.
+     */
+    private synchronized long[] lookup(final Key key) {
+        final long[] result = cache.get(key);
+
+        if (result == null) {
+            ++misses;
+        } else {
+            ++hits;
+        }
+
+        return result;
+    }
+
+    /**
+     * Caches the solution for <code>key</code>, evicting the least recently 
+     * used solutions until the cached nodes fit in the capacity. Does 
+     * nothing if the solution alone does not fit.
+     *
+     * @param key    the sorted and scaled non-trivial nodes.
+     * @param result the solution.
+     */
+    private synchronized void store(final Key key, final long[] result) {
+        if (result.length > capacity) {
+            return;
+        }
+
+        final long[] previous = cache.put(key, result);
+        cachedNodes += result.length;
+
+        if (previous != null) {
+            // Another thread stored the same solution meanwhile.
+            cachedNodes -= previous.length;
+        }
+
+        final Iterator<long[]> iterator = cache.values().iterator();
+
+        while (cachedNodes > capacity) {
+            cachedNodes -= iterator.next().length;
+            iterator.remove();
+            ++evictions;
+        }
+    }
+
+    /**
+     * Wraps a sorted node array for use as a hash map key.
+     */
+    private static final class Key {
+
+        /**
+         * The sorted nodes.
+         */
+        private final long[] nodes;
+
+        /**
+         * The cached hash code of <code>nodes</code>.
+         */
+        private final int hashCode;
+
+        Key(final long[] nodes) {
+            this.nodes = nodes;
+            this.hashCode = Arrays.hashCode(nodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) o;
+            return hashCode == other.hashCode &&
+                   Arrays.equals(nodes, other.nodes);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package net.coderodde.loan.support;
 
-import java.util.ArrayList;
-import java.util.List;
 import net.coderodde.loan.Simplifier;
 import static net.coderodde.loan.Utilities.checkIsGroup;
 
@@ -23,38 +21,27 @@ public class CombinatorialSimplifierV3 extends Simplifier {
             return graph.clone();
         }
         
-        final Simplifier.GroupSplit gs = split(graph);
+        final Simplifier.GroupSplit gs = split(graph, getStatistics());
         
         // If the graph consists of only trivial groups, return.
         if (gs.trivialGroups.length == graph.length) {
             return graph.clone();
         }
         
-        // BEGIN: create the input list.
-        final List<Long> initialList = 
-                new ArrayList<>(gs.nontrivialGroups.length);
-        
-        for (final Long l : gs.nontrivialGroups) {
-            initialList.add(l);
-        }
-        // END: create the input list.
-        
-        List<List<Long>> groupList;
         long[] result = new long[gs.nontrivialGroups.length];
         
-        if (!initialList.isEmpty()) {
-            groupList = simplifyV3(initialList);
-            int index = 0;
-
-            for (final List<Long> list : groupList) {
-                for (final long l : list) {
-                    result[index++] = l;
-                }
-            }
+        if (gs.nontrivialGroups.length > 0) {
+            final long[] groups = simplifyV3(gs.nontrivialGroups);
+            result = flatten(gs.nontrivialGroups, groups);
         }
         
         result = append(result, gs.trivialGroups);
         result = append(result, gs.semitrivialGroups);
         return result;
     }
+    
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        return flattenIndices(simplifyV3(nodes), nodes.length);
+    }
 }
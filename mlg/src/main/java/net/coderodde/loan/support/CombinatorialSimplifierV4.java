@@ -0,0 +1,219 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier improves
+ * {@link net.coderodde.loan.support.CombinatorialSimplifierV2} by solving each
+ * set of nodes only once. A set of nodes is represented by a bit mask. The
+ * group containing the lowest node of a set is chosen among the submasks
+ * containing that node, and the rest of the set is solved recursively; the
+ * best grouping of each set is memoized by its mask, so that the sets reached
+ * through different choices are cache hits. As every grouping is generated
+ * only once, no bipartition is considered twice either.
+ * <p>
+ * The sum of a subset is looked up from two tables of the subset sums of the
+ * low and the high half of the nodes, which takes <tt>O(2^(n/2))</tt> space.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class CombinatorialSimplifierV4 extends Simplifier {
+
+    /**
+     * The maximum amount of non-trivial nodes this simplifier can handle.
+     */
+    private static final int MAXIMUM_NODES = 40;
+
+    /**
+     * The mask selecting the submasks after which the interrupted status of
+     * the current thread is checked.
+     */
+    private static final int INTERRUPT_CHECK_MASK = (1 << 16) - 1;
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        // If the graph consists of only trivial groups, return.
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        long[] result = select(gs.nontrivialGroups,
+                               orderNontrivialNodes(gs.nontrivialGroups));
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        if (nodes.length > MAXIMUM_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many non-trivial nodes: " + nodes.length +
+                    ", maximum is " + MAXIMUM_NODES + ".");
+        }
+
+        return flattenIndices(new Search(nodes).run(), nodes.length);
+    }
+
+    /**
+     * Holds the state of a single search.
+     */
+    private static final class Search {
+
+        /**
+         * The amount of nodes in the low half.
+         */
+        private final int lowBits;
+
+        /**
+         * The mask selecting the nodes of the low half.
+         */
+        private final long lowMask;
+
+        /**
+         * The sums of all subsets of the low half.
+         */
+        private final long[] lowSums;
+
+        /**
+         * The sums of all subsets of the high half.
+         */
+        private final long[] highSums;
+
+        /**
+         * The full set of nodes.
+         */
+        private final long fullSet;
+
+        /**
+         * Maps a solved set to one plus the index of its entry in 
+         * <code>groupCounts</code> and <code>firstGroups</code>.
+         */
+        private final LongIntHashMap solvedSets = new LongIntHashMap(0);
+
+        /**
+         * The maximum amount of groups in each solved set.
+         */
+        private int[] groupCounts = new int[16];
+
+        /**
+         * The group containing the lowest node of each solved set in the best
+         * grouping.
+         */
+        private long[] firstGroups = new long[16];
+
+        /**
+         * The amount of submasks to go through until the next check for
+         * interruption.
+         */
+        private int stepsUntilInterruptCheck = INTERRUPT_CHECK_MASK;
+
+        Search(final long[] nodes) {
+            this.lowBits = nodes.length / 2;
+            this.lowMask = (1L << lowBits) - 1L;
+            this.lowSums = subsetSums(nodes, 0, lowBits);
+            this.highSums = subsetSums(nodes, lowBits, nodes.length);
+            this.fullSet = fullSet(nodes.length);
+        }
+
+        /**
+         * Runs the search.
+         *
+         * @return the array of group masks.
+         */
+        long[] run() {
+            final long[] groups = new long[solve(fullSet)];
+            long set = fullSet;
+
+            for (int i = 0; i < groups.length; ++i) {
+                groups[i] = firstGroups[solvedSets.get(set) - 1];
+                set &= ~groups[i];
+            }
+
+            return groups;
+        }
+
+        /**
+         * Computes the maximum amount of groups in <code>set</code>.
+         *
+         * @param  set the set of nodes. Must be a group.
+         * @return the maximum amount of groups.
+         */
+        private int solve(final long set) {
+            final int entry = solvedSets.get(set);
+
+            if (entry != 0) {
+                return groupCounts[entry - 1];
+            }
+
+            // Each group has at least two nodes.
+            final int upperBound = Long.bitCount(set) / 2;
+            final long lowest = Long.lowestOneBit(set);
+            final long rest = set ^ lowest;
+
+            int bestCount = 1;
+            long bestGroup = set;
+
+            // The group containing the lowest node is 'lowest | subset'. The
+            // subset 'rest' itself is skipped, as it gives the entire set.
+            for (long subset = (rest - 1L) & rest;
+                    subset != 0L && bestCount < upperBound;
+                    subset = (subset - 1L) & rest) {
+                if (--stepsUntilInterruptCheck == 0) {
+                    stepsUntilInterruptCheck = INTERRUPT_CHECK_MASK;
+                    checkInterrupted();
+                }
+
+                final long group = lowest | subset;
+
+                if (sum(group) == 0L) {
+                    final int count = 1 + solve(set & ~group);
+
+                    if (bestCount < count) {
+                        bestCount = count;
+                        bestGroup = group;
+                    }
+                }
+            }
+
+            final int index = solvedSets.size();
+
+            if (index == groupCounts.length) {
+                groupCounts = Arrays.copyOf(groupCounts, 2 * index);
+                firstGroups = Arrays.copyOf(firstGroups, 2 * index);
+            }
+
+            groupCounts[index] = bestCount;
+            firstGroups[index] = bestGroup;
+            solvedSets.put(set, index + 1);
+            return bestCount;
+        }
+
+        /**
+         * Returns the sum of the nodes in <code>set</code>.
+         *
+         * @param  set the set of nodes.
+         * @return the sum of the nodes.
+         */
+        private long sum(final long set) {
+            return lowSums[(int)(set & lowMask)] +
+                   highSums[(int)(set >>> lowBits)];
+        }
+    }
+}
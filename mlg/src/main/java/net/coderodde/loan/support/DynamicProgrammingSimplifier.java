@@ -0,0 +1,133 @@
+package net.coderodde.loan.support;
+
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier runs dynamic programming over all subsets of non-trivial
+ * nodes. For a subset <tt>S</tt>, <code>groups[S]</code> is the maximum amount
+ * of zero-sum prefixes over all orderings of <tt>S</tt>, which is computed as
+ * <pre>
+ *   groups[S] = max { groups[S - {i}] : i in S } + (sum(S) == 0 ? 1 : 0).
+ * </pre>
+ * The value <code>groups[N]</code>, where <tt>N</tt> is the set of all
+ * non-trivial nodes, is the maximum amount of groups. The running time is
+ * <tt>O(2^n * n)</tt> and the space complexity is <tt>O(2^n)</tt> bytes, where
+ * <tt>n</tt> is the amount of non-trivial nodes, which makes this simplifier
+ * feasible for up to 26 non-trivial nodes; larger inputs are rejected.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class DynamicProgrammingSimplifier extends Simplifier {
+
+    /**
+     * The maximum amount of non-trivial nodes this simplifier can handle.
+     */
+    private static final int MAXIMUM_NODES = 26;
+
+    /**
+     * The mask selecting the subsets after which the interrupted status of the
+     * current thread is checked.
+     */
+    private static final int INTERRUPT_CHECK_MASK = (1 << 16) - 1;
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        long[] result = select(gs.nontrivialGroups,
+                               orderNontrivialNodes(gs.nontrivialGroups));
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * Orders the input nodes so that the amount of zero-sum prefixes is
+     * maximized.
+     *
+     * @param  nodes the non-trivial nodes. Must be a group.
+     * @return the indices of the nodes ordered into maximum amount of groups.
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final int n = nodes.length;
+
+        if (n > MAXIMUM_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many non-trivial nodes: " + n + ", maximum is " +
+                    MAXIMUM_NODES + ".");
+        }
+
+        // The sum of a subset is the sum of its low half plus the sum of its
+        // high half; two tables of size 2^(n/2) give the subset sums in O(1).
+        final int lowBits = n / 2;
+        final int lowMask = (1 << lowBits) - 1;
+        final long[] lowSums = subsetSums(nodes, 0, lowBits);
+        final long[] highSums = subsetSums(nodes, lowBits, n);
+
+        final int setCount = 1 << n;
+        final byte[] groups = new byte[setCount];
+
+        for (int set = 1; set < setCount; ++set) {
+            if ((set & INTERRUPT_CHECK_MASK) == 0) {
+                checkInterrupted();
+            }
+
+            int best = 0;
+
+            for (int rest = set; rest != 0; rest &= rest - 1) {
+                final int g = groups[set ^ Integer.lowestOneBit(rest)];
+
+                if (best < g) {
+                    best = g;
+                }
+            }
+
+            if (lowSums[set & lowMask] + highSums[set >>> lowBits] == 0L) {
+                ++best;
+            }
+
+            groups[set] = (byte) best;
+        }
+
+        // Reconstruct the order by peeling the last node off the full set.
+        final int[] result = new int[n];
+        int set = setCount - 1;
+
+        for (int index = n - 1; index >= 0; --index) {
+            final int target =
+                    groups[set] -
+                    (lowSums[set & lowMask] +
+                     highSums[set >>> lowBits] == 0L ? 1 : 0);
+
+            for (int rest = set; rest != 0; rest &= rest - 1) {
+                final int bit = Integer.lowestOneBit(rest);
+
+                if (groups[set ^ bit] == target) {
+                    result[index] = Integer.numberOfTrailingZeros(bit);
+                    set ^= bit;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+}
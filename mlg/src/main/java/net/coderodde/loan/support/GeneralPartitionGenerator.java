@@ -0,0 +1,267 @@
+package net.coderodde.loan.support;
+
+/**
+ * This partition generator generates all possible partitions with requested 
+ * blocks sizes.
+ * <p>
+ * The partitions are ordered first by the amount of blocks and then by the 
+ * order of {@link net.coderodde.loan.support.SpecialPartitionGenerator}. The
+ * position of a partition in that order is its <b>rank</b>, the first 
+ * partition having rank zero.
+ * <p>
+ * If weights of the elements are given, the generator maintains the sum of 
+ * weights in each block.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class GeneralPartitionGenerator {
+
+    /**
+     * The total amount of elements in a set.
+     */
+    private final int n;
+    
+    /** 
+     * The amount of blocks in the current partition.
+     */
+    private int k;
+    
+    /**
+     * The actual generator for current <tt>k</tt>.
+     */
+    private SpecialPartitionGenerator generator;
+    
+    /**
+     * The rank of the current partition.
+     */
+    private long rank;
+    
+    /**
+     * The rank one past the last partition to generate.
+     */
+    private final long toRank;
+    
+    /**
+     * The weights of the elements, or <code>null</code>.
+     */
+    private final long[] weights;
+    
+    /**
+     * Constructs a new partition generator generating all possible partitions.
+     * 
+     * @param n the amount of elements being partitioned.
+     */
+    public GeneralPartitionGenerator(final int n) {
+        this(n, 1);
+    }
+    
+    /**
+     * Constructs a new partition generator generating all partitions with at
+     * least <code>startingBlocks</code> blocks.
+     * 
+     * @param n              the size of the set to partition.
+     * @param startingBlocks the minimum amount of blocks in the partition.
+     */
+    public GeneralPartitionGenerator(final int n, final int startingBlocks) {
+        this(n, startingBlocks, null);
+    }
+    
+    /**
+     * Constructs a new partition generator generating all partitions with at
+     * least <code>startingBlocks</code> blocks, maintaining the sums of 
+     * <code>weights</code> over each block.
+     * 
+     * @param n              the size of the set to partition.
+     * @param startingBlocks the minimum amount of blocks in the partition.
+     * @param weights        the weights of the elements, or <code>null</code>
+     *                       for not maintaining block sums.
+     */
+    public GeneralPartitionGenerator(final int n, 
+                                     final int startingBlocks,
+                                     final long[] weights) {
+        check(n);
+        this.n = n;
+        this.k = startingBlocks;
+        this.weights = weights;
+        this.generator = new SpecialPartitionGenerator(n, k, weights);
+        this.toRank = Long.MAX_VALUE;
+    }
+    
+    /**
+     * Constructs a new partition generator generating the partitions with at
+     * least <code>startingBlocks</code> blocks, whose ranks are at least 
+     * <code>fromRank</code> and less than <code>toRank</code>.
+     * 
+     * @param n              the size of the set to partition.
+     * @param startingBlocks the minimum amount of blocks in the partition.
+     * @param fromRank       the rank of the first partition.
+     * @param toRank         the rank one past the last partition.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public GeneralPartitionGenerator(final int n, 
+                                     final int startingBlocks,
+                                     final long fromRank,
+                                     final long toRank) {
+        this(n, startingBlocks, fromRank, toRank, null);
+    }
+    
+    /**
+     * Constructs a new partition generator generating the partitions with at
+     * least <code>startingBlocks</code> blocks, whose ranks are at least 
+     * <code>fromRank</code> and less than <code>toRank</code>, maintaining 
+     * the sums of <code>weights</code> over each block.
+     * 
+     * @param n              the size of the set to partition.
+     * @param startingBlocks the minimum amount of blocks in the partition.
+     * @param fromRank       the rank of the first partition.
+     * @param toRank         the rank one past the last partition.
+     * @param weights        the weights of the elements, or <code>null</code>
+     *                       for not maintaining block sums.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public GeneralPartitionGenerator(final int n, 
+                                     final int startingBlocks,
+                                     final long fromRank,
+                                     final long toRank,
+                                     final long[] weights) {
+        check(n);
+        
+        final long count = count(n, startingBlocks);
+        
+        if (fromRank < 0L || fromRank >= count) {
+            throw new IllegalArgumentException(
+                    "'fromRank' not within [0, " + count + ").");
+        }
+        
+        if (toRank <= fromRank || toRank > count) {
+            throw new IllegalArgumentException(
+                    "'toRank' not within (" + fromRank + ", " + count + "].");
+        }
+        
+        this.n = n;
+        this.k = startingBlocks;
+        this.rank = fromRank;
+        this.toRank = toRank;
+        this.weights = weights;
+        
+        long localRank = fromRank;
+        long levelCount;
+        
+        while (localRank >= (levelCount = SpecialPartitionGenerator.count(n, 
+                                                                         k))) {
+            localRank -= levelCount;
+            ++k;
+        }
+        
+        this.generator = new SpecialPartitionGenerator(n, 
+                                                       k, 
+                                                       localRank, 
+                                                       levelCount,
+                                                       weights);
+    }
+    
+    /**
+     * Returns the amount of partitions of a set of <code>n</code> elements 
+     * with at least <code>startingBlocks</code> blocks.
+     * 
+     * @param  n              the size of the set.
+     * @param  startingBlocks the minimum amount of blocks.
+     * @return the amount of partitions.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public static long count(final int n, final int startingBlocks) {
+        long count = 0L;
+        
+        for (int k = startingBlocks; k <= n; ++k) {
+            count += SpecialPartitionGenerator.count(n, k);
+            
+            if (count < 0L) {
+                throw new ArithmeticException("Too many partitions to rank.");
+            }
+        }
+        
+        return count;
+    }
+
+    /**
+     * Increments to the next partition, returning <code>true</code> if there is
+     * the next permutation. If there is no next permutation, <code>false</code>
+     * is returned.
+     * 
+     * @return <code>true</code> if the increment was successful, 
+     *         <code>false</code> otherwise.
+     */
+    public boolean inc() {
+        if (rank + 1 >= toRank) {
+            return false;
+        }
+        
+        if (generator.inc()) {
+            ++rank;
+            return true;
+        }
+        
+        if (k < n) {
+            generator = new SpecialPartitionGenerator(n, ++k, weights);
+            ++rank;
+            return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Returns the indices for a partition.
+     * 
+     * @return the indices for a partition.
+     */
+    public int[] getIndices() {
+        return generator.getIndices();
+    }
+    
+    /**
+     * Returns the sums of weights in each block of the current partition. The
+     * array is updated in place by {@link #inc()} as long as the amount of 
+     * blocks stays the same.
+     * 
+     * @return the array of block sums.
+     * @throws IllegalStateException if this generator was constructed without
+     *                               weights.
+     */
+    public long[] getBlockSums() {
+        return generator.getBlockSums();
+    }
+    
+    /**
+     * Returns the rank of the current partition.
+     * 
+     * @return the rank of the current partition.
+     */
+    public long getRank() {
+        return rank;
+    }
+    
+    /**
+     * Returns the amount of blocks in the current partition.
+     * 
+     * @return the amount of blocks.
+     */
+    public int getk() {
+        return k;
+    }
+
+    /**
+     * Checks that the set being partitioned is not empty.
+     * 
+     * @param n the size of the set being partitioned.
+     */
+    private void check(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("'n' < 1.");
+        }
+    }
+}
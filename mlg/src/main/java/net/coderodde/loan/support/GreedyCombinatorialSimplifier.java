@@ -1,9 +1,7 @@
 package net.coderodde.loan.support;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import net.coderodde.loan.SearchStatistics;
 import net.coderodde.loan.Simplifier;
 import static net.coderodde.loan.Utilities.checkIsGroup;
 
@@ -16,6 +14,12 @@ import static net.coderodde.loan.Utilities.checkIsGroup;
  */
 public class GreedyCombinatorialSimplifier extends Simplifier {
 
+    /**
+     * The mask selecting the combinations after which the interrupted status 
+     * of the current thread is checked.
+     */
+    private static final int INTERRUPT_CHECK_MASK = (1 << 16) - 1;
+
     /**
      * This algorithm generates combinations of positive nodes, and for each
      * positive combination, it generate some negative combinations.
@@ -35,7 +39,7 @@ public class GreedyCombinatorialSimplifier extends Simplifier {
             return graph.clone();
         }
         
-        final GroupSplit gs = split(graph);
+        final GroupSplit gs = split(graph, getStatistics());
         
         // If the graph consists of only trivial groups, return.
         if (gs.trivialGroups.length == graph.length) {
@@ -49,47 +53,53 @@ public class GreedyCombinatorialSimplifier extends Simplifier {
         // Split the nontrivial group nodes in positive and negative.
         final GraphSplit graphSplit = splitBySign(gs.nontrivialGroups);
         
-        final List<Long> positiveList = 
-                new ArrayList<>(graphSplit.positiveArray.length);
+        final long[] positiveArray = graphSplit.positiveArray;
+        final long[] negativeArray = graphSplit.negativeArray;
         
-        final List<Long> negativeList =
-                new ArrayList<>(graphSplit.negativeArray.length);
-        
-        for (final long l : graphSplit.positiveArray) {
-            positiveList.add(l);
+        for (int i = 0; i < negativeArray.length; ++i) {
+            // Put the absolute values instead!
+            negativeArray[i] = -negativeArray[i];
         }
         
-        for (final long l : graphSplit.negativeArray) {
-            //// Put the absolute values instead!
-            negativeList.add(-l);
-        }
+        Arrays.sort(positiveArray);
+        Arrays.sort(negativeArray);
         
-        Collections.sort(positiveList);
-        Collections.sort(negativeList);
+        // The nodes not yet grouped occupy the beginning of the arrays.
+        int positiveLength = positiveArray.length;
+        int negativeLength = negativeArray.length;
         
         final CombinationGenerator positiveGenerator =
-                new CombinationGenerator(positiveList.size());
+                new CombinationGenerator(positiveLength);
         
         int[] positiveIndices;
         int[] negativeIndices;
         
-        final List<List<Long>> groupList = new ArrayList<>(graph.length);
+        long[] result = new long[gs.nontrivialGroups.length];
+        int index = 0;
+        long combinations = 0L;
         
         // For each positive combination, do:
         outer:
         while (positiveGenerator.inc()) {
+            checkInterrupted();
+            ++combinations;
             positiveIndices = positiveGenerator.getIndices();
             
-            final long currentPositiveSum = sum(positiveList, positiveIndices);
+            final long currentPositiveSum = sum(positiveArray, 
+                                                positiveIndices);
             
             final CombinationGenerator negativeGenerator =
-                    new CombinationGenerator((negativeList.size()));
+                    new CombinationGenerator(negativeLength);
             
             // For "each" negative combination, do:
             while (negativeGenerator.inc()) {
+                if ((++combinations & INTERRUPT_CHECK_MASK) == 0) {
+                    checkInterrupted();
+                }
+                
                 negativeIndices = negativeGenerator.getIndices();
                 
-                final long currentNegativeSum = sum(negativeList, 
+                final long currentNegativeSum = sum(negativeArray, 
                                                     negativeIndices);
                 
                 if (currentNegativeSum > currentPositiveSum) {
@@ -102,37 +112,33 @@ public class GreedyCombinatorialSimplifier extends Simplifier {
                         continue outer;
                     }
                 } else if (currentPositiveSum == currentNegativeSum) {
-                    // We have found a group.
-                    final List<Long> group = new ArrayList<>();
-                    
-                    for (final int index : positiveIndices) {
-                        group.add(positiveList.get(index));
+                    // We have found a group. Write it to the result.
+                    for (final int i : positiveIndices) {
+                        result[index++] = positiveArray[i];
                     }
                     
-                    for (final int index : negativeIndices) {
+                    for (final int i : negativeIndices) {
                         // Note the minus sign. The absolute value was taken
                         // from each negative equity.
-                        group.add(-negativeList.get(index));
+                        result[index++] = -negativeArray[i];
                     }
                     
-                    groupList.add(group);
-                    removeFromList(positiveList, positiveIndices);
-                    removeFromList(negativeList, negativeIndices);
+                    positiveLength = removeFromArray(positiveArray, 
+                                                     positiveLength,
+                                                     positiveIndices);
+                    negativeLength = removeFromArray(negativeArray,
+                                                     negativeLength,
+                                                     negativeIndices);
                     positiveGenerator.remove();
                     continue outer;
                 }
             }
         }
         
-        int index = 0;
-        
-        long[] result = new long[gs.nontrivialGroups.length];
+        final SearchStatistics statistics = getStatistics();
         
-        // Build the solution array.
-        for (final List<Long> group : groupList) {
-            for (final long l : group) {
-                result[index++] = l;
-            }
+        if (statistics != null) {
+            statistics.recordCombinations(combinations);
         }
         
         result = append(result, gs.trivialGroups);
@@ -141,18 +147,30 @@ public class GreedyCombinatorialSimplifier extends Simplifier {
     }
     
     /**
-     * Removes from <code>list</code> all elements with indices in 
-     * <code>indices</code>.
+     * Removes from the first <code>length</code> elements of 
+     * <code>array</code> all elements with indices in <code>indices</code>, 
+     * keeping the order of the remaining elements. The indices must be 
+     * increasing.
      * 
-     * @param list    the list from which to remove elements.
-     * @param indices the indices of elements to remove.
+     * @param  array   the array from which to remove elements.
+     * @param  length  the amount of elements in use.
+     * @param  indices the indices of elements to remove.
+     * @return the amount of elements remaining.
      */
-    private void removeFromList(final List<Long> list, final int[] indices) {
-        final int[] copy = indices.clone();
-        Arrays.sort(copy);
-        
-        for (int i = copy.length - 1; i >= 0; --i) {
-            list.remove(copy[i]);
+    private static int removeFromArray(final long[] array, 
+                                       final int length,
+                                       final int[] indices) {
+        int target = indices[0];
+        int next = 0;
+        
+        for (int i = indices[0]; i < length; ++i) {
+            if (next < indices.length && indices[next] == i) {
+                ++next;
+            } else {
+                array[target++] = array[i];
+            }
         }
+        
+        return target;
     }
 }
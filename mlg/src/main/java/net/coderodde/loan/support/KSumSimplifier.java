@@ -0,0 +1,319 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier extends the removal of trivial and semi-trivial groups
+ * done by {@link net.coderodde.loan.Simplifier#split(long[])} to groups of
+ * three nodes and, optionally, of four nodes, before passing the remaining
+ * nodes to another simplifier. The groups of three are found by looking up
+ * the negated sum of each pair of distinct equities among the equity counts,
+ * and the groups of four by matching pair sums against each other, both in
+ * <tt>O(n^2)</tt> expected time. As the pairs are kept in memory, the groups
+ * of four are searched for only if the distinct equities left after removing
+ * the groups of three form at most <tt>2^22</tt> pairs,
+ * that is, if there are at most about 2900 of them; otherwise the groups of 
+ * four are left to the other simplifier.
+ * <p>
+ * Unlike removing semi-trivial groups, removing a group of three may cost a
+ * group: if its nodes belong to three different groups of every optimal
+ * solution, the best solution containing it has one group less. Likewise, a
+ * removed group of four costs up to two groups. As the groups are removed
+ * greedily, these losses add up, so this simplifier is a heuristic without
+ * any guarantee on the amount of groups found, even if the simplifier
+ * processing the rest of the nodes is exact. It pays off when such small
+ * groups are common, as it then shrinks the input of the exponential
+ * simplifiers a lot.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class KSumSimplifier extends Simplifier {
+
+    /**
+     * The maximum amount of pairs of distinct equities that are matched 
+     * against each other when searching for groups of four nodes.
+     */
+    static final int MAXIMUM_QUADRUPLE_PAIRS = 1 << 22;
+
+    /**
+     * The simplifier processing the nodes left over.
+     */
+    private final Simplifier simplifier;
+
+    /**
+     * Specifies whether groups of four nodes are removed as well.
+     */
+    private final boolean extractQuadruples;
+
+    /**
+     * Constructs a simplifier removing the groups of three nodes before
+     * passing the graph to <code>simplifier</code>.
+     *
+     * @param simplifier the simplifier to use for the rest of the nodes.
+     */
+    public KSumSimplifier(final Simplifier simplifier) {
+        this(simplifier, false);
+    }
+
+    /**
+     * Constructs a simplifier removing the groups of three nodes, and the
+     * groups of four nodes if <code>extractQuadruples</code> is set, before
+     * passing the graph to <code>simplifier</code>.
+     *
+     * @param simplifier        the simplifier to use for the rest of the
+     *                          nodes.
+     * @param extractQuadruples whether to remove groups of four nodes, as
+     *                          long as there are not too many pairs of 
+     *                          distinct equities.
+     */
+    public KSumSimplifier(final Simplifier simplifier,
+                          final boolean extractQuadruples) {
+        if (simplifier == null) {
+            throw new IllegalArgumentException("'simplifier' is null.");
+        }
+
+        this.simplifier = simplifier;
+        this.extractQuadruples = extractQuadruples;
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        // If the graph consists of only trivial groups, return.
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final LongIntHashMap counts =
+                new LongIntHashMap(gs.nontrivialGroups.length);
+
+        for (final long node : gs.nontrivialGroups) {
+            counts.increment(node);
+        }
+
+        final long[] values = distinctValues(gs.nontrivialGroups);
+        final long[] extracted = new long[gs.nontrivialGroups.length];
+        int extractedLength = extractTriples(counts, values, extracted, 0);
+
+        if (extractQuadruples) {
+            extractedLength = extractQuadruples(counts,
+                                                values,
+                                                extracted,
+                                                extractedLength);
+        }
+
+        long[] result = Arrays.copyOf(extracted, extractedLength);
+
+        if (extractedLength < extracted.length) {
+            final long[] rest =
+                    new long[extracted.length - extractedLength];
+            int index = 0;
+
+            for (final long value : values) {
+                for (int i = counts.get(value); i > 0; --i) {
+                    rest[index++] = value;
+                }
+            }
+
+            result = append(result, simplifier.simplify(rest));
+        }
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * Removes groups of three nodes from <code>counts</code> as long as there
+     * are any, writing them to <code>output</code>.
+     *
+     * @param  counts the counts of each equity.
+     * @param  values the distinct equities in ascending order.
+     * @param  output the array to write the removed groups to.
+     * @param  index  the index in <code>output</code> to start writing at.
+     * @return the index in <code>output</code> after the removed groups.
+     */
+    private static int extractTriples(final LongIntHashMap counts,
+                                      final long[] values,
+                                      final long[] output,
+                                      int index) {
+        final long[] group = new long[3];
+
+        // Go through the groups 'a + b + c = 0' with 'a <= b <= c'.
+        for (int i = 0; i < values.length; ++i) {
+            checkInterrupted();
+
+            for (int j = i; j < values.length; ++j) {
+                final long a = values[i];
+                final long b = values[j];
+                final long c = -a - b;
+
+                if (c < b) {
+                    continue;
+                }
+
+                group[0] = a;
+                group[1] = b;
+                group[2] = c;
+
+                while (take(counts, group)) {
+                    System.arraycopy(group, 0, output, index, 3);
+                    index += 3;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Removes groups of four nodes from <code>counts</code> as long as there
+     * are any, writing them to <code>output</code>. A group of four consists
+     * of two pairs with opposite sums. Does nothing if there are more than
+     * <code>MAXIMUM_QUADRUPLE_PAIRS</code> pairs of available equities.
+     *
+     * @param  counts the counts of each equity.
+     * @param  values the distinct equities in ascending order.
+     * @param  output the array to write the removed groups to.
+     * @param  index  the index in <code>output</code> to start writing at.
+     * @return the index in <code>output</code> after the removed groups.
+     */
+    private static int extractQuadruples(final LongIntHashMap counts,
+                                         final long[] values,
+                                         final long[] output,
+                                         int index) {
+        long pairCapacity = 0L;
+
+        for (int i = 0; i < values.length; ++i) {
+            if (counts.get(values[i]) > 0) {
+                pairCapacity += values.length - i;
+            }
+        }
+
+        if (pairCapacity > MAXIMUM_QUADRUPLE_PAIRS) {
+            return index;
+        }
+
+        // The pairs 'values[i] <= values[j]' with the same sum are chained
+        // together: 'heads' maps a pair sum to the first pair having it plus
+        // one, and 'next' maps a pair to the next one plus one.
+        final long[] firsts = new long[(int) pairCapacity];
+        final long[] seconds = new long[(int) pairCapacity];
+        final int[] next = new int[(int) pairCapacity];
+        final LongIntHashMap heads = new LongIntHashMap((int) pairCapacity);
+        int pairCount = 0;
+
+        for (int i = 0; i < values.length; ++i) {
+            checkInterrupted();
+            final int count = counts.get(values[i]);
+
+            if (count == 0) {
+                continue;
+            }
+
+            for (int j = i; j < values.length; ++j) {
+                if (i == j ? count < 2 : counts.get(values[j]) == 0) {
+                    continue;
+                }
+
+                final long sum = values[i] + values[j];
+                firsts[pairCount] = values[i];
+                seconds[pairCount] = values[j];
+                next[pairCount] = heads.get(sum);
+                heads.put(sum, ++pairCount);
+            }
+        }
+
+        final long[] group = new long[4];
+
+        for (int pair = 0; pair < pairCount; ++pair) {
+            checkInterrupted();
+            final long sum = firsts[pair] + seconds[pair];
+
+            if (sum < 0L) {
+                continue;
+            }
+
+            for (int opposite = heads.get(-sum);
+                    opposite > 0;
+                    opposite = next[opposite - 1]) {
+                group[0] = firsts[pair];
+                group[1] = seconds[pair];
+                group[2] = firsts[opposite - 1];
+                group[3] = seconds[opposite - 1];
+
+                while (take(counts, group)) {
+                    System.arraycopy(group, 0, output, index, 4);
+                    index += 4;
+                }
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Removes the equities in <code>group</code> from <code>counts</code> if
+     * all of them are available.
+     *
+     * @param  counts the counts of each equity.
+     * @param  group  the equities to remove.
+     * @return <code>true</code> if the equities were removed.
+     */
+    private static boolean take(final LongIntHashMap counts,
+                                final long[] group) {
+        for (int i = 0; i < group.length; ++i) {
+            int needed = 0;
+
+            for (int j = 0; j < group.length; ++j) {
+                if (group[i] == group[j]) {
+                    ++needed;
+                }
+            }
+
+            if (counts.get(group[i]) < needed) {
+                return false;
+            }
+        }
+
+        for (final long node : group) {
+            counts.put(node, counts.get(node) - 1);
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the distinct equities in <code>nodes</code> in ascending order.
+     *
+     * @param  nodes the equities.
+     * @return the sorted distinct equities.
+     */
+    private static long[] distinctValues(final long[] nodes) {
+        final long[] values = nodes.clone();
+        Arrays.sort(values);
+        int length = 0;
+
+        for (int i = 0; i < values.length; ++i) {
+            if (length == 0 || values[length - 1] != values[i]) {
+                values[length++] = values[i];
+            }
+        }
+
+        return Arrays.copyOf(values, length);
+    }
+}
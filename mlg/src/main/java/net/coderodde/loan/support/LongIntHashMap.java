@@ -0,0 +1,232 @@
+package net.coderodde.loan.support;
+
+/**
+ * This class implements a hash map from <code>long</code> keys to
+ * <code>int</code> values without boxing. The entries are kept in two
+ * parallel arrays using open addressing with linear probing, and the table
+ * is doubled whenever it becomes half full. A key that was never put is
+ * mapped to zero.
+ * <p>
+ * Entries cannot be removed; putting a zero value is the closest thing to
+ * removal.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class LongIntHashMap {
+
+    /**
+     * The minimum capacity of the table.
+     */
+    private static final int MINIMUM_CAPACITY = 16;
+
+    /**
+     * The maximum capacity of the table, which is the largest power of two
+     * that is a valid array length.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The maximum amount of entries, which keeps the table at most half full.
+     */
+    private static final int MAXIMUM_SIZE = MAXIMUM_CAPACITY / 2;
+
+    /**
+     * The multiplier of the Fibonacci hashing, which is the golden ratio
+     * scaled to 64 bits.
+     */
+    private static final long HASH_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    /**
+     * The keys of the table. A slot is vacant if <code>used[i]</code> is not
+     * set.
+     */
+    private long[] keys;
+
+    /**
+     * The values of the table.
+     */
+    private int[] values;
+
+    /**
+     * <code>used[i]</code> is set if the slot <tt>i</tt> holds an entry.
+     */
+    private boolean[] used;
+
+    /**
+     * The amount of entries in the table.
+     */
+    private int size;
+
+    /**
+     * The amount of bits in a slot index.
+     */
+    private int bits;
+
+    /**
+     * Constructs a map able to hold <code>expectedSize</code> entries without
+     * growing.
+     *
+     * @param expectedSize the expected amount of entries. At most
+     *                     <tt>2^29</tt>.
+     */
+    public LongIntHashMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("'expectedSize' < 0.");
+        }
+
+        if (expectedSize > MAXIMUM_SIZE) {
+            throw new IllegalArgumentException("'expectedSize' > 2^29.");
+        }
+
+        int capacity = MINIMUM_CAPACITY;
+
+        while (capacity < 2 * expectedSize) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value mapped to <code>key</code>, or zero if none.
+     *
+     * @param  key the key.
+     * @return the value of the key.
+     */
+    public int get(final long key) {
+        final int mask = keys.length - 1;
+
+        for (int i = slot(key); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Maps <code>key</code> to <code>value</code>.
+     *
+     * @param key   the key.
+     * @param value the value.
+     */
+    public void put(final long key, final int value) {
+        // The slot must be found first, as the insertion may grow 'values'.
+        final int i = findOrInsert(key);
+        values[i] = value;
+    }
+
+    /**
+     * Adds one to the value of <code>key</code>.
+     *
+     * @param  key the key.
+     * @return the new value of the key.
+     */
+    public int increment(final long key) {
+        final int i = findOrInsert(key);
+        return ++values[i];
+    }
+
+    /**
+     * Returns the amount of keys ever put in this map.
+     *
+     * @return the amount of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot of <code>key</code>, inserting the key with value zero
+     * if it is not in the table yet.
+     *
+     * @param  key the key.
+     * @return the slot of the key.
+     */
+    private int findOrInsert(final long key) {
+        int mask = keys.length - 1;
+        int i = slot(key);
+
+        while (used[i]) {
+            if (keys[i] == key) {
+                return i;
+            }
+
+            i = (i + 1) & mask;
+        }
+
+        if (2 * (size + 1) > keys.length) {
+            grow();
+            mask = keys.length - 1;
+            i = slot(key);
+
+            while (used[i]) {
+                i = (i + 1) & mask;
+            }
+        }
+
+        used[i] = true;
+        keys[i] = key;
+        ++size;
+        return i;
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     *
+     * @throws IllegalStateException if the table is already at its maximum
+     *                               capacity.
+     */
+    private void grow() {
+        if (keys.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException(
+                    "The map cannot hold more than 2^29 entries.");
+        }
+
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+
+        allocate(2 * oldKeys.length);
+
+        final int mask = keys.length - 1;
+
+        for (int j = 0; j < oldKeys.length; ++j) {
+            if (oldUsed[j]) {
+                int i = slot(oldKeys[j]);
+
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+
+                used[i] = true;
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Allocates an empty table of <code>capacity</code> slots.
+     *
+     * @param capacity the capacity. Must be a power of two.
+     */
+    private void allocate(final int capacity) {
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.bits = Integer.numberOfTrailingZeros(capacity);
+    }
+
+    /**
+     * Returns the home slot of <code>key</code>.
+     *
+     * @param  key the key.
+     * @return the home slot.
+     */
+    private int slot(final long key) {
+        return (int)((key * HASH_MULTIPLIER) >>> (64 - bits));
+    }
+}
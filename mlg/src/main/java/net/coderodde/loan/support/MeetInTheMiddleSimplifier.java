@@ -0,0 +1,173 @@
+package net.coderodde.loan.support;
+
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier repeatedly removes the smallest group from the non-trivial
+ * nodes. The smallest group is found by splitting the remaining nodes into two
+ * halves, indexing the subset sums of the second half by their value, and
+ * looking up the negated sum of each subset of the first half. This takes
+ * <tt>O(2^(n/2))</tt> time per removed group instead of going through all
+ * subsets of the remaining nodes. The subset sums of both halves are computed
+ * only once, which takes <tt>O(2^(n/2))</tt> memory: at 48 non-trivial nodes,
+ * the maximum this simplifier accepts, the two tables and the index of the
+ * subset sums of a half take about 700 MiB.
+ * <p>
+ * Just like {@link net.coderodde.loan.support.GreedyCombinatorialSimplifier},
+ * this simplifier may return (slightly) suboptimal solutions.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class MeetInTheMiddleSimplifier extends Simplifier {
+
+    /**
+     * The maximum amount of non-trivial nodes this simplifier can handle. The
+     * limit comes from the memory taken by <tt>2^24</tt> subset sums per half.
+     */
+    private static final int MAXIMUM_NODES = 48;
+
+    /**
+     * The mask selecting the subsets after which the interrupted status of the
+     * current thread is checked.
+     */
+    private static final int INTERRUPT_CHECK_MASK = (1 << 16) - 1;
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final long[] nodes = gs.nontrivialGroups;
+
+        if (nodes.length > MAXIMUM_NODES) {
+            throw new IllegalArgumentException(
+                    "Too many non-trivial nodes: " + nodes.length +
+                    ", maximum is " + MAXIMUM_NODES + ".");
+        }
+
+        // The subset sums of both halves are computed once; the remaining 
+        // nodes are a mask, and the sums of the subsets of each half are 
+        // looked up in the table of that half.
+        final int lowLength = nodes.length / 2;
+        final long[] lowSums = subsetSums(nodes, 0, lowLength);
+        final long[] highSums = subsetSums(nodes, lowLength, nodes.length);
+
+        long[] result = new long[nodes.length];
+        long rest = (1L << nodes.length) - 1L;
+        int index = 0;
+
+        while (rest != 0L) {
+            final long group = 
+                    findSmallestGroup(lowSums, highSums, lowLength, rest);
+
+            for (long bits = group; bits != 0L; bits &= bits - 1L) {
+                result[index++] = nodes[Long.numberOfTrailingZeros(bits)];
+            }
+
+            rest &= ~group;
+        }
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * Finds a group with the least amount of nodes among the remaining nodes.
+     *
+     * @param  lowSums   the subset sums of the low half.
+     * @param  highSums  the subset sums of the high half.
+     * @param  lowLength the amount of nodes in the low half.
+     * @param  rest      the mask of the remaining nodes, the low half taking
+     *                   the lowest <code>lowLength</code> bits. The remaining
+     *                   nodes must be a group.
+     * @return the mask of the group.
+     */
+    private static long findSmallestGroup(final long[] lowSums,
+                                          final long[] highSums,
+                                          final int lowLength,
+                                          final long rest) {
+        final int lowRest = (int)(rest & ((1L << lowLength) - 1L));
+        final int highRest = (int)(rest >>> lowLength);
+        
+        // Maps a subset sum of the high half to the smallest non-empty subset
+        // of the high half having that sum. The empty subset is never put, so
+        // zero means absent.
+        final LongIntHashMap highIndex = 
+                new LongIntHashMap(1 << Integer.bitCount(highRest));
+        int steps = 0;
+
+        for (int set = highRest; set != 0; set = (set - 1) & highRest) {
+            if ((++steps & INTERRUPT_CHECK_MASK) == 0) {
+                checkInterrupted();
+            }
+
+            final long sum = highSums[set];
+            final int best = highIndex.get(sum);
+
+            if (best == 0 || Integer.bitCount(set) < Integer.bitCount(best)) {
+                highIndex.put(sum, set);
+            }
+        }
+
+        // Initially, the best group is all the remaining nodes.
+        int bestLowSet = lowRest;
+        int bestHighSet = highRest;
+        int bestSize = Long.bitCount(rest);
+
+        // Goes through the subsets of 'lowRest' in decreasing order, ending
+        // with the empty one.
+        int set = lowRest;
+
+        while (true) {
+            if ((++steps & INTERRUPT_CHECK_MASK) == 0) {
+                checkInterrupted();
+            }
+
+            final int lowSize = Integer.bitCount(set);
+
+            if (lowSize < bestSize) {
+                if (set != 0 && lowSums[set] == 0L) {
+                    bestLowSet = set;
+                    bestHighSet = 0;
+                    bestSize = lowSize;
+                } else {
+                    final int highSet = highIndex.get(-lowSums[set]);
+
+                    if (highSet != 0) {
+                        final int size = lowSize + Integer.bitCount(highSet);
+
+                        if (size < bestSize) {
+                            bestLowSet = set;
+                            bestHighSet = highSet;
+                            bestSize = size;
+                        }
+                    }
+                }
+            }
+
+            if (set == 0) {
+                break;
+            }
+
+            set = (set - 1) & lowRest;
+        }
+
+        return (bestLowSet & 0xffffffffL) | ((long) bestHighSet << lowLength);
+    }
+}
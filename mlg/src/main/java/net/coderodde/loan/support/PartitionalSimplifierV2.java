@@ -21,7 +21,7 @@ public class PartitionalSimplifierV2 extends Simplifier {
             return graph.clone();
         }
         
-        final GroupSplit gs = split(graph);
+        final GroupSplit gs = split(graph, getStatistics());
         
         if (gs.trivialGroups.length == graph.length) {
             return graph.clone();
@@ -42,4 +42,23 @@ public class PartitionalSimplifierV2 extends Simplifier {
         result = append(result, gs.semitrivialGroups);
         return result;
     }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final GraphSplit gs = splitBySignWithIndices(nodes);
+        
+        return buildOrder(gs,
+                          gs.positiveArray.length < gs.negativeArray.length ?
+                          searchPartitions(gs.positiveArray,
+                                           gs.negativeArray,
+                                           1,
+                                           Long.MAX_VALUE) :
+                          searchPartitions(gs.negativeArray,
+                                           gs.positiveArray,
+                                           1,
+                                           Long.MAX_VALUE));
+    }
 }
@@ -0,0 +1,101 @@
+package net.coderodde.loan.support;
+
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.AnytimeSimplifier;
+import net.coderodde.loan.SimplificationResult;
+import net.coderodde.loan.Simplifier;
+import net.coderodde.loan.Utilities;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier improves on 
+ * {@link net.coderodde.loan.support.PartitionalSimplifierV2} by counting the 
+ * amount of groups in the input array (<tt>N</tt>) and starting partitioning 
+ * from <tt>N</tt> blocks.
+ * 
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PartitionalSimplifierV3 extends Simplifier 
+implements AnytimeSimplifier {
+
+    @Override
+    public long[] simplify(long[] graph) {
+        return simplify(graph, Long.MAX_VALUE, TimeUnit.NANOSECONDS)
+               .getGraph();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SimplificationResult simplify(final long[] graph,
+                                         final long budget,
+                                         final TimeUnit unit) {
+        checkIsGroup(graph);
+        
+        if (graph.length == 0) {
+            return new SimplificationResult(graph.clone(), true);
+        }
+        
+        final GroupSplit gs = split(graph, getStatistics());
+        
+        if (gs.trivialGroups.length == graph.length) {
+            return new SimplificationResult(graph.clone(), true);
+        }
+        
+        if (gs.nontrivialGroups.length == 0) {
+            return new SimplificationResult(
+                    append(gs.trivialGroups, gs.semitrivialGroups), 
+                    true);
+        }
+        
+        final GraphSplit gs2 = splitBySign(gs.nontrivialGroups);
+        final int initialBlocks = 
+                Utilities.countGroups(gs.nontrivialGroups);
+        final long budgetNanos = unit.toNanos(budget);
+        
+        final SimplificationResult searchResult = 
+                gs2.positiveArray.length < gs2.negativeArray.length ?
+                    simplifyImpl(gs2.positiveArray, 
+                                 gs2.negativeArray,
+                                 initialBlocks,
+                                 budgetNanos) :
+                    simplifyImpl(gs2.negativeArray, 
+                                 gs2.positiveArray,
+                                 initialBlocks,
+                                 budgetNanos);
+        
+        long[] result = searchResult.getGraph();
+        
+        // The input order of the non-trivial nodes is a valid fallback.
+        if (!searchResult.isOptimal() && 
+                Utilities.countGroups(result) < initialBlocks) {
+            result = gs.nontrivialGroups.clone();
+        }
+        
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return new SimplificationResult(result, searchResult.isOptimal());
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final GraphSplit gs = splitBySignWithIndices(nodes);
+        final int initialBlocks = Utilities.countGroups(nodes);
+        
+        return buildOrder(gs,
+                          gs.positiveArray.length < gs.negativeArray.length ?
+                          searchPartitions(gs.positiveArray,
+                                           gs.negativeArray,
+                                           initialBlocks,
+                                           Long.MAX_VALUE) :
+                          searchPartitions(gs.negativeArray,
+                                           gs.positiveArray,
+                                           initialBlocks,
+                                           Long.MAX_VALUE));
+    }
+}
@@ -37,7 +37,7 @@ public class PartitionalSimplifierV5 extends Simplifier {
             return graph.clone();
         }
 
-        final GroupSplit gs = split(graph);
+        final GroupSplit gs = split(graph, getStatistics());
 
         if (gs.trivialGroups.length == graph.length) {
             return graph.clone();
@@ -75,5 +75,37 @@ public class PartitionalSimplifierV5 extends Simplifier {
         result = append(result, gs.trivialGroups);
         result = append(result, gs.semitrivialGroups);
         return result;
-    }    
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final GraphSplit gs = splitBySignWithIndices(nodes);
+        final int initialBlocks = Utilities.countGroups(nodes);
+        final PartitionPair pair;
+
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            pair = gs.positiveArray.length < gs.negativeArray.length ?
+                   searchPartitionsReversed(gs.positiveArray,
+                                            gs.negativeArray,
+                                            initialBlocks,
+                                            Long.MAX_VALUE) :
+                   searchPartitionsReversed(gs.negativeArray,
+                                            gs.positiveArray,
+                                            initialBlocks,
+                                            Long.MAX_VALUE);
+        } else {
+            pair = gs.positiveArray.length < gs.negativeArray.length ?
+                   searchPartitionsUsingThreads(gs.positiveArray,
+                                                gs.negativeArray,
+                                                initialBlocks) :
+                   searchPartitionsUsingThreads(gs.negativeArray,
+                                                gs.positiveArray,
+                                                initialBlocks);
+        }
+
+        return buildOrder(gs, pair);
+    }
 }
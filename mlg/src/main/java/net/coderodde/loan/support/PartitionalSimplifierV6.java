@@ -0,0 +1,397 @@
+package net.coderodde.loan.support;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.coderodde.loan.SearchStatistics;
+import net.coderodde.loan.Simplifier;
+import net.coderodde.loan.Utilities;
+import net.coderodde.loan.jfr.FlightEvents;
+import net.coderodde.loan.jfr.SearchThreadEvent;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier spreads the search of
+ * {@link net.coderodde.loan.support.PartitionalSimplifierV3} among several
+ * threads. The partitions of the smaller array are divided by their rank into
+ * chunks, which the threads take one at a time. As a partition with
+ * <tt>k</tt> blocks may produce at most <tt>k</tt> groups, a thread skips all
+ * partitions with no more blocks than the best amount of groups found so far
+ * by any thread.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PartitionalSimplifierV6 extends Simplifier {
+
+    /**
+     * The amount of chunks per thread. More chunks balance the load better.
+     */
+    private static final int CHUNKS_PER_THREAD = 16;
+
+    /**
+     * The amount of threads to use.
+     */
+    private final int threadCount;
+
+    /**
+     * Constructs a simplifier using a thread per available processor.
+     */
+    public PartitionalSimplifierV6() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a simplifier using <code>threadCount</code> threads. The 
+     * search runs as <code>threadCount</code> tasks in the fork/join pool
+     * shared by the library, so at most as many threads as the pool has 
+     * workers search at a time.
+     *
+     * @param threadCount the amount of threads to use.
+     */
+    public PartitionalSimplifierV6(final int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("'threadCount' < 1.");
+        }
+
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final GraphSplit gs2 = splitBySign(gs.nontrivialGroups);
+        final int initialBlocks =
+                Utilities.countGroups(gs.nontrivialGroups);
+
+        long[] result = gs2.positiveArray.length < gs2.negativeArray.length ?
+                            buildSolution(gs2.positiveArray,
+                                          gs2.negativeArray,
+                                          searchInParallel(gs2.positiveArray,
+                                                           gs2.negativeArray,
+                                                           initialBlocks)) :
+                            buildSolution(gs2.negativeArray,
+                                          gs2.positiveArray,
+                                          searchInParallel(gs2.negativeArray,
+                                                           gs2.positiveArray,
+                                                           initialBlocks));
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final GraphSplit gs = splitBySignWithIndices(nodes);
+        final int initialBlocks = Utilities.countGroups(nodes);
+
+        return buildOrder(gs,
+                          gs.positiveArray.length < gs.negativeArray.length ?
+                          searchInParallel(gs.positiveArray,
+                                           gs.negativeArray,
+                                           initialBlocks) :
+                          searchInParallel(gs.negativeArray,
+                                           gs.positiveArray,
+                                           initialBlocks));
+    }
+
+    /**
+     * Runs the search in <code>threadCount</code> tasks.
+     *
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  initialBlocks the amount of initial blocks.
+     * @return the pair of partitions producing maximal amount of groups.
+     */
+    private PartitionPair searchInParallel(final long[] smallArray,
+                                           final long[] largeArray,
+                                           final int initialBlocks) {
+        final long partitionCount =
+                GeneralPartitionGenerator.count(smallArray.length,
+                                                initialBlocks);
+        final SearchState state =
+                new SearchState(partitionCount,
+                                Math.max(1L, partitionCount /
+                                             (threadCount *
+                                              CHUNKS_PER_THREAD)),
+                                getStatistics());
+
+        final SearchTask[] tasks = new SearchTask[threadCount];
+
+        for (int i = 0; i < threadCount; ++i) {
+            tasks[i] = new SearchTask(smallArray,
+                                      largeArray,
+                                      initialBlocks,
+                                      state);
+        }
+
+        if (state.statistics != null) {
+            state.statistics.recordThreads(threadCount);
+        }
+
+        invokeInSharedPool(tasks, state.quit);
+
+        SearchTask best = tasks[0];
+
+        for (final SearchTask task : tasks) {
+            if (best.bestk < task.bestk) {
+                best = task;
+            }
+        }
+
+        if (best.bestk < 0) {
+            throw new IllegalStateException("Should not get here.");
+        }
+
+        return new PartitionPair(best.bestSmallIndices,
+                                 best.bestLargeIndices,
+                                 best.bestk,
+                                 true);
+    }
+
+    /**
+     * Holds the state shared by all search tasks.
+     */
+    private static final class SearchState {
+
+        /**
+         * The total amount of partitions of the smaller array.
+         */
+        final long partitionCount;
+
+        /**
+         * The amount of partitions in a chunk.
+         */
+        final long chunkSize;
+
+        /**
+         * The index of the next chunk to process.
+         */
+        final AtomicLong nextChunk = new AtomicLong();
+
+        /**
+         * The largest amount of groups found so far.
+         */
+        final AtomicInteger bestGroups = new AtomicInteger();
+
+        /**
+         * Set when the search tasks should stop.
+         */
+        final AtomicBoolean quit = new AtomicBoolean();
+
+        /**
+         * The statistics to record the search in, or <code>null</code>.
+         */
+        final SearchStatistics statistics;
+
+        SearchState(final long partitionCount,
+                    final long chunkSize,
+                    final SearchStatistics statistics) {
+            this.partitionCount = partitionCount;
+            this.chunkSize = chunkSize;
+            this.statistics = statistics;
+        }
+
+        /**
+         * Records that <code>groups</code> groups were found.
+         *
+         * @param groups the amount of groups found.
+         */
+        void offer(final int groups) {
+            int current;
+
+            while ((current = bestGroups.get()) < groups) {
+                if (bestGroups.compareAndSet(current, groups)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Processes chunks of partitions until none are left.
+     */
+    private static final class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+
+        private final long[] smallArray;
+        private final long[] largeArray;
+        private final int initialBlocks;
+        private final SearchState state;
+
+        /**
+         * The best partition of the smaller array found by this task.
+         */
+        final int[] bestSmallIndices;
+
+        /**
+         * The best partition of the larger array found by this task.
+         */
+        final int[] bestLargeIndices;
+
+        /**
+         * The amount of blocks in the best partition found by this task, or
+         * -1 if none found.
+         */
+        int bestk = -1;
+
+        /**
+         * Used for speeding up the group counting.
+         */
+        private final BlockSumMatcher matcher;
+
+        /**
+         * The amount of partitions generated by this task.
+         */
+        private long partitions;
+
+        /**
+         * The amount of partition pairs counted by this task.
+         */
+        private long invocations;
+
+        /**
+         * The amount of partition pairs found to be groups by this task.
+         */
+        private long hits;
+
+        SearchTask(final long[] smallArray,
+                   final long[] largeArray,
+                   final int initialBlocks,
+                   final SearchState state) {
+            this.smallArray = smallArray;
+            this.largeArray = largeArray;
+            this.initialBlocks = initialBlocks;
+            this.state = state;
+            this.bestSmallIndices = new int[smallArray.length];
+            this.bestLargeIndices = new int[largeArray.length];
+            this.matcher = new BlockSumMatcher(smallArray.length);
+        }
+
+        @Override
+        protected void compute() {
+            final SearchThreadEvent event =
+                    FlightEvents.AVAILABLE ?
+                    SearchThreadEvent.start("chunked",
+                                            smallArray.length,
+                                            largeArray.length) :
+                    null;
+
+            try {
+                while (!state.quit.get()) {
+                    final long fromRank = state.nextChunk.getAndIncrement() *
+                                          state.chunkSize;
+
+                    if (fromRank >= state.partitionCount) {
+                        return;
+                    }
+
+                    final long toRank = Math.min(state.partitionCount,
+                                                 fromRank + state.chunkSize);
+
+                    final GeneralPartitionGenerator smallGenerator =
+                            new GeneralPartitionGenerator(smallArray.length,
+                                                          initialBlocks,
+                                                          fromRank,
+                                                          toRank,
+                                                          smallArray);
+                    do {
+                        ++partitions;
+                        final int blocks = smallGenerator.getk();
+
+                        if (blocks > state.bestGroups.get() &&
+                                search(smallGenerator.getIndices(),
+                                       smallGenerator.getBlockSums(),
+                                       blocks)) {
+                            state.offer(blocks);
+                        }
+                    } while (!state.quit.get() && smallGenerator.inc());
+                }
+            } finally {
+                if (state.statistics != null) {
+                    state.statistics.recordPartitions(partitions);
+                    state.statistics.recordCountGroups(invocations, hits);
+                }
+
+                if (event != null) {
+                    event.finish(invocations, hits);
+                }
+            }
+        }
+
+        /**
+         * Searches for a partition of the larger array matching the given
+         * partition of the smaller array.
+         *
+         * @param  smallIndices the partition of the smaller array.
+         * @param  smallSums    the block sums of the partition.
+         * @param  blocks       the amount of blocks in the partition.
+         * @return <code>true</code> if a match was found.
+         */
+        private boolean search(final int[] smallIndices,
+                               final long[] smallSums,
+                               final int blocks) {
+            final SpecialPartitionGenerator largeGenerator =
+                    new SpecialPartitionGenerator(largeArray.length,
+                                                  blocks,
+                                                  largeArray);
+
+            final int[] largeIndices = largeGenerator.getIndices();
+            final long[] largeSums = largeGenerator.getBlockSums();
+
+            do {
+                if (state.quit.get()) {
+                    return false;
+                }
+
+                ++partitions;
+                ++invocations;
+                final int groups = matcher.countGroups(smallSums,
+                                                       largeSums,
+                                                       blocks);
+
+                if (groups > 0) {
+                    ++hits;
+                    bestk = blocks;
+
+                    System.arraycopy(smallIndices,
+                                     0,
+                                     bestSmallIndices,
+                                     0,
+                                     smallIndices.length);
+
+                    System.arraycopy(largeIndices,
+                                     0,
+                                     bestLargeIndices,
+                                     0,
+                                     largeIndices.length);
+                    return true;
+                }
+            } while (largeGenerator.inc());
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package net.coderodde.loan.support;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.coderodde.loan.SearchStatistics;
+import net.coderodde.loan.Simplifier;
+import net.coderodde.loan.Utilities;
+import net.coderodde.loan.jfr.FlightEvents;
+import net.coderodde.loan.jfr.SearchThreadEvent;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+
+/**
+ * This simplifier generalizes the race of
+ * {@link net.coderodde.loan.support.PartitionalSimplifierV5} to any amount of
+ * threads. Each thread takes the largest block amount <tt>k</tt> not taken
+ * yet and searches for matching partitions of the two arrays with exactly
+ * <tt>k</tt> blocks, just like
+ * {@link net.coderodde.loan.support.PartitionalSimplifierV4} does for a single
+ * <tt>k</tt>. As soon as a match with <tt>k</tt> blocks is found, all threads
+ * drop their block amounts not exceeding <tt>k</tt>. Once all threads are
+ * done, the match with most blocks is optimal, since all the larger block
+ * amounts were searched through without a match.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class PartitionalSimplifierV7 extends Simplifier {
+
+    /**
+     * The mask selecting the partition pairs after which a thread checks
+     * whether its block amount is still worth searching.
+     */
+    private static final int OBSOLESCENCE_CHECK_MASK = (1 << 10) - 1;
+
+    /**
+     * The amount of threads to use.
+     */
+    private final int threadCount;
+
+    /**
+     * Constructs a simplifier using a thread per available processor.
+     */
+    public PartitionalSimplifierV7() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a simplifier using <code>threadCount</code> threads. The 
+     * search runs as <code>threadCount</code> tasks in the fork/join pool
+     * shared by the library, so at most as many threads as the pool has 
+     * workers search at a time.
+     *
+     * @param threadCount the amount of threads to use.
+     */
+    public PartitionalSimplifierV7(final int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("'threadCount' < 1.");
+        }
+
+        this.threadCount = threadCount;
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final GraphSplit gs2 = splitBySign(gs.nontrivialGroups);
+        final int initialBlocks =
+                Utilities.countGroups(gs.nontrivialGroups);
+
+        long[] result = gs2.positiveArray.length < gs2.negativeArray.length ?
+                            buildSolution(gs2.positiveArray,
+                                          gs2.negativeArray,
+                                          searchInParallel(gs2.positiveArray,
+                                                           gs2.negativeArray,
+                                                           initialBlocks)) :
+                            buildSolution(gs2.negativeArray,
+                                          gs2.positiveArray,
+                                          searchInParallel(gs2.negativeArray,
+                                                           gs2.positiveArray,
+                                                           initialBlocks));
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int[] orderNontrivialNodes(final long[] nodes) {
+        final GraphSplit gs = splitBySignWithIndices(nodes);
+        final int initialBlocks = Utilities.countGroups(nodes);
+
+        return buildOrder(gs,
+                          gs.positiveArray.length < gs.negativeArray.length ?
+                          searchInParallel(gs.positiveArray,
+                                           gs.negativeArray,
+                                           initialBlocks) :
+                          searchInParallel(gs.negativeArray,
+                                           gs.positiveArray,
+                                           initialBlocks));
+    }
+
+    /**
+     * Runs the search in <code>threadCount</code> tasks.
+     *
+     * @param  smallArray    the smaller of the node arrays.
+     * @param  largeArray    the larger of the node arrays.
+     * @param  minimumBlocks the minimum amount of blocks.
+     * @return the pair of partitions producing maximal amount of groups.
+     */
+    private PartitionPair searchInParallel(final long[] smallArray,
+                                           final long[] largeArray,
+                                           final int minimumBlocks) {
+        final SearchState state = new SearchState(smallArray.length,
+                                                  minimumBlocks,
+                                                  getStatistics());
+        final SearchTask[] tasks =
+                new SearchTask[Math.min(threadCount,
+                                        smallArray.length -
+                                        minimumBlocks + 1)];
+
+        for (int i = 0; i < tasks.length; ++i) {
+            tasks[i] = new SearchTask(smallArray, largeArray, state);
+        }
+
+        if (state.statistics != null) {
+            state.statistics.recordThreads(tasks.length);
+        }
+
+        invokeInSharedPool(tasks, state.quit);
+
+        SearchTask best = tasks[0];
+
+        for (final SearchTask task : tasks) {
+            if (best.bestk < task.bestk) {
+                best = task;
+            }
+        }
+
+        if (best.bestk < 0) {
+            throw new IllegalStateException("Should not get here.");
+        }
+
+        return new PartitionPair(best.bestSmallIndices,
+                                 best.bestLargeIndices,
+                                 best.bestk,
+                                 true);
+    }
+
+    /**
+     * Holds the state shared by all search tasks.
+     */
+    static final class SearchState {
+
+        /**
+         * The minimum amount of blocks to search.
+         */
+        final int minimumBlocks;
+
+        /**
+         * The next amount of blocks to search.
+         */
+        final AtomicInteger nextBlocks;
+
+        /**
+         * The largest amount of blocks of a match found so far.
+         */
+        final AtomicInteger bestBlocks = new AtomicInteger();
+
+        /**
+         * Set when the search tasks should stop.
+         */
+        final AtomicBoolean quit = new AtomicBoolean();
+
+        /**
+         * The statistics to record the search in, or <code>null</code>.
+         */
+        final SearchStatistics statistics;
+
+        SearchState(final int maximumBlocks,
+                    final int minimumBlocks,
+                    final SearchStatistics statistics) {
+            this.minimumBlocks = minimumBlocks;
+            this.nextBlocks = new AtomicInteger(maximumBlocks);
+            this.statistics = statistics;
+        }
+
+        /**
+         * Records that a match with <code>blocks</code> blocks was found.
+         *
+         * @param blocks the amount of blocks in the match.
+         */
+        void offer(final int blocks) {
+            int current;
+
+            while ((current = bestBlocks.get()) < blocks) {
+                if (bestBlocks.compareAndSet(current, blocks)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if the search for <code>blocks</code>
+         * blocks cannot produce a better match anymore.
+         *
+         * @param  blocks the amount of blocks.
+         * @return <code>true</code> if the search should be dropped.
+         */
+        boolean isObsolete(final int blocks) {
+            return quit.get() || bestBlocks.get() >= blocks;
+        }
+    }
+
+    /**
+     * Searches through block amounts until none worth searching are left.
+     */
+    static final class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+
+        private final long[] smallArray;
+        private final long[] largeArray;
+        private final SearchState state;
+
+        /**
+         * The best partition of the smaller array found by this task.
+         */
+        final int[] bestSmallIndices;
+
+        /**
+         * The best partition of the larger array found by this task.
+         */
+        final int[] bestLargeIndices;
+
+        /**
+         * The amount of blocks in the best partition found by this task, or
+         * -1 if none found.
+         */
+        int bestk = -1;
+
+        /**
+         * The amount of partition pairs counted by this task.
+         */
+        private long totalInvocations;
+
+        /**
+         * The amount of partition pairs found to be groups by this task.
+         */
+        private long totalHits;
+
+        SearchTask(final long[] smallArray,
+                   final long[] largeArray,
+                   final SearchState state) {
+            this.smallArray = smallArray;
+            this.largeArray = largeArray;
+            this.state = state;
+            this.bestSmallIndices = new int[smallArray.length];
+            this.bestLargeIndices = new int[largeArray.length];
+        }
+
+        @Override
+        protected void compute() {
+            final SearchThreadEvent event =
+                    FlightEvents.AVAILABLE ?
+                    SearchThreadEvent.start("blockwise",
+                                            smallArray.length,
+                                            largeArray.length) :
+                    null;
+
+            try {
+                while (true) {
+                    final int blocks = state.nextBlocks.getAndDecrement();
+
+                    if (blocks < state.minimumBlocks ||
+                            state.isObsolete(blocks)) {
+                        return;
+                    }
+
+                    if (search(blocks)) {
+                        state.offer(blocks);
+                    }
+                }
+            } finally {
+                if (event != null) {
+                    event.finish(totalInvocations, totalHits);
+                }
+            }
+        }
+
+        /**
+         * Searches for matching partitions with <code>blocks</code> blocks.
+         *
+         * @param  blocks the amount of blocks.
+         * @return <code>true</code> if a match was found.
+         */
+        private boolean search(final int blocks) {
+            final BlockSumMatcher matcher = new BlockSumMatcher(blocks);
+            final SpecialPartitionGenerator smallGenerator =
+                    new SpecialPartitionGenerator(smallArray.length,
+                                                  blocks,
+                                                  smallArray);
+            final int[] smallIndices = smallGenerator.getIndices();
+            final long[] smallSums = smallGenerator.getBlockSums();
+            long partitions = 0L;
+            long invocations = 0L;
+            long hits = 0L;
+            int steps = 0;
+
+            try {
+                do {
+                    if (state.isObsolete(blocks)) {
+                        return false;
+                    }
+
+                    ++partitions;
+                    final SpecialPartitionGenerator largeGenerator =
+                            new SpecialPartitionGenerator(largeArray.length,
+                                                          blocks,
+                                                          largeArray);
+                    final int[] largeIndices = largeGenerator.getIndices();
+                    final long[] largeSums = largeGenerator.getBlockSums();
+
+                    do {
+                        // A match with more blocks or a quit request makes the
+                        // rest of the partitions of the larger array moot.
+                        if ((++steps & OBSOLESCENCE_CHECK_MASK) == 0 &&
+                                state.isObsolete(blocks)) {
+                            return false;
+                        }
+
+                        ++partitions;
+                        ++invocations;
+                        final int groups = matcher.countGroups(smallSums,
+                                                               largeSums,
+                                                               blocks);
+
+                        if (groups > 0) {
+                            ++hits;
+                            bestk = blocks;
+
+                            System.arraycopy(smallIndices,
+                                             0,
+                                             bestSmallIndices,
+                                             0,
+                                             smallIndices.length);
+
+                            System.arraycopy(largeIndices,
+                                             0,
+                                             bestLargeIndices,
+                                             0,
+                                             largeIndices.length);
+                            return true;
+                        }
+                    } while (largeGenerator.inc());
+                } while (smallGenerator.inc());
+
+                return false;
+            } finally {
+                if (state.statistics != null) {
+                    state.statistics.recordPartitions(partitions);
+                    state.statistics.recordCountGroups(invocations, hits);
+                }
+
+                totalInvocations += invocations;
+                totalHits += hits;
+            }
+        }
+    }
+}
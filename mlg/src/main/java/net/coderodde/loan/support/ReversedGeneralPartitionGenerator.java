@@ -2,7 +2,8 @@ package net.coderodde.loan.support;
 
 /**
  * The partition generator generates partitions in reverse order (by amount of
- * blocks in the partition). 
+ * blocks in the partition). If weights of the elements are given, the 
+ * generator maintains the sum of weights in each block.
  * 
  * @author Rodion Efremov
  * @version 1.6
@@ -29,6 +30,11 @@ public class ReversedGeneralPartitionGenerator {
      */
     private SpecialPartitionGenerator generator;
     
+    /**
+     * The weights of the elements, or <code>null</code>.
+     */
+    private final long[] weights;
+    
     /**
      * Constructs a new partition generator generating all possible partitions.
      * 
@@ -47,10 +53,27 @@ public class ReversedGeneralPartitionGenerator {
      */
     public ReversedGeneralPartitionGenerator(final int n, 
                                              final int minimumBlocks) {
+        this(n, minimumBlocks, null);
+    }
+    
+    /**
+     * Constructs a new partition generator generating all partitions with at
+     * least <code>minimumBlocks</code> blocks, maintaining the sums of 
+     * <code>weights</code> over each block.
+     * 
+     * @param n             the size of the set to partition.
+     * @param minimumBlocks the minimum amount of blocks in the partition.
+     * @param weights       the weights of the elements, or <code>null</code>
+     *                      for not maintaining block sums.
+     */
+    public ReversedGeneralPartitionGenerator(final int n, 
+                                             final int minimumBlocks,
+                                             final long[] weights) {
         this.minimumBlocks = minimumBlocks;
         this.k = n;
         this.n = n;
-        this.generator = new SpecialPartitionGenerator(n, n);
+        this.weights = weights;
+        this.generator = new SpecialPartitionGenerator(n, n, weights);
     }
 
     /**
@@ -67,7 +90,7 @@ public class ReversedGeneralPartitionGenerator {
         }
         
         if (k > minimumBlocks) {
-            generator = new SpecialPartitionGenerator(n, --k);
+            generator = new SpecialPartitionGenerator(n, --k, weights);
             return true;
         }
         
@@ -83,6 +106,19 @@ public class ReversedGeneralPartitionGenerator {
         return generator.getIndices();
     }
     
+    /**
+     * Returns the sums of weights in each block of the current partition. The
+     * array is updated in place by {@link #inc()} as long as the amount of 
+     * blocks stays the same.
+     * 
+     * @return the array of block sums.
+     * @throws IllegalStateException if this generator was constructed without
+     *                               weights.
+     */
+    public long[] getBlockSums() {
+        return generator.getBlockSums();
+    }
+    
     /**
      * Returns the amount of blocks in the current partition.
      * 
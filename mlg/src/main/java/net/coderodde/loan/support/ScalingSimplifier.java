@@ -0,0 +1,86 @@
+package net.coderodde.loan.support;
+
+import net.coderodde.loan.SearchStatistics;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.Utilities.checkIsGroup;
+import static net.coderodde.loan.Utilities.gcd;
+
+/**
+ * This simplifier divides the non-trivial nodes by their greatest common
+ * divisor before passing them to another simplifier, and multiplies the
+ * solution back. Since a set of nodes is a group if and only if the scaled
+ * set is, the groups are not affected. Amounts that are multiples of, say,
+ * 100 become smaller, which makes the hashing and the sums of the underlying
+ * simplifier cheaper and lets
+ * {@link net.coderodde.loan.support.CachingSimplifier}-like caches share the
+ * solutions of scaled graphs.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class ScalingSimplifier extends Simplifier {
+
+    /**
+     * The simplifier solving the scaled graphs.
+     */
+    private final Simplifier simplifier;
+
+    /**
+     * Constructs a simplifier scaling the graphs for <code>simplifier</code>.
+     *
+     * @param simplifier the simplifier to use.
+     */
+    public ScalingSimplifier(final Simplifier simplifier) {
+        if (simplifier == null) {
+            throw new IllegalArgumentException("'simplifier' is null.");
+        }
+
+        this.simplifier = simplifier;
+    }
+
+    /**
+     * Sets the statistics of both this simplifier and the scaled one.
+     *
+     * @param statistics the statistics, or <code>null</code>.
+     */
+    @Override
+    public void setStatistics(final SearchStatistics statistics) {
+        super.setStatistics(statistics);
+        simplifier.setStatistics(statistics);
+    }
+
+    @Override
+    public long[] simplify(long[] graph) {
+        checkIsGroup(graph);
+
+        if (graph.length == 0) {
+            return graph.clone();
+        }
+
+        final GroupSplit gs = split(graph, getStatistics());
+
+        // If the graph consists of only trivial groups, return.
+        if (gs.trivialGroups.length == graph.length) {
+            return graph.clone();
+        }
+
+        if (gs.nontrivialGroups.length == 0) {
+            return append(gs.trivialGroups, gs.semitrivialGroups);
+        }
+
+        final long divisor = gcd(gs.nontrivialGroups);
+        long[] result;
+
+        if (divisor > 1L) {
+            result = multiply(simplifier.simplify(
+                                  divide(gs.nontrivialGroups, divisor)),
+                              divisor);
+        } else {
+            result = simplifier.simplify(gs.nontrivialGroups);
+        }
+
+        result = append(result, gs.trivialGroups);
+        result = append(result, gs.semitrivialGroups);
+        return result;
+    }
+}
@@ -0,0 +1,437 @@
+package net.coderodde.loan.support;
+
+/**
+ * This class generates all possible partition of a set into exactly <tt>k</tt> 
+ * blocks.
+ * <p>
+ * A partition is represented by a restricted growth string <tt>s</tt>, where 
+ * <tt>s[i]</tt> is the block index of the element <tt>i</tt>, and the 
+ * partitions are generated in lexicographic order of such strings. The 
+ * position of a partition in that order is its <b>rank</b>. A generator may be
+ * constructed to go through only the partitions with ranks in a given range, 
+ * which allows splitting a single sweep among several threads.
+ * <p>
+ * A generator may also be given a weight for each element, in which case it 
+ * maintains the sum of weights in each block. Since an increment usually 
+ * changes only the tail of <tt>s</tt>, the sums are updated only for the 
+ * elements that actually move, which is much cheaper than summing all the 
+ * blocks anew.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public class SpecialPartitionGenerator {
+
+    /**
+     * The total amount of elements in a set.
+     */
+    private final int n;
+    
+    /**
+     * The total amount of blocks.
+     */
+    private final int k;
+    
+    /**
+     * The indices for a partition.
+     */
+    private final int[] s;
+    
+    /**
+     * Internal book-keeping.
+     */
+    private final int[] m;
+    
+    /**
+     * The rank of the current partition.
+     */
+    private long rank;
+    
+    /**
+     * The rank one past the last partition to generate.
+     */
+    private final long toRank;
+    
+    /**
+     * <code>completions[r][j]</code> is the amount of ways to complete a 
+     * partition with <tt>r</tt> elements left, when the elements so far are 
+     * put in <tt>j</tt> blocks. Created on demand.
+     */
+    private long[][] completions;
+    
+    /**
+     * The weights of the elements, or <code>null</code> if block sums are not
+     * maintained.
+     */
+    private final long[] weights;
+    
+    /**
+     * <code>blockSums[j]</code> is the sum of weights of the elements in the
+     * block <tt>j</tt>, or <code>null</code> if no weights were given.
+     */
+    private final long[] blockSums;
+    
+    /**
+     * The smallest index of <tt>s</tt> changed by the last increment.
+     */
+    private int firstChangedIndex;
+
+    /**
+     * Constructs this permutation generator.
+     * 
+     * @param n the size of the list to partition.
+     * @param k the amount of blocks in the partition.
+     */
+    public SpecialPartitionGenerator(final int n, final int k) {
+        this(n, k, null);
+    }
+    
+    /**
+     * Constructs this permutation generator maintaining the sums of 
+     * <code>weights</code> over each block. <code>weights[i]</code> is the 
+     * weight of the element <tt>i</tt>.
+     * 
+     * @param n       the size of the list to partition.
+     * @param k       the amount of blocks in the partition.
+     * @param weights the weights of the elements, or <code>null</code> for not
+     *                maintaining block sums.
+     */
+    public SpecialPartitionGenerator(final int n, 
+                                     final int k, 
+                                     final long[] weights) {
+        check(n, k);
+        checkWeights(n, weights);
+        this.n = n;
+        this.k = k;
+        this.s = new int[n];
+        this.m = new int[n];
+        this.toRank = Long.MAX_VALUE;
+        this.weights = weights;
+        this.blockSums = weights == null ? null : new long[k];
+        
+        for (int i = 0; i < n - k + 1; ++i) {
+            s[i] = m[i] = 0;
+        }
+        
+        for (int i = n - k + 1; i < n; ++i) {
+            s[i] = m[i] = i - n + k;
+        }
+        
+        computeBlockSums();
+    }
+    
+    /**
+     * Constructs this permutation generator for going through the partitions
+     * with ranks at least <code>fromRank</code> and less than 
+     * <code>toRank</code>. The generator starts at the partition with rank 
+     * <code>fromRank</code>.
+     * 
+     * @param n        the size of the list to partition.
+     * @param k        the amount of blocks in the partition.
+     * @param fromRank the rank of the first partition.
+     * @param toRank   the rank one past the last partition.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public SpecialPartitionGenerator(final int n, 
+                                     final int k,
+                                     final long fromRank,
+                                     final long toRank) {
+        this(n, k, fromRank, toRank, null);
+    }
+    
+    /**
+     * Constructs this permutation generator for going through the partitions
+     * with ranks at least <code>fromRank</code> and less than 
+     * <code>toRank</code>, maintaining the sums of <code>weights</code> over
+     * each block.
+     * 
+     * @param n        the size of the list to partition.
+     * @param k        the amount of blocks in the partition.
+     * @param fromRank the rank of the first partition.
+     * @param toRank   the rank one past the last partition.
+     * @param weights  the weights of the elements, or <code>null</code> for 
+     *                 not maintaining block sums.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public SpecialPartitionGenerator(final int n, 
+                                     final int k,
+                                     final long fromRank,
+                                     final long toRank,
+                                     final long[] weights) {
+        check(n, k);
+        checkWeights(n, weights);
+        this.n = n;
+        this.k = k;
+        this.s = new int[n];
+        this.m = new int[n];
+        this.weights = weights;
+        this.blockSums = weights == null ? null : new long[k];
+        this.completions = computeCompletions(n, k);
+        
+        final long count = completions[n - 1][1];
+        
+        if (fromRank < 0L || fromRank >= count) {
+            throw new IllegalArgumentException(
+                    "'fromRank' not within [0, " + count + ").");
+        }
+        
+        if (toRank <= fromRank || toRank > count) {
+            throw new IllegalArgumentException(
+                    "'toRank' not within (" + fromRank + ", " + count + "].");
+        }
+        
+        this.toRank = toRank;
+        unrank(fromRank);
+        computeBlockSums();
+    }
+    
+    /**
+     * Returns the amount of partitions of a set of <code>n</code> elements in
+     * exactly <code>k</code> blocks, which is the Stirling number of the 
+     * second kind.
+     * 
+     * @param  n the size of the set.
+     * @param  k the amount of blocks.
+     * @return the amount of partitions.
+     * @throws ArithmeticException if the amount of partitions does not fit in
+     *                             a <code>long</code>.
+     */
+    public static long count(final int n, final int k) {
+        check(n, k);
+        return computeCompletions(n, k)[n - 1][1];
+    }
+
+    /**
+     * Tries to increment to the next partition. If incremental was successful,
+     * <code>true</code> is returned. Otherwise, <code>false</code> is returned.
+     * The block sums, if maintained, are updated for the elements whose block
+     * changed.
+     * 
+     * @return <code>true</code> if the increment was successful, 
+     *         <code>false</code> otherwise.
+     */
+    public boolean inc() {
+        if (rank + 1 >= toRank) {
+            return false;
+        }
+        
+        ++rank;
+        
+        for (int i = n - 1; i > 0; --i) {
+            if (s[i] < k - 1 && s[i] <= m[i - 1]) {
+                firstChangedIndex = i;
+                move(i, s[i] + 1);
+                m[i] = Math.max(m[i], s[i]);
+                
+                for (int j = i + 1; j < n - k + m[i] + 1; ++j) {
+                    move(j, 0);
+                    m[j] = m[i];
+                }
+                
+                for (int j = n - k + m[i] + 1; j < n; ++j) {
+                    move(j, k - n + j);
+                    m[j] = s[j];
+                }
+                
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Returns the array of indices.
+     * 
+     * @return indices.
+     */
+    public int[] getIndices() {
+        return s;
+    }
+    
+    /**
+     * Returns the rank of the current partition.
+     * 
+     * @return the rank of the current partition.
+     */
+    public long getRank() {
+        return rank;
+    }
+    
+    /**
+     * Returns the smallest index of the indices changed by the last successful
+     * increment. All the indices before it are the same as in the previous 
+     * partition. Before the first increment, returns zero.
+     * 
+     * @return the smallest changed index.
+     */
+    public int getFirstChangedIndex() {
+        return firstChangedIndex;
+    }
+    
+    /**
+     * Returns the sums of weights in each block of the current partition. The
+     * array is updated in place by {@link #inc()}.
+     * 
+     * @return the array of block sums.
+     * @throws IllegalStateException if this generator was constructed without
+     *                               weights.
+     */
+    public long[] getBlockSums() {
+        if (blockSums == null) {
+            throw new IllegalStateException("No weights given.");
+        }
+        
+        return blockSums;
+    }
+    
+    /**
+     * Computes the rank of the partition described by <code>indices</code>, 
+     * which must be a restricted growth string of <tt>n</tt> elements and 
+     * <tt>k</tt> blocks.
+     * 
+     * @param  n       the size of the set.
+     * @param  k       the amount of blocks.
+     * @param  indices the partition.
+     * @return the rank of the partition.
+     */
+    public static long rank(final int n, final int k, final int[] indices) {
+        check(n, k);
+        
+        final long[][] completions = computeCompletions(n, k);
+        long rank = 0L;
+        int max = 0;
+        
+        for (int i = 1; i < n; ++i) {
+            rank += indices[i] * completions[n - 1 - i][max + 1];
+            max = Math.max(max, indices[i]);
+        }
+        
+        return rank;
+    }
+    
+    /**
+     * Sets the current partition to the one with rank <code>rank</code>.
+     * 
+     * @param rank the rank of the partition.
+     */
+    private void unrank(long rank) {
+        this.rank = rank;
+        s[0] = m[0] = 0;
+        
+        for (int i = 1; i < n; ++i) {
+            final int blocks = m[i - 1] + 1;
+            
+            // The amount of partitions for each choice of an existing block.
+            final long existing = completions[n - 1 - i][blocks];
+            final long choice = existing == 0L ? blocks : rank / existing;
+            
+            if (choice < blocks) {
+                s[i] = (int) choice;
+                rank -= choice * existing;
+            } else {
+                s[i] = blocks;
+                rank -= blocks * existing;
+            }
+            
+            m[i] = Math.max(m[i - 1], s[i]);
+        }
+    }
+    
+    /**
+     * Computes the table of completion counts for partitioning <tt>n</tt> 
+     * elements in <tt>k</tt> blocks. The entry <tt>[r][j]</tt> is the amount
+     * of ways to put the last <tt>r</tt> elements to blocks, when the other 
+     * elements occupy <tt>j</tt> blocks.
+     * 
+     * @param  n the size of the set.
+     * @param  k the amount of blocks.
+     * @return the completion table.
+     * @throws ArithmeticException if a count does not fit in a 
+     *                             <code>long</code>.
+     */
+    private static long[][] computeCompletions(final int n, final int k) {
+        final long[][] table = new long[n][k + 2];
+        table[0][k] = 1L;
+        
+        for (int r = 1; r < n; ++r) {
+            // The other n - r elements may occupy at most n - r blocks.
+            for (int j = 1; j <= Math.min(k, n - r); ++j) {
+                final long stay = table[r - 1][j];
+                final long open = table[r - 1][j + 1];
+                
+                if (stay > (Long.MAX_VALUE - open) / j) {
+                    throw new ArithmeticException(
+                            "Too many partitions to rank.");
+                }
+                
+                table[r][j] = j * stay + open;
+            }
+        }
+        
+        return table;
+    }
+    
+    /**
+     * Puts the element <code>index</code> to the block <code>block</code>, 
+     * updating the block sums, if maintained, only if the block changes.
+     * 
+     * @param index the index of the element.
+     * @param block the new block of the element.
+     */
+    private void move(final int index, final int block) {
+        if (weights != null && s[index] != block) {
+            blockSums[s[index]] -= weights[index];
+            blockSums[block] += weights[index];
+        }
+        
+        s[index] = block;
+    }
+    
+    /**
+     * Computes the block sums of the current partition from scratch, if 
+     * weights are given.
+     */
+    private void computeBlockSums() {
+        if (weights == null) {
+            return;
+        }
+        
+        for (int i = 0; i < n; ++i) {
+            blockSums[s[i]] += weights[i];
+        }
+    }
+    
+    /**
+     * Checks that the weights, if given, match the size of the set.
+     * 
+     * @param n       the size of the set being partitioned.
+     * @param weights the weights of the elements.
+     */
+    private static void checkWeights(final int n, final long[] weights) {
+        if (weights != null && weights.length != n) {
+            throw new IllegalArgumentException(
+                    "'weights.length' != 'n'.");
+        }
+    }
+    
+    /**
+     * Checks the size of the set and amount of blocks for sanity.
+     * 
+     * @param n the size of the set being partitioned.
+     * @param k the amount of partition blocks.
+     */
+    private static void check(final int n, final int k) {
+        if (n < 1) {
+            throw new IllegalArgumentException("'n' < 1.");
+        }
+        if (k < 1) {
+            throw new IllegalArgumentException("'k' < 1.");
+        }
+        if (k > n) {
+            throw new IllegalArgumentException("'k' > 'n'.");
+        }
+    }
+}
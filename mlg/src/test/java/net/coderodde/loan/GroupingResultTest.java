@@ -0,0 +1,151 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.loan.support.CachingSimplifier;
+import net.coderodde.loan.support.CombinatorialSimplifierV1;
+import net.coderodde.loan.support.CombinatorialSimplifierV2;
+import net.coderodde.loan.support.CombinatorialSimplifierV3;
+import net.coderodde.loan.support.CombinatorialSimplifierV4;
+import net.coderodde.loan.support.DynamicProgrammingSimplifier;
+import net.coderodde.loan.support.GreedyCombinatorialSimplifier;
+import net.coderodde.loan.support.PartitionalSimplifierV1;
+import net.coderodde.loan.support.PartitionalSimplifierV2;
+import net.coderodde.loan.support.PartitionalSimplifierV3;
+import net.coderodde.loan.support.PartitionalSimplifierV4;
+import net.coderodde.loan.support.PartitionalSimplifierV5;
+import net.coderodde.loan.support.PartitionalSimplifierV6;
+import net.coderodde.loan.support.PartitionalSimplifierV7;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GroupingResultTest {
+
+    @Test
+    public void testGroupingResult() {
+        final long[] graph = { 3L, -3L, 5L, 0L, -2L, -3L };
+        final GroupingResult result =
+                new GroupingResult(new int[]{ 2, 4, 5, 3, 0, 1 },
+                                   new int[]{ 0, 3, 4, 6 });
+
+        assertEquals(3, result.getGroupCount());
+        assertArrayEquals(new int[]{ 3 }, result.getGroup(1));
+        assertArrayEquals(new int[]{ 0, 1 }, result.getGroup(2));
+        assertArrayEquals(new long[]{ 5L, -2L, -3L, 0L, 3L, -3L },
+                          result.toGraph(graph));
+    }
+
+    @Test
+    public void testGettersReturnCopies() {
+        final GroupingResult result =
+                new GroupingResult(new int[]{ 1, 0 }, new int[]{ 0, 2 });
+
+        result.getOrder()[0] = 0;
+        result.getGroupBoundaries()[1] = 1;
+
+        assertArrayEquals(new int[]{ 1, 0 }, result.getOrder());
+        assertArrayEquals(new int[]{ 0, 2 }, result.getGroupBoundaries());
+    }
+
+    @Test
+    public void testGroupAgreesWithSimplify() {
+        final Random rnd = new Random(13L);
+        final Simplifier[] simplifiers = {
+            new CombinatorialSimplifierV1(),
+            new CombinatorialSimplifierV2(),
+            new CombinatorialSimplifierV3(),
+            new CombinatorialSimplifierV4(),
+            new DynamicProgrammingSimplifier(),
+            new GreedyCombinatorialSimplifier(),
+            new PartitionalSimplifierV4(),
+            new CachingSimplifier(new DynamicProgrammingSimplifier())
+        };
+
+        for (int round = 0; round < 10; ++round) {
+            final long[] graph =
+                    Utilities.createEquityArray(12, rnd, 10L, 0.2f);
+
+            // Add duplicates, trivial and semi-trivial groups.
+            final long[] extended = Arrays.copyOf(graph, graph.length + 4);
+            extended[graph.length] = graph[0];
+            extended[graph.length + 1] = -graph[0];
+            extended[graph.length + 2] = 0L;
+
+            for (final Simplifier simplifier : simplifiers) {
+                final GroupingResult result = simplifier.group(extended);
+                final int[] order = result.getOrder().clone();
+                final long[] solution = result.toGraph(extended);
+
+                Arrays.sort(order);
+
+                for (int i = 0; i < order.length; ++i) {
+                    assertEquals(i, order[i]);
+                }
+
+                assertArrayEquals(simplifier.simplify(extended), solution);
+                assertEquals(countGroups(solution), result.getGroupCount());
+
+                for (int g = 0; g < result.getGroupCount(); ++g) {
+                    long sum = 0L;
+
+                    for (final int i : result.getGroup(g)) {
+                        sum += extended[i];
+                    }
+
+                    assertEquals(0L, sum);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPartitionalGroupAgreesWithSimplify() {
+        final Random rnd = new Random(17L);
+        final Simplifier[] simplifiers = {
+            new PartitionalSimplifierV1(),
+            new PartitionalSimplifierV2(),
+            new PartitionalSimplifierV3(),
+            new PartitionalSimplifierV4(),
+            new PartitionalSimplifierV5(),
+            new PartitionalSimplifierV6(2),
+            new PartitionalSimplifierV7(2)
+        };
+
+        for (int round = 0; round < 10; ++round) {
+            final long[] graph =
+                    Utilities.createEquityArray(10, rnd, 10L, 0.2f);
+            final long[] extended = Arrays.copyOf(graph, graph.length + 3);
+            extended[graph.length] = graph[0];
+            extended[graph.length + 1] = -graph[0];
+
+            for (final Simplifier simplifier : simplifiers) {
+                final GroupingResult result = simplifier.group(extended);
+                final int[] order = result.getOrder();
+                final long[] solution = result.toGraph(extended);
+
+                Arrays.sort(order);
+
+                for (int i = 0; i < order.length; ++i) {
+                    assertEquals(i, order[i]);
+                }
+
+                // The threaded searches may find a different optimal
+                // solution, so only the amount of groups is compared.
+                assertEquals(countGroups(simplifier.simplify(extended)),
+                             result.getGroupCount());
+                assertEquals(countGroups(solution), result.getGroupCount());
+
+                for (int g = 0; g < result.getGroupCount(); ++g) {
+                    long sum = 0L;
+
+                    for (final int i : result.getGroup(g)) {
+                        sum += extended[i];
+                    }
+
+                    assertEquals(0L, sum);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+import java.util.Random;
+import net.coderodde.loan.support.DynamicProgrammingSimplifier;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LoanGraphTest {
+
+    @Test
+    public void testEquitiesAndComponents() {
+        final LoanGraph graph = new LoanGraph(6);
+        graph.addArc(0, 2, 10L);
+        graph.addArc(2, 4, 3L);
+        graph.addArc(3, 1, 7L);
+
+        assertEquals(6, graph.getNodeCount());
+        assertEquals(3, graph.getArcCount());
+        assertTrue(Arrays.equals(new long[]{ 10L, -7L, -7L, 7L, -3L, 0L },
+                                 graph.getEquities()));
+
+        final int[][] components = graph.getComponents();
+
+        assertEquals(3, components.length);
+        assertTrue(Arrays.equals(new int[]{ 0, 2, 4 }, components[0]));
+        assertTrue(Arrays.equals(new int[]{ 1, 3 }, components[1]));
+        assertTrue(Arrays.equals(new int[]{ 5 }, components[2]));
+    }
+
+    @Test
+    public void testSimplify() {
+        final Random rnd = new Random(3L);
+        final int componentCount = 20;
+        final int componentSize = 8;
+        final LoanGraph graph =
+                new LoanGraph(componentCount * componentSize);
+        final Simplifier simplifier = new DynamicProgrammingSimplifier();
+        int expectedGroups = 0;
+
+        for (int c = 0; c < componentCount; ++c) {
+            final int base = c * componentSize;
+
+            for (int i = 0; i < 3 * componentSize; ++i) {
+                graph.addArc(base + rnd.nextInt(componentSize),
+                             base + rnd.nextInt(componentSize),
+                             1L + rnd.nextInt(20));
+            }
+        }
+
+        for (final int[] component : graph.getComponents()) {
+            final long[] equities = new long[component.length];
+
+            for (int i = 0; i < component.length; ++i) {
+                equities[i] = graph.getEquities()[component[i]];
+            }
+
+            expectedGroups += countGroups(simplifier.simplify(equities));
+        }
+
+        final long[] result = graph.simplify(simplifier);
+        assertSamePermutation(graph.getEquities(), result);
+        assertEquals(expectedGroups, countGroups(result));
+    }
+
+    @Test
+    public void testGroup() {
+        final LoanGraph graph = new LoanGraph(7);
+        graph.addArc(0, 1, 5L);
+        graph.addArc(2, 3, 5L);
+        graph.addArc(1, 4, 2L);
+        graph.addArc(5, 6, 4L);
+
+        final GroupingResult result =
+                graph.group(new DynamicProgrammingSimplifier());
+        final long[] equities = graph.getEquities();
+
+        // Components { 0, 1, 4 }, { 2, 3 } and { 5, 6 }.
+        assertEquals(3, result.getGroupCount());
+        assertArrayEquals(graph.simplify(new DynamicProgrammingSimplifier()),
+                          result.toGraph(equities));
+
+        for (int g = 0; g < result.getGroupCount(); ++g) {
+            long sum = 0L;
+
+            for (final int node : result.getGroup(g)) {
+                sum += equities[node];
+            }
+
+            assertEquals(0L, sum);
+        }
+
+        final int[] group = result.getGroup(1);
+        Arrays.sort(group);
+        assertArrayEquals(new int[]{ 2, 3 }, group);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddArcThrowsOnBadNode() {
+        new LoanGraph(3).addArc(0, 3, 1L);
+    }
+}
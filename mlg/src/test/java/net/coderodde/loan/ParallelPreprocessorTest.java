@@ -0,0 +1,90 @@
+package net.coderodde.loan;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ParallelPreprocessorTest {
+
+    @Test
+    public void testSplitAgreesWithSerial() {
+        final Random rnd = new Random(5L);
+
+        for (final int length : new int[]{ 0, 1, 17, 100000 }) {
+            for (final int range : new int[]{ 3, 1000, 1000000 }) {
+                final long[] graph = new long[length];
+
+                for (int i = 0; i < length; ++i) {
+                    graph[i] = rnd.nextInt(2 * range + 1) - range;
+                }
+
+                final Simplifier.GroupSplit expected = Simplifier.split(graph);
+                final Simplifier.GroupSplit actual =
+                        ParallelPreprocessor.split(graph);
+
+                assertArrayEquals(expected.trivialGroups,
+                                  actual.trivialGroups);
+                assertArrayEquals(expected.semitrivialGroups,
+                                  actual.semitrivialGroups);
+                assertArrayEquals(expected.nontrivialGroups,
+                                  actual.nontrivialGroups);
+            }
+        }
+    }
+
+    @Test
+    public void testSplitBySignAgreesWithSerial() {
+        final Random rnd = new Random(6L);
+        final long[] graph = new long[100000];
+
+        for (int i = 0; i < graph.length; ++i) {
+            graph[i] = rnd.nextBoolean() ?
+                       1L + rnd.nextInt(1000) :
+                       -1L - rnd.nextInt(1000);
+        }
+
+        final Simplifier.GraphSplit expected = Simplifier.splitBySign(graph);
+        final Simplifier.GraphSplit actual =
+                ParallelPreprocessor.splitBySign(graph);
+
+        assertArrayEquals(expected.positiveArray, actual.positiveArray);
+        assertArrayEquals(expected.negativeArray, actual.negativeArray);
+
+        graph[70000] = 0L;
+        graph[40000] = 0L;
+
+        try {
+            ParallelPreprocessor.splitBySign(graph);
+            fail("A zero node should not be accepted.");
+        } catch (final IllegalArgumentException iae) {
+            assertEquals("Zero element at index 40000.", iae.getMessage());
+        }
+    }
+
+    @Test
+    public void testGroupChecksAgreeWithSerial() {
+        final Random rnd = new Random(7L);
+        final long[] graph = new long[100000];
+        long sum = 0L;
+
+        for (int i = 0; i < graph.length - 1; ++i) {
+            graph[i] = rnd.nextInt(21) - 10;
+            sum += graph[i];
+        }
+
+        graph[graph.length - 1] = -sum;
+
+        assertTrue(ParallelPreprocessor.isGroup(graph));
+        assertEquals(Utilities.countGroups(graph),
+                     ParallelPreprocessor.countGroups(graph));
+
+        ++graph[12345];
+
+        assertFalse(ParallelPreprocessor.isGroup(graph));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCountGroupsThrowsOnNonGroup() {
+        ParallelPreprocessor.countGroups(new long[]{ 1L, 2L, -2L });
+    }
+}
@@ -0,0 +1,175 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import net.coderodde.loan.support.CachingSimplifier;
+import net.coderodde.loan.support.CombinatorialSimplifierV2;
+import net.coderodde.loan.support.GreedyCombinatorialSimplifier;
+import net.coderodde.loan.support.PartitionalSimplifierV1;
+import net.coderodde.loan.support.PartitionalSimplifierV6;
+import static net.coderodde.loan.Utilities.createEquityArray;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SearchStatisticsTest {
+
+    private static long[] createGraph(final long seed) {
+        return createEquityArray(10, new Random(seed), 20L, 0.3f);
+    }
+
+    @Test
+    public void testPartitionalSearch() {
+        final long[] graph = createGraph(1L);
+        final SearchStatistics statistics = new SearchStatistics();
+        final Simplifier simplifier = new PartitionalSimplifierV1();
+        final long[] expected = simplifier.simplify(graph);
+
+        simplifier.setStatistics(statistics);
+
+        assertSame(statistics, simplifier.getStatistics());
+        assertTrue(Arrays.equals(expected, simplifier.simplify(graph)));
+        assertTrue(statistics.getPartitionsVisited() >
+                   statistics.getCountGroupsInvocations());
+        assertTrue(statistics.getCountGroupsInvocations() > 0L);
+        assertTrue(statistics.getCountGroupsHits() > 0L);
+        assertEquals(1L, statistics.getSplits());
+        assertEquals(0L, statistics.getBipartitionsTried());
+    }
+
+    @Test
+    public void testCombinatorialSearch() {
+        final SearchStatistics statistics = new SearchStatistics();
+        final Simplifier simplifier = new CombinatorialSimplifierV2();
+
+        simplifier.setStatistics(statistics);
+        simplifier.simplify(new long[]{ 1L, 2L, 3L, -1L, -2L, -3L, 5L, -5L });
+
+        // The split leaves nothing to search for.
+        assertEquals(0L, statistics.getBipartitionsTried());
+
+        simplifier.simplify(new long[]{ 1L, 2L, -3L, 4L, 5L, -9L });
+
+        assertTrue(statistics.getBipartitionsTried() > 0L);
+        assertTrue(statistics.getMaximumRecursionDepth() >= 2L);
+        assertEquals(2L, statistics.getSplits());
+    }
+
+    @Test
+    public void testGreedySearch() {
+        final SearchStatistics statistics = new SearchStatistics();
+        final Simplifier simplifier = new GreedyCombinatorialSimplifier();
+
+        simplifier.setStatistics(statistics);
+        simplifier.simplify(createGraph(2L));
+
+        assertTrue(statistics.getCombinationsGenerated() > 0L);
+    }
+
+    @Test
+    public void testThreadsAndCache() {
+        final SearchStatistics statistics = new SearchStatistics();
+        final Simplifier simplifier =
+                new CachingSimplifier(new PartitionalSimplifierV6(2));
+        final long[] graph = createGraph(3L);
+
+        simplifier.setStatistics(statistics);
+        simplifier.simplify(graph);
+        simplifier.simplify(graph);
+
+        assertEquals(2L, statistics.getThreadsSpawned());
+        assertEquals(1L, statistics.getCacheHits());
+        assertEquals(1L, statistics.getCacheMisses());
+        assertTrue(statistics.getCountGroupsHits() > 0L);
+    }
+
+    @Test
+    public void testPerRunStatistics() throws InterruptedException {
+        final long[] graph = createGraph(4L);
+        final Simplifier simplifier = new PartitionalSimplifierV1();
+        final SearchStatistics reference = new SearchStatistics();
+        final SearchStatistics instanceStatistics = new SearchStatistics();
+
+        simplifier.simplify(graph, reference);
+        simplifier.setStatistics(instanceStatistics);
+
+        final SearchStatistics[] runs = new SearchStatistics[4];
+        final Thread[] threads = new Thread[runs.length];
+
+        for (int i = 0; i < threads.length; ++i) {
+            final SearchStatistics statistics = new SearchStatistics();
+            runs[i] = statistics;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    simplifier.simplify(graph, statistics);
+                }
+            };
+        }
+
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        for (final SearchStatistics statistics : runs) {
+            assertEquals(1L, statistics.getSplits());
+            assertEquals(reference.getPartitionsVisited(),
+                         statistics.getPartitionsVisited());
+        }
+
+        assertEquals(0L, instanceStatistics.getSplits());
+        assertSame(instanceStatistics, simplifier.getStatistics());
+    }
+
+    @Test
+    public void testPerRunStatisticsReachDecoratedSimplifier() {
+        final long[] graph = createGraph(5L);
+        final SearchStatistics reference = new SearchStatistics();
+        final SearchStatistics statistics = new SearchStatistics();
+
+        new PartitionalSimplifierV1().simplify(graph, reference);
+        new CachingSimplifier(new PartitionalSimplifierV1())
+                .simplify(graph, statistics);
+
+        assertEquals(1L, statistics.getCacheMisses());
+        assertEquals(reference.getPartitionsVisited(),
+                     statistics.getPartitionsVisited());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullRunStatistics() {
+        new PartitionalSimplifierV1().simplify(createGraph(5L), null);
+    }
+
+    @Test
+    public void testExportAndReset() {
+        final SearchStatistics statistics = new SearchStatistics();
+        final Map<String, Long> metrics = new LinkedHashMap<>();
+
+        statistics.recordBipartitions(10L, 3);
+        statistics.recordBipartitions(5L, 2);
+        statistics.recordCacheLookup(true);
+        statistics.exportTo(new MetricsSink() {
+            @Override
+            public void record(final String name, final long value) {
+                metrics.put(name, value);
+            }
+        });
+
+        assertEquals(11, metrics.size());
+        assertEquals(Long.valueOf(15L), metrics.get("bipartitionsTried"));
+        assertEquals(Long.valueOf(3L), metrics.get("maximumRecursionDepth"));
+        assertEquals(Long.valueOf(1L), metrics.get("cacheHits"));
+
+        statistics.reset();
+
+        assertEquals(0L, statistics.getBipartitionsTried());
+        assertEquals(0L, statistics.getMaximumRecursionDepth());
+        assertEquals(0L, statistics.getCacheHits());
+    }
+}
@@ -0,0 +1,91 @@
+package net.coderodde.loan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import net.coderodde.loan.support.DynamicProgrammingSimplifier;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SettlementPlannerTest {
+
+    @Test
+    public void testPlan() {
+        final List<long[]> arcs = new ArrayList<>();
+        final SettlementPlanner planner =
+                new SettlementPlanner(new SettlementListener() {
+
+            @Override
+            public void onArc(final int payer,
+                              final int payee,
+                              final long amount) {
+                arcs.add(new long[]{ payer, payee, amount });
+            }
+        });
+
+        // Groups <2 5 -7>, <0>, <-4 1 3>.
+        final long[] solution = { 2L, 5L, -7L, 0L, -4L, 1L, 3L };
+
+        assertEquals(4L, planner.plan(solution, new int[]{ 10, 11, 12, 13,
+                                                           14, 15, 16 }));
+        assertEquals(4, arcs.size());
+        assertArrayEquals(new long[]{ 12L, 10L, 2L }, arcs.get(0));
+        assertArrayEquals(new long[]{ 12L, 11L, 5L }, arcs.get(1));
+        assertArrayEquals(new long[]{ 14L, 15L, 1L }, arcs.get(2));
+        assertArrayEquals(new long[]{ 14L, 16L, 3L }, arcs.get(3));
+    }
+
+    @Test
+    public void testPlanSettlesEquities() {
+        final Random rnd = new Random(9L);
+        final long[] graph = Utilities.createEquityArray(14, rnd, 50L, 0.3f);
+        final long[] solution =
+                new DynamicProgrammingSimplifier().simplify(graph);
+        final long[] balances = solution.clone();
+        final SettlementPlanner planner =
+                new SettlementPlanner(new SettlementListener() {
+
+            @Override
+            public void onArc(final int payer,
+                              final int payee,
+                              final long amount) {
+                assertTrue(amount > 0L);
+                balances[payer] += amount;
+                balances[payee] -= amount;
+            }
+        });
+
+        assertEquals(solution.length - countGroups(solution),
+                     planner.plan(solution));
+
+        for (final long balance : balances) {
+            assertEquals(0L, balance);
+        }
+    }
+
+    @Test
+    public void testPlanGrouping() {
+        final List<long[]> arcs = new ArrayList<>();
+        final SettlementPlanner planner =
+                new SettlementPlanner(new SettlementListener() {
+
+            @Override
+            public void onArc(final int payer,
+                              final int payee,
+                              final long amount) {
+                arcs.add(new long[]{ payer, payee, amount });
+            }
+        });
+
+        // Equal equities are told apart by the node indices.
+        final long[] graph = { 4L, -4L, 4L, -4L };
+        final GroupingResult grouping =
+                new GroupingResult(new int[]{ 0, 3, 2, 1 },
+                                   new int[]{ 0, 2, 4 });
+
+        assertEquals(2L, planner.plan(graph, grouping));
+        assertArrayEquals(new long[]{ 3L, 0L, 4L }, arcs.get(0));
+        assertArrayEquals(new long[]{ 1L, 2L, 4L }, arcs.get(1));
+    }
+}
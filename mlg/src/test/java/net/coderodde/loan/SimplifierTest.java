@@ -1,15 +1,17 @@
 package net.coderodde.loan;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 import net.coderodde.loan.Simplifier.GraphSplit;
 import net.coderodde.loan.Simplifier.GroupSplit;
 import static net.coderodde.loan.Simplifier.append;
+import static net.coderodde.loan.Simplifier.deposit;
+import static net.coderodde.loan.Simplifier.flatten;
+import static net.coderodde.loan.Simplifier.fullSet;
 import static net.coderodde.loan.Simplifier.intLog2;
 import static net.coderodde.loan.Simplifier.mypow;
 import static net.coderodde.loan.Simplifier.split;
 import static net.coderodde.loan.Simplifier.splitBySign;
+import static net.coderodde.loan.Simplifier.sum;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -76,29 +78,22 @@ public class SimplifierTest {
     }
     
     @Test
-    public void testListSplit() {
-        final List<Long> list = new ArrayList<>();
+    public void testMasks() {
+        final long[] nodes = new long[]{ 3L, -1L, 4L, -2L, -4L };
         
-        for (int i = 0; i < 10; ++i) {
-            list.add((long) i);
-        }
+        assertEquals(0L, fullSet(0));
+        assertEquals(31L, fullSet(5));
+        assertEquals(0L, sum(nodes, fullSet(5)));
+        assertEquals(-7L, sum(nodes, 0b11010L));
         
-        final boolean[] flags = new boolean[list.size()];
-        flags[1] = flags[3] = flags[7] = true;
+        assertEquals(0b00000L, deposit(0b000L, 0b10110L));
+        assertEquals(0b00010L, deposit(0b001L, 0b10110L));
+        assertEquals(0b10100L, deposit(0b110L, 0b10110L));
         
-        final List<Long>[] result = split(list, flags);
+        final long[] result = flatten(nodes, new long[]{ 0b10100L, 0b01011L });
         
-        assertEquals(1, (long) result[0].get(0));
-        assertEquals(3, (long) result[0].get(1));
-        assertEquals(7, (long) result[0].get(2));
-        
-        assertEquals(0, (long) result[1].get(0));
-        assertEquals(2, (long) result[1].get(1));
-        assertEquals(4, (long) result[1].get(2));
-        assertEquals(5, (long) result[1].get(3));
-        assertEquals(6, (long) result[1].get(4));
-        assertEquals(8, (long) result[1].get(5));
-        assertEquals(9, (long) result[1].get(6));
+        assertTrue(Arrays.equals(new long[]{ 4L, -4L, 3L, -1L, -2L }, 
+                                 result));
     }
     
     @Test
@@ -0,0 +1,128 @@
+package net.coderodde.loan;
+
+import java.util.Arrays;
+import java.util.Random;
+import static net.coderodde.loan.Utilities.countGroups;
+import static net.coderodde.loan.Utilities.createEquityArray;
+import static org.junit.Assert.*;
+
+/**
+ * This class contains the graph factories and assertions shared by the tests
+ * of the simplifiers.
+ *
+ * @author Rodion Efremov
+ * @version 1.6
+ */
+public final class TestUtilities {
+
+    private TestUtilities() {}
+
+    /**
+     * Asserts that <code>actual</code> is a permutation of
+     * <code>expected</code>.
+     *
+     * @param expected the expected nodes.
+     * @param actual   the actual nodes.
+     */
+    public static void assertSamePermutation(final long[] expected,
+                                             final long[] actual) {
+        final long[] a = expected.clone();
+        final long[] b = actual.clone();
+        Arrays.sort(a);
+        Arrays.sort(b);
+        assertTrue(Arrays.equals(a, b));
+    }
+
+    /**
+     * Creates a random graph of at least two and at most
+     * <code>maxNodes</code> nodes of weight at most 20.
+     *
+     * @param  rnd      the random number generator.
+     * @param  maxNodes the maximum amount of nodes.
+     * @return a random graph.
+     */
+    public static long[] randomGraph(final Random rnd, final int maxNodes) {
+        return createEquityArray(2 + rnd.nextInt(maxNodes - 1),
+                                 rnd,
+                                 20L,
+                                 0.3f);
+    }
+
+    /**
+     * Creates a group of large random nodes, which with overwhelming
+     * probability has no proper subgroups.
+     *
+     * @param  rnd           the random number generator.
+     * @param  positiveCount the amount of positive nodes.
+     * @param  negativeCount the amount of negative nodes.
+     * @return a group without proper subgroups.
+     */
+    public static long[] withoutSubgroups(final Random rnd,
+                                          final int positiveCount,
+                                          final int negativeCount) {
+        final long[] graph = new long[positiveCount + negativeCount];
+        long sum = 0L;
+
+        for (int i = 0; i < positiveCount; ++i) {
+            graph[i] = 1L + (long)(rnd.nextDouble() * 1e12);
+            sum += graph[i];
+        }
+
+        final long averageNegative = -sum / negativeCount;
+
+        for (int i = 0; i < negativeCount - 1; ++i) {
+            graph[positiveCount + i] = averageNegative - rnd.nextInt(1000);
+            sum += graph[positiveCount + i];
+        }
+
+        graph[graph.length - 1] = -sum;
+        return graph;
+    }
+
+    /**
+     * Simplifies <code>iterations</code> random graphs of at most
+     * <code>maxNodes</code> nodes and asserts that <code>simplifier</code>
+     * returns a permutation of each graph with as many groups as
+     * <code>reference</code>.
+     *
+     * @param message    the message of a failed assertion.
+     * @param simplifier the simplifier to check.
+     * @param reference  the reference simplifier.
+     * @param rnd        the random number generator.
+     * @param iterations the amount of graphs to simplify.
+     * @param maxNodes   the maximum amount of nodes in a graph.
+     */
+    public static void assertMatchesReference(final String message,
+                                              final Simplifier simplifier,
+                                              final Simplifier reference,
+                                              final Random rnd,
+                                              final int iterations,
+                                              final int maxNodes) {
+        for (int iteration = 0; iteration < iterations; ++iteration) {
+            final long[] graph = randomGraph(rnd, maxNodes);
+            final long[] result = simplifier.simplify(graph);
+
+            assertSamePermutation(graph, result);
+            assertEquals(message,
+                         countGroups(reference.simplify(graph)),
+                         countGroups(result));
+        }
+    }
+
+    /**
+     * Equivalent to {@link #assertMatchesReference(String, Simplifier,
+     * Simplifier, Random, int, int)} without a message.
+     */
+    public static void assertMatchesReference(final Simplifier simplifier,
+                                              final Simplifier reference,
+                                              final Random rnd,
+                                              final int iterations,
+                                              final int maxNodes) {
+        assertMatchesReference(null,
+                               simplifier,
+                               reference,
+                               rnd,
+                               iterations,
+                               maxNodes);
+    }
+}
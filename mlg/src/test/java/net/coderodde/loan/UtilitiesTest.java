@@ -1,7 +1,10 @@
 package net.coderodde.loan;
 
+import java.util.Arrays;
 import static net.coderodde.loan.Utilities.countGroups;
+import static net.coderodde.loan.Utilities.gcd;
 import static net.coderodde.loan.Utilities.isGroup;
+import static net.coderodde.loan.Utilities.nontrivialNodes;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -23,4 +26,21 @@ public class UtilitiesTest {
     public void testCountGroupsThrowsOnNonGroup() {
         countGroups(new long[]{ -1L, 3L, -2L, 0, 10L, -4L, 7L});
     }
+    
+    @Test
+    public void testNontrivialNodes() {
+        final long[] nodes = 
+                nontrivialNodes(new long[]{ 0L, 3L, -3L, 2L, 1L, -3L, 0L });
+        Arrays.sort(nodes);
+        assertTrue(Arrays.equals(new long[]{ -3L, 1L, 2L }, nodes));
+    }
+    
+    @Test
+    public void testGcd() {
+        assertEquals(0L, gcd(new long[0]));
+        assertEquals(0L, gcd(new long[]{ 0L, 0L }));
+        assertEquals(6L, gcd(new long[]{ -12L, 18L, 0L, 30L }));
+        assertEquals(1L, gcd(new long[]{ 4L, -6L, 9L }));
+        assertEquals(7L, gcd(new long[]{ -7L }));
+    }
 }
@@ -0,0 +1,95 @@
+package net.coderodde.loan;
+
+import java.util.Random;
+import net.coderodde.loan.support.DynamicProgrammingSimplifier;
+import net.coderodde.loan.support.GreedyCombinatorialSimplifier;
+import static net.coderodde.loan.Utilities.countGroups;
+import static net.coderodde.loan.Utilities.isGroup;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class WorkloadGeneratorTest {
+
+    @Test
+    public void testStructure() {
+        final WorkloadGenerator generator =
+                new WorkloadGenerator(new Random(1L), 1000L);
+        final Workload workload =
+                generator.generate(new int[]{ 4, 4, 4 }, 2, 3, 4, 6);
+        final long[] graph = workload.getGraph();
+        int zeros = 0;
+
+        for (final long node : graph) {
+            if (node == 0L) {
+                ++zeros;
+            }
+        }
+
+        assertTrue(isGroup(graph));
+        assertEquals(4 + 4 + 4 + 2 * 4 + 3 * 2 + 4 + 6, graph.length);
+        assertTrue(zeros >= 4);
+        assertEquals(3 + 2 + 3 + 4 + 1, workload.getPlantedGroupCount());
+    }
+
+    @Test
+    public void testPlantedGroupsAreLowerBound() {
+        final WorkloadGenerator generator =
+                new WorkloadGenerator(new Random(2L), 1000000L);
+        final Simplifier optimal = new DynamicProgrammingSimplifier();
+        final Simplifier greedy = new GreedyCombinatorialSimplifier();
+
+        for (int i = 0; i < 20; ++i) {
+            final Workload workload =
+                    generator.generate(new int[]{ 2, 3, 4 }, 1, 1, 1, 3);
+            final long[] graph = workload.getGraph();
+            final int optimum = countGroups(optimal.simplify(graph));
+
+            assertTrue(optimum >= workload.getPlantedGroupCount());
+            assertTrue(countGroups(greedy.simplify(graph)) <= optimum);
+        }
+    }
+
+    @Test
+    public void testLargeGraph() {
+        final Workload workload =
+                new WorkloadGenerator(new Random(3L), 1000000000L)
+                        .generate(250000, 4);
+
+        assertEquals(1000000, workload.getGraph().length);
+        assertEquals(250000, workload.getPlantedGroupCount());
+        assertTrue(isGroup(workload.getGraph()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnSingletonGroup() {
+        new WorkloadGenerator(new Random(), 10L)
+                .generate(new int[]{ 1 }, 0, 0, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnSingletonNoise() {
+        new WorkloadGenerator(new Random(), 10L)
+                .generate(new int[0], 0, 0, 0, 1);
+    }
+
+    @Test
+    public void testLargestWeights() {
+        final Workload workload =
+                new WorkloadGenerator(new Random(4L), Long.MAX_VALUE / 2L)
+                        .generate(new int[]{ 2, 3 }, 0, 0, 0, 3);
+
+        assertTrue(isGroup(workload.getGraph()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnOverflowingGroup() {
+        new WorkloadGenerator(new Random(), Long.MAX_VALUE / 2L + 1L)
+                .generate(new int[]{ 3 }, 0, 0, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThrowsOnOverflowingNoise() {
+        new WorkloadGenerator(new Random(), Long.MAX_VALUE / 2L + 1L)
+                .generate(new int[0], 0, 0, 0, 3);
+    }
+}
@@ -0,0 +1,87 @@
+package net.coderodde.loan.jfr;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.coderodde.loan.Simplifier;
+import net.coderodde.loan.support.PartitionalSimplifierV1;
+import net.coderodde.loan.support.PartitionalSimplifierV4;
+import net.coderodde.loan.support.PartitionalSimplifierV6;
+import static net.coderodde.loan.Utilities.createEquityArray;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FlightEventsTest {
+
+    private static final String[] EVENT_NAMES = {
+        "net.coderodde.loan.Split",
+        "net.coderodde.loan.SignSplit",
+        "net.coderodde.loan.PartitionLevel",
+        "net.coderodde.loan.SearchThread",
+        "net.coderodde.loan.BuildSolution",
+    };
+
+    @Test
+    public void testEvents() throws IOException {
+        assertTrue(FlightEvents.AVAILABLE);
+
+        final long[] graph =
+                createEquityArray(10, new Random(1L), 20L, 0.3f);
+        final Simplifier[] simplifiers = {
+            new PartitionalSimplifierV1(),
+            new PartitionalSimplifierV4(),
+            new PartitionalSimplifierV6(2),
+        };
+        final File file = File.createTempFile("mlg", ".jfr");
+        final Map<String, Integer> counts = new HashMap<>();
+
+        try (final Recording recording = new Recording()) {
+            for (final String name : EVENT_NAMES) {
+                recording.enable(name).withoutThreshold();
+            }
+
+            recording.start();
+
+            for (final Simplifier simplifier : simplifiers) {
+                simplifier.simplify(graph);
+            }
+
+            recording.stop();
+            recording.dump(file.toPath());
+
+            for (final RecordedEvent event :
+                    RecordingFile.readAllEvents(file.toPath())) {
+                final String name = event.getEventType().getName();
+                final Integer count = counts.get(name);
+                counts.put(name, count == null ? 1 : count + 1);
+
+                if (name.equals("net.coderodde.loan.Split")) {
+                    assertEquals(graph.length, event.getInt("nodes"));
+                }
+            }
+        } finally {
+            file.delete();
+        }
+
+        assertEquals(Integer.valueOf(3),
+                     counts.get("net.coderodde.loan.Split"));
+        assertEquals(Integer.valueOf(2),
+                     counts.get("net.coderodde.loan.SearchThread"));
+
+        for (final String name : EVENT_NAMES) {
+            assertTrue(name, counts.containsKey(name));
+        }
+    }
+
+    @Test
+    public void testNoEventsWhenNotRecording() {
+        assertNull(SplitEvent.start(10));
+        assertNull(SearchThreadEvent.start("forward", 2, 3));
+        assertFalse(PartitionLevelEvent.isRecording());
+    }
+}
@@ -0,0 +1,78 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.AnytimeSimplifier;
+import net.coderodde.loan.SimplificationResult;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.TestUtilities.randomGraph;
+import static net.coderodde.loan.TestUtilities.withoutSubgroups;
+import static net.coderodde.loan.Utilities.countGroups;
+import static net.coderodde.loan.Utilities.createEquityArray;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AnytimeSimplifierTest {
+
+    private static final Simplifier[] SIMPLIFIERS = {
+        new PartitionalSimplifierV3(),
+        new PartitionalSimplifierV4(),
+        new BranchAndBoundSimplifier()
+    };
+
+    @Test
+    public void testExpiredBudgetReturnsPermutation() {
+        final Random rnd = new Random(31L);
+
+        for (final Simplifier simplifier : SIMPLIFIERS) {
+            for (int iteration = 0; iteration < 10; ++iteration) {
+                final long[] graph = createEquityArray(5 + rnd.nextInt(10),
+                                                       rnd,
+                                                       100L,
+                                                       0.3f);
+                final SimplificationResult result =
+                        ((AnytimeSimplifier) simplifier)
+                        .simplify(graph, 0L, TimeUnit.NANOSECONDS);
+
+                assertSamePermutation(graph, result.getGraph());
+            }
+        }
+    }
+
+    @Test
+    public void testExpiredBudgetIsNotOptimal() {
+        // No proper subset of these nodes is a group, so the searches have to
+        // go through many partitions before they are done.
+        final long[] graph = withoutSubgroups(new Random(37L), 7, 7);
+
+        for (final Simplifier simplifier : SIMPLIFIERS) {
+            final SimplificationResult result =
+                    ((AnytimeSimplifier) simplifier)
+                    .simplify(graph, 0L, TimeUnit.NANOSECONDS);
+
+            assertFalse(result.isOptimal());
+            assertSamePermutation(graph, result.getGraph());
+            assertEquals(1, countGroups(result.getGraph()));
+        }
+    }
+
+    @Test
+    public void testAmpleBudgetMatchesUnbudgetedResult() {
+        final Random rnd = new Random(41L);
+
+        for (final Simplifier simplifier : SIMPLIFIERS) {
+            for (int iteration = 0; iteration < 30; ++iteration) {
+                final long[] graph = randomGraph(rnd, 11);
+                final SimplificationResult result =
+                        ((AnytimeSimplifier) simplifier)
+                        .simplify(graph, 1L, TimeUnit.HOURS);
+
+                assertTrue(result.isOptimal());
+                assertSamePermutation(graph, result.getGraph());
+                assertEquals(countGroups(simplifier.simplify(graph)),
+                             countGroups(result.getGraph()));
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import static net.coderodde.loan.TestUtilities.assertMatchesReference;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class AutoSimplifierTest {
+
+    @Test
+    public void testEngineSelection() {
+        final AutoSimplifier simplifier =
+                new AutoSimplifier(1, 1L, TimeUnit.SECONDS);
+
+        assertEquals(AutoSimplifier.Engine.NONE,
+                     simplifier.getEngine(new long[]{ 2L, 0L, -2L, 5L, -5L }));
+        assertEquals(AutoSimplifier.Engine.NONE,
+                     simplifier.getEngine(new long[]{ 9L, -2L, -3L, -4L }));
+        assertEquals(AutoSimplifier.Engine.NONE,
+                     simplifier.getEngine(
+                             new long[]{ 10L, -1L, -2L, -3L, -4L, -5L, 5L }));
+        assertEquals(AutoSimplifier.Engine.PARTITIONAL,
+                     simplifier.getEngine(skewedGraph(18)));
+        assertEquals(AutoSimplifier.Engine.COMBINATORIAL,
+                     simplifier.getEngine(balancedGraph(10)));
+        assertEquals(AutoSimplifier.Engine.GREEDY,
+                     simplifier.getEngine(balancedGraph(30)));
+    }
+
+    @Test
+    public void testMoreCoresFavorCombinatorialSearch() {
+        final long[] graph = balancedGraph(16);
+
+        assertEquals(AutoSimplifier.Engine.GREEDY,
+                     new AutoSimplifier(1, 1L, TimeUnit.SECONDS)
+                             .getEngine(graph));
+        assertEquals(AutoSimplifier.Engine.COMBINATORIAL,
+                     new AutoSimplifier(64, 1L, TimeUnit.SECONDS)
+                             .getEngine(graph));
+    }
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        assertMatchesReference(new AutoSimplifier(),
+                               new DynamicProgrammingSimplifier(),
+                               new Random(17L),
+                               50,
+                               12);
+    }
+
+    @Test
+    public void testSkewedGraph() {
+        final long[] graph = skewedGraph(18);
+        final long[] result = new AutoSimplifier().simplify(graph);
+
+        assertSamePermutation(graph, result);
+        assertEquals(2, countGroups(result));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCores() {
+        new AutoSimplifier(0, 1L, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a graph of <code>positiveCount</code> nodes of 1 and two nodes
+     * that split them in halves.
+     */
+    private static long[] skewedGraph(final int positiveCount) {
+        final long[] graph = new long[positiveCount + 2];
+        Arrays.fill(graph, 1L);
+        graph[positiveCount] = -(positiveCount / 2);
+        graph[positiveCount + 1] = -(positiveCount - positiveCount / 2);
+        return graph;
+    }
+
+    /**
+     * Creates a graph of <code>count</code> positive and <code>count</code>
+     * negative nodes without semi-trivial groups.
+     */
+    private static long[] balancedGraph(final int count) {
+        final long[] graph = new long[2 * count];
+
+        for (int i = 0; i < count; ++i) {
+            graph[i] = 2L * i + 3L;
+            graph[count + i] = -(2L * i + 4L);
+        }
+
+        graph[2 * count - 1] -= sumOf(graph);
+        return graph;
+    }
+
+    private static long sumOf(final long[] array) {
+        long sum = 0L;
+
+        for (final long l : array) {
+            sum += l;
+        }
+
+        return sum;
+    }
+}
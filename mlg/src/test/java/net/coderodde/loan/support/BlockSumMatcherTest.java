@@ -0,0 +1,92 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BlockSumMatcherTest {
+
+    @Test
+    public void testCountGroups() {
+        final long[] positiveArray = { 1L, 2L, 3L, 4L };
+        final long[] negativeArray = { -3L, -3L, -4L };
+        final BlockSumMatcher matcher = new BlockSumMatcher(3);
+
+        // Blocks { 1, 2 }, { 3 }, { 4 } vs. { -3 }, { -3 }, { -4 }.
+        assertEquals(3, matcher.countGroups(positiveArray,
+                                            negativeArray,
+                                            new int[]{ 0, 0, 1, 2 },
+                                            new int[]{ 0, 1, 2 },
+                                            3));
+
+        // Blocks { 1, 3 }, { 2 }, { 4 } vs. { -3 }, { -3 }, { -4 }.
+        assertEquals(0, matcher.countGroups(positiveArray,
+                                            negativeArray,
+                                            new int[]{ 0, 1, 0, 2 },
+                                            new int[]{ 0, 1, 2 },
+                                            3));
+
+        // Blocks { 1, 2, 3 }, { 4 } vs. { -3, -3 }, { -4 }.
+        assertEquals(2, matcher.countGroups(positiveArray,
+                                            negativeArray,
+                                            new int[]{ 0, 0, 0, 1 },
+                                            new int[]{ 0, 0, 1 },
+                                            2));
+    }
+
+    @Test
+    public void testAgreesWithSorting() {
+        final Random rnd = new Random(7L);
+        final BlockSumMatcher matcher = new BlockSumMatcher(4);
+
+        for (int iteration = 0; iteration < 10000; ++iteration) {
+            final int k = 1 + rnd.nextInt(4);
+            final long[] positiveArray = new long[k + rnd.nextInt(3)];
+            final long[] negativeArray = new long[k + rnd.nextInt(3)];
+            final int[] positiveIndices = indices(positiveArray.length, k, rnd);
+            final int[] negativeIndices = indices(negativeArray.length, k, rnd);
+
+            for (int i = 0; i < positiveArray.length; ++i) {
+                positiveArray[i] = 1L + rnd.nextInt(4);
+            }
+
+            for (int i = 0; i < negativeArray.length; ++i) {
+                negativeArray[i] = -1L - rnd.nextInt(4);
+            }
+
+            final long[] positiveSums = new long[k];
+            final long[] negativeSums = new long[k];
+
+            for (int i = 0; i < positiveArray.length; ++i) {
+                positiveSums[positiveIndices[i]] += positiveArray[i];
+            }
+
+            for (int i = 0; i < negativeArray.length; ++i) {
+                negativeSums[negativeIndices[i]] -= negativeArray[i];
+            }
+
+            Arrays.sort(positiveSums);
+            Arrays.sort(negativeSums);
+
+            assertEquals(Arrays.equals(positiveSums, negativeSums) ? k : 0,
+                         matcher.countGroups(positiveArray,
+                                             negativeArray,
+                                             positiveIndices,
+                                             negativeIndices,
+                                             k));
+        }
+    }
+
+    private static int[] indices(final int length,
+                                 final int k,
+                                 final Random rnd) {
+        final int[] indices = new int[length];
+
+        for (int i = 0; i < length; ++i) {
+            indices[i] = i < k ? i : rnd.nextInt(k);
+        }
+
+        return indices;
+    }
+}
@@ -0,0 +1,58 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.SimplificationResult;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.TestUtilities.randomGraph;
+import static net.coderodde.loan.Utilities.countGroups;
+import static net.coderodde.loan.Utilities.createEquityArray;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class BranchAndBoundSimplifierTest {
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        final Random rnd = new Random(23L);
+        final BranchAndBoundSimplifier simplifier =
+                new BranchAndBoundSimplifier();
+        final DynamicProgrammingSimplifier reference =
+                new DynamicProgrammingSimplifier();
+
+        for (int iteration = 0; iteration < 100; ++iteration) {
+            final long[] graph = randomGraph(rnd, 16);
+            final SimplificationResult result =
+                    simplifier.simplify(graph, 1L, TimeUnit.HOURS);
+
+            assertTrue(result.isOptimal());
+            assertSamePermutation(graph, result.getGraph());
+            assertEquals(countGroups(reference.simplify(graph)),
+                         countGroups(result.getGraph()));
+        }
+    }
+
+    @Test
+    public void testExpiredBudget() {
+        final Random rnd = new Random(29L);
+        final BranchAndBoundSimplifier simplifier =
+                new BranchAndBoundSimplifier();
+
+        for (int iteration = 0; iteration < 20; ++iteration) {
+            final long[] graph = createEquityArray(10 + rnd.nextInt(10),
+                                                   rnd,
+                                                   1000L,
+                                                   0.3f);
+            final SimplificationResult result =
+                    simplifier.simplify(graph, 0L, TimeUnit.NANOSECONDS);
+
+            assertFalse(result.isOptimal());
+            assertSamePermutation(graph, result.getGraph());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadBudget() {
+        new BranchAndBoundSimplifier(0L);
+    }
+}
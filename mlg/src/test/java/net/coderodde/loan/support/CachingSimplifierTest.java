@@ -0,0 +1,79 @@
+package net.coderodde.loan.support;
+
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CachingSimplifierTest {
+
+    @Test
+    public void testCounters() {
+        final CachingSimplifier simplifier = 
+                new CachingSimplifier(new PartitionalSimplifierV4(), 10);
+        final long[] graph1 = { 3L, -1L, -2L, 5L, -4L, -1L };
+        final long[] graph2 = { -1L, 5L, 0L, -2L, -1L, 3L, -4L, 7L, -7L };
+        final long[] graph3 = { 2L, 2L, -1L, -3L };
+        final long[] graph4 = { 6L, -1L, -2L, -3L };
+
+        final long[] result1 = simplifier.simplify(graph1);
+        assertEquals(0L, simplifier.getHits());
+        assertEquals(1L, simplifier.getMisses());
+
+        // Same non-trivial nodes in another order.
+        final long[] result2 = simplifier.simplify(graph2);
+        assertEquals(1L, simplifier.getHits());
+        assertEquals(1L, simplifier.getMisses());
+        assertEquals(countGroups(result1) + 2, countGroups(result2));
+        assertSamePermutation(graph2, result2);
+
+        simplifier.simplify(graph3);
+        simplifier.simplify(graph4);
+        assertEquals(3L, simplifier.getMisses());
+        assertEquals(1L, simplifier.getEvictions());
+        assertEquals(2, simplifier.size());
+        assertEquals(8L, simplifier.getCachedNodes());
+
+        // 'graph1' was the least recently used.
+        simplifier.simplify(graph1);
+        assertEquals(4L, simplifier.getMisses());
+        assertEquals(2L, simplifier.getEvictions());
+    }
+
+    @Test
+    public void testEvictsByNodes() {
+        final CachingSimplifier simplifier = 
+                new CachingSimplifier(new PartitionalSimplifierV4(), 8);
+
+        simplifier.simplify(new long[]{ 2L, 2L, -1L, -3L });
+        simplifier.simplify(new long[]{ 6L, -1L, -2L, -3L });
+        assertEquals(0L, simplifier.getEvictions());
+
+        // Six nodes evict both cached four-node solutions.
+        simplifier.simplify(new long[]{ 3L, -1L, -2L, 5L, -4L, -1L });
+        assertEquals(2L, simplifier.getEvictions());
+        assertEquals(1, simplifier.size());
+        assertEquals(6L, simplifier.getCachedNodes());
+    }
+
+    @Test
+    public void testOversizedSolutionIsNotCached() {
+        final CachingSimplifier simplifier = 
+                new CachingSimplifier(new PartitionalSimplifierV4(), 5);
+        final long[] graph = { 3L, -1L, -2L, 5L, -4L, -1L };
+
+        simplifier.simplify(graph);
+        final long[] result = simplifier.simplify(graph);
+        assertEquals(0L, simplifier.getHits());
+        assertEquals(2L, simplifier.getMisses());
+        assertEquals(0L, simplifier.getEvictions());
+        assertEquals(0, simplifier.size());
+        assertEquals(0L, simplifier.getCachedNodes());
+        assertSamePermutation(graph, result);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCapacity() {
+        new CachingSimplifier(new PartitionalSimplifierV4(), 0);
+    }
+}
@@ -0,0 +1,18 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import static net.coderodde.loan.TestUtilities.assertMatchesReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CombinatorialSimplifierV4Test {
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        assertMatchesReference(new CombinatorialSimplifierV4(),
+                               new DynamicProgrammingSimplifier(),
+                               new Random(29L),
+                               100,
+                               16);
+    }
+}
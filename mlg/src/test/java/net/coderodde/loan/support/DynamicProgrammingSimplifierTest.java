@@ -0,0 +1,40 @@
+package net.coderodde.loan.support;
+
+import java.util.Arrays;
+import java.util.Random;
+import static net.coderodde.loan.TestUtilities.assertMatchesReference;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class DynamicProgrammingSimplifierTest {
+
+    @Test
+    public void testEmptyAndTrivialGraphs() {
+        final DynamicProgrammingSimplifier simplifier =
+                new DynamicProgrammingSimplifier();
+
+        assertEquals(0, simplifier.simplify(new long[0]).length);
+        assertEquals(3, countGroups(simplifier.simplify(new long[]{0, 0, 0})));
+        assertEquals(3, countGroups(
+                simplifier.simplify(new long[]{2, 0, -2, 5, -5})));
+    }
+
+    @Test
+    public void testAgainstPartitionalSimplifierV4() {
+        assertMatchesReference(new DynamicProgrammingSimplifier(),
+                               new PartitionalSimplifierV4(),
+                               new Random(13L),
+                               50,
+                               10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTooManyNodes() {
+        // 26 ones and a single -26 form one non-trivial group of 27 nodes.
+        final long[] graph = new long[27];
+        Arrays.fill(graph, 1L);
+        graph[26] = -26L;
+        new DynamicProgrammingSimplifier().simplify(graph);
+    }
+}
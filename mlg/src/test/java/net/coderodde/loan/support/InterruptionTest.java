@@ -0,0 +1,83 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.TestUtilities.withoutSubgroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class InterruptionTest {
+
+    @Test
+    public void testInterruptThreadedSimplifier() throws InterruptedException {
+        checkInterruption(new PartitionalSimplifierV7(4),
+                          withoutSubgroups(new Random(43L), 10, 10));
+    }
+
+    @Test
+    public void testInterruptForkJoinSimplifier() throws InterruptedException {
+        checkInterruption(new CombinatorialSimplifierV3(),
+                          withoutSubgroups(new Random(47L), 20, 20));
+    }
+
+    @Test
+    public void testInterruptGreedySimplifier() throws InterruptedException {
+        // A single positive combination is paired with up to C(40, 20) 
+        // negative combinations.
+        checkInterruption(new GreedyCombinatorialSimplifier(),
+                          withoutSubgroups(new Random(53L), 2, 40));
+    }
+
+    /**
+     * Interrupts <code>simplifier</code> while it is simplifying
+     * <code>graph</code>, and checks that it throws a
+     * <code>CancellationException</code>, keeps the interrupted status of
+     * the calling thread and leaves no threads running.
+     */
+    private static void checkInterruption(final Simplifier simplifier,
+                                          final long[] graph)
+    throws InterruptedException {
+        final Set<Thread> threadsBefore = Thread.getAllStackTraces().keySet();
+        final Throwable[] thrown = new Throwable[1];
+        final boolean[] interrupted = new boolean[1];
+
+        final Thread caller = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    simplifier.simplify(graph);
+                } catch (final Throwable t) {
+                    thrown[0] = t;
+                    interrupted[0] = Thread.currentThread().isInterrupted();
+                }
+            }
+        };
+
+        caller.start();
+        Thread.sleep(200L);
+        assertTrue("The search finished too early.", caller.isAlive());
+        caller.interrupt();
+        caller.join(10000L);
+
+        assertFalse(caller.isAlive());
+        assertTrue(thrown[0] instanceof CancellationException);
+        assertTrue(interrupted[0]);
+
+        final Set<Thread> threadsAfter = Thread.getAllStackTraces().keySet();
+
+        for (final Thread thread : threadsAfter) {
+            if (thread instanceof ForkJoinWorkerThread) {
+                // The workers of the shared pool live on, even those started
+                // before the search, but must be idle.
+                assertTrue(((ForkJoinWorkerThread) thread).getPool()
+                           .awaitQuiescence(10L, TimeUnit.SECONDS));
+            } else if (!threadsBefore.contains(thread)) {
+                assertFalse("Left behind: " + thread, thread.isAlive());
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import net.coderodde.loan.Simplifier;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.TestUtilities.randomGraph;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class KSumSimplifierTest {
+
+    @Test
+    public void testTriples() {
+        final KSumSimplifier simplifier = 
+                new KSumSimplifier(new PartitionalSimplifierV4());
+        final long[] graph = { 1L, 2L, -3L, 4L, 4L, -8L, 5L, -5L, 0L, 
+                               7L, -9L, 2L };
+        final long[] result = simplifier.simplify(graph);
+
+        assertSamePermutation(graph, result);
+        assertEquals(5, countGroups(result));
+    }
+
+    @Test
+    public void testQuadruples() {
+        final long[] graph = { 10L, 20L, -13L, -17L, 11L, 23L, -15L, -19L };
+        final long[] result = 
+                new KSumSimplifier(new PartitionalSimplifierV4(), true)
+                        .simplify(graph);
+
+        assertSamePermutation(graph, result);
+        assertEquals(2, countGroups(result));
+        assertEquals(0L, result[0] + result[1] + result[2] + result[3]);
+    }
+
+    @Test
+    public void testTooManyPairsForQuadruples() {
+        // The group of four is the only small group, and it is found only if
+        // there are few enough distinct equities.
+        final long[] quadruple = { 1000000000001L, 1000000000002L, 
+                                   -1000000000000L, -1000000000003L };
+        final int[] restLengths = new int[1];
+        final Simplifier recorder = new Simplifier() {
+            @Override
+            public long[] simplify(final long[] graph) {
+                restLengths[0] = graph.length;
+                return graph.clone();
+            }
+        };
+
+        for (final int positiveCount : new int[]{ 100, 3000 }) {
+            final long[] graph = new long[positiveCount + 5];
+            long sum = 0L;
+
+            for (int i = 0; i < positiveCount; ++i) {
+                graph[i] = 1000000L + 2L * i;
+                sum += graph[i];
+            }
+
+            graph[positiveCount] = -sum;
+            System.arraycopy(quadruple, 0, graph, positiveCount + 1, 4);
+
+            // All the equities are distinct.
+            final boolean tooManyPairs = 
+                    (long) graph.length * (graph.length + 1) / 2 > 
+                    KSumSimplifier.MAXIMUM_QUADRUPLE_PAIRS;
+            final long[] result = 
+                    new KSumSimplifier(recorder, true).simplify(graph);
+
+            assertSamePermutation(graph, result);
+            assertEquals(tooManyPairs ? graph.length : graph.length - 4,
+                         restLengths[0]);
+        }
+    }
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        final Random rnd = new Random(53L);
+        final DynamicProgrammingSimplifier reference =
+                new DynamicProgrammingSimplifier();
+
+        for (final boolean extractQuadruples : new boolean[]{ false, true }) {
+            final KSumSimplifier simplifier =
+                    new KSumSimplifier(reference, extractQuadruples);
+
+            for (int iteration = 0; iteration < 100; ++iteration) {
+                final long[] graph = randomGraph(rnd, 16);
+                final long[] result = simplifier.simplify(graph);
+
+                assertSamePermutation(graph, result);
+                assertTrue(countGroups(result)
+                           <= countGroups(reference.simplify(graph)));
+            }
+        }
+    }
+}
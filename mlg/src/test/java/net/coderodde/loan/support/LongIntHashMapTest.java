@@ -0,0 +1,65 @@
+package net.coderodde.loan.support;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        final LongIntHashMap map = new LongIntHashMap(0);
+
+        assertEquals(0, map.get(1L));
+        assertEquals(0, map.size());
+
+        map.put(1L, 3);
+        map.put(-1L, 4);
+        map.put(0L, 5);
+
+        assertEquals(3, map.get(1L));
+        assertEquals(4, map.get(-1L));
+        assertEquals(5, map.get(0L));
+        assertEquals(0, map.get(2L));
+        assertEquals(3, map.size());
+
+        assertEquals(4, map.increment(1L));
+        assertEquals(1, map.increment(Long.MIN_VALUE));
+        assertEquals(4, map.get(1L));
+        assertEquals(1, map.get(Long.MIN_VALUE));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void testAgreesWithHashMap() {
+        final Random rnd = new Random(11L);
+        final LongIntHashMap map = new LongIntHashMap(4);
+        final Map<Long, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20000; ++i) {
+            final long key = rnd.nextInt(5000) - 2500;
+            final Integer count = expected.get(key);
+            expected.put(key, count == null ? 1 : count + 1);
+            assertEquals((int) expected.get(key), map.increment(key));
+        }
+
+        assertEquals(expected.size(), map.size());
+
+        for (long key = -3000L; key <= 3000L; ++key) {
+            final Integer count = expected.get(key);
+            assertEquals(count == null ? 0 : count, map.get(key));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLargeExpectedSize() {
+        new LongIntHashMap((1 << 29) + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaximumIntExpectedSize() {
+        new LongIntHashMap(Integer.MAX_VALUE);
+    }
+}
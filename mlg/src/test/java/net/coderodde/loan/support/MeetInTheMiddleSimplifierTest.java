@@ -0,0 +1,84 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import net.coderodde.loan.Workload;
+import net.coderodde.loan.WorkloadGenerator;
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.TestUtilities.randomGraph;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MeetInTheMiddleSimplifierTest {
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        final Random rnd = new Random(19L);
+        final MeetInTheMiddleSimplifier simplifier =
+                new MeetInTheMiddleSimplifier();
+        final DynamicProgrammingSimplifier reference =
+                new DynamicProgrammingSimplifier();
+        int optimalCount = 0;
+
+        for (int iteration = 0; iteration < 100; ++iteration) {
+            final long[] graph = randomGraph(rnd, 16);
+            final long[] result = simplifier.simplify(graph);
+            final int optimum = countGroups(reference.simplify(graph));
+            final int groups = countGroups(result);
+
+            assertSamePermutation(graph, result);
+            assertTrue(groups <= optimum);
+
+            if (groups == optimum) {
+                ++optimalCount;
+            }
+        }
+
+        // Removing the smallest group first is almost always optimal.
+        assertTrue(optimalCount >= 90);
+    }
+
+    @Test
+    public void testPlantedOptimumBeyondFortyNodes() {
+        // Four groups of 11 nodes each, all but one of the same sign, have no
+        // smaller groups, and with weights this large hardly any accidental
+        // ones, so removing the smallest group finds all of them.
+        final Workload workload =
+                new WorkloadGenerator(new Random(23L), 1000000000000000L)
+                .generate(4, 11);
+        final long[] graph = workload.getGraph();
+        final long[] result = new MeetInTheMiddleSimplifier().simplify(graph);
+
+        assertEquals(44, graph.length);
+        assertSamePermutation(graph, result);
+        assertEquals(workload.getPlantedGroupCount(), countGroups(result));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyNodes() {
+        new MeetInTheMiddleSimplifier().simplify(graph(25, 24));
+    }
+
+    /**
+     * Creates a group of distinct odd positive nodes and even negative nodes,
+     * none of which is a semi-trivial group.
+     */
+    private static long[] graph(final int positiveCount,
+                                final int negativeCount) {
+        final long[] graph = new long[positiveCount + negativeCount];
+        long sum = 0L;
+
+        for (int i = 0; i < positiveCount; ++i) {
+            graph[i] = 2L * i + 3L;
+            sum += graph[i];
+        }
+
+        for (int i = 0; i < negativeCount - 1; ++i) {
+            graph[positiveCount + i] = -(2L * i + 4L);
+            sum += graph[positiveCount + i];
+        }
+
+        graph[graph.length - 1] = -sum;
+        return graph;
+    }
+}
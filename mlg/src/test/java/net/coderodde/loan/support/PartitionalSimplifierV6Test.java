@@ -0,0 +1,103 @@
+package net.coderodde.loan.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import static net.coderodde.loan.TestUtilities.assertMatchesReference;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PartitionalSimplifierV6Test {
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        final DynamicProgrammingSimplifier reference =
+                new DynamicProgrammingSimplifier();
+
+        for (final int threadCount : new int[]{ 1, 2, 3, 8 }) {
+            assertMatchesReference("Thread count " + threadCount,
+                                   new PartitionalSimplifierV6(threadCount),
+                                   reference,
+                                   new Random(53L),
+                                   40,
+                                   12);
+        }
+    }
+
+    @Test
+    public void testSingletonChunks() {
+        // With this many threads, each chunk holds a single partition, so
+        // every block amount is spread over many chunks.
+        assertMatchesReference(new PartitionalSimplifierV6(256),
+                               new DynamicProgrammingSimplifier(),
+                               new Random(61L),
+                               40,
+                               14);
+    }
+
+    @Test
+    public void testChunksSplittingBlockAmounts() {
+        final long[] weights = { 3L, 1L, 4L, 1L, 5L, 9L, 2L };
+        final int initialBlocks = 2;
+        final long partitionCount =
+                GeneralPartitionGenerator.count(weights.length, 
+                                                initialBlocks);
+        final List<String> expected = 
+                partitions(new GeneralPartitionGenerator(weights.length,
+                                                         initialBlocks,
+                                                         weights));
+
+        assertEquals(partitionCount, expected.size());
+
+        for (final long chunkSize : new long[]{ 1L, 7L, 50L }) {
+            final List<String> actual = new ArrayList<>();
+            int splitBlockAmounts = 0;
+
+            for (long fromRank = 0L; 
+                    fromRank < partitionCount; 
+                    fromRank += chunkSize) {
+                final GeneralPartitionGenerator generator = 
+                        new GeneralPartitionGenerator(
+                                weights.length,
+                                initialBlocks,
+                                fromRank,
+                                Math.min(partitionCount, 
+                                         fromRank + chunkSize),
+                                weights);
+
+                // A chunk starting in the middle of the partitions with 
+                // the same amount of blocks as the previous chunk.
+                if (fromRank > 0L && 
+                        expected.get((int)(fromRank - 1L)).charAt(0) - '0' 
+                        == generator.getk()) {
+                    ++splitBlockAmounts;
+                }
+
+                actual.addAll(partitions(generator));
+            }
+
+            assertTrue(splitBlockAmounts > 0);
+            assertEquals("Chunk size " + chunkSize, expected, actual);
+        }
+    }
+
+    /**
+     * Returns the remaining partitions of <code>generator</code>, each as the
+     * amount of blocks, the block indices and the block sums.
+     */
+    private static List<String> partitions(
+            final GeneralPartitionGenerator generator) {
+        final List<String> partitions = new ArrayList<>();
+
+        do {
+            final int k = generator.getk();
+            partitions.add(k + " " + 
+                           Arrays.toString(generator.getIndices()) + " " +
+                           Arrays.toString(Arrays.copyOf(
+                                   generator.getBlockSums(), k)));
+        } while (generator.inc());
+
+        return partitions;
+    }
+}
@@ -0,0 +1,61 @@
+package net.coderodde.loan.support;
+
+import java.util.Random;
+import static net.coderodde.loan.TestUtilities.assertMatchesReference;
+import static net.coderodde.loan.TestUtilities.withoutSubgroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PartitionalSimplifierV7Test {
+
+    @Test
+    public void testAgainstDynamicProgrammingSimplifier() {
+        final DynamicProgrammingSimplifier reference =
+                new DynamicProgrammingSimplifier();
+
+        for (final int threadCount : new int[]{ 1, 2, 8 }) {
+            assertMatchesReference("Thread count " + threadCount,
+                                   new PartitionalSimplifierV7(threadCount),
+                                   reference,
+                                   new Random(59L),
+                                   40,
+                                   12);
+        }
+    }
+
+    @Test
+    public void testObsoleteBlockAmountIsDropped() throws InterruptedException {
+        // The smaller array has a single partition into three blocks, while
+        // the larger one has about 5.8 * 10^8, none of which matches. Only 
+        // the periodic check within the larger array may stop the search.
+        final long[] graph = withoutSubgroups(new Random(67L), 3, 20);
+        final long[] smallArray = new long[3];
+        final long[] largeArray = new long[20];
+        System.arraycopy(graph, 0, smallArray, 0, 3);
+        System.arraycopy(graph, 3, largeArray, 0, 20);
+
+        final PartitionalSimplifierV7.SearchState state =
+                new PartitionalSimplifierV7.SearchState(3, 3, null);
+        final PartitionalSimplifierV7.SearchTask task =
+                new PartitionalSimplifierV7.SearchTask(smallArray,
+                                                       largeArray,
+                                                       state);
+        final Thread searcher = new Thread() {
+            @Override
+            public void run() {
+                task.invoke();
+            }
+        };
+
+        searcher.start();
+        Thread.sleep(200L);
+        assertTrue("The search finished too early.", searcher.isAlive());
+
+        // Another task finds a match with as many blocks.
+        state.offer(3);
+        searcher.join(10000L);
+
+        assertFalse(searcher.isAlive());
+        assertEquals(-1, task.bestk);
+    }
+}
@@ -0,0 +1,35 @@
+package net.coderodde.loan.support;
+
+import static net.coderodde.loan.TestUtilities.assertSamePermutation;
+import static net.coderodde.loan.Utilities.countGroups;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ScalingSimplifierTest {
+
+    @Test
+    public void testScaling() {
+        final ScalingSimplifier simplifier =
+                new ScalingSimplifier(new PartitionalSimplifierV4());
+        final long[] graph = { 300L, -100L, 0L, -200L, 500L, -400L, -100L };
+        final long[] result = simplifier.simplify(graph);
+
+        assertSamePermutation(graph, result);
+        assertEquals(3, countGroups(result));
+    }
+
+    @Test
+    public void testCachingSharesScaledSolutions() {
+        final CachingSimplifier simplifier =
+                new CachingSimplifier(new PartitionalSimplifierV4());
+
+        simplifier.simplify(new long[]{ 3L, -1L, -2L, 5L, -4L, -1L });
+        final long[] result = 
+                simplifier.simplify(
+                        new long[]{ -100L, 500L, -200L, -100L, 300L, -400L });
+
+        assertEquals(1L, simplifier.getHits());
+        assertEquals(2, countGroups(result));
+        assertEquals(0L, result[0] % 100L);
+    }
+}
@@ -0,0 +1,166 @@
+package net.coderodde.loan.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SpecialPartitionGeneratorTest {
+    
+    @Test
+    public void testCount() {
+        assertEquals(1L, SpecialPartitionGenerator.count(1, 1));
+        assertEquals(1L, SpecialPartitionGenerator.count(5, 1));
+        assertEquals(15L, SpecialPartitionGenerator.count(5, 2));
+        assertEquals(25L, SpecialPartitionGenerator.count(5, 3));
+        assertEquals(10L, SpecialPartitionGenerator.count(5, 4));
+        assertEquals(1L, SpecialPartitionGenerator.count(5, 5));
+        assertEquals(1701L, SpecialPartitionGenerator.count(8, 4));
+    }
+    
+    @Test(expected = ArithmeticException.class)
+    public void testCountThrowsOnOverflow() {
+        SpecialPartitionGenerator.count(40, 20);
+    }
+    
+    @Test
+    public void testRank() {
+        for (int n = 1; n <= 8; ++n) {
+            for (int k = 1; k <= n; ++k) {
+                final SpecialPartitionGenerator g = 
+                        new SpecialPartitionGenerator(n, k);
+                long expectedRank = 0L;
+                
+                do {
+                    assertEquals(expectedRank, g.getRank());
+                    assertEquals(expectedRank, 
+                                 SpecialPartitionGenerator.rank(
+                                         n, k, g.getIndices()));
+                    ++expectedRank;
+                } while (g.inc());
+                
+                assertEquals(SpecialPartitionGenerator.count(n, k), 
+                             expectedRank);
+            }
+        }
+    }
+    
+    @Test
+    public void testRankRanges() {
+        final int n = 7;
+        final int k = 3;
+        final List<int[]> expected = collect(new SpecialPartitionGenerator(n, 
+                                                                           k));
+        final long count = SpecialPartitionGenerator.count(n, k);
+        final List<int[]> actual = new ArrayList<>();
+        
+        for (long from = 0L; from < count; from += 50L) {
+            actual.addAll(collect(new SpecialPartitionGenerator(
+                    n, k, from, Math.min(count, from + 50L))));
+        }
+        
+        assertEquals(expected.size(), actual.size());
+        
+        for (int i = 0; i < expected.size(); ++i) {
+            assertTrue(Arrays.equals(expected.get(i), actual.get(i)));
+        }
+    }
+    
+    @Test
+    public void testGeneralRankRanges() {
+        final int n = 6;
+        final int startingBlocks = 2;
+        final List<int[]> expected = 
+                collect(new GeneralPartitionGenerator(n, startingBlocks));
+        final long count = GeneralPartitionGenerator.count(n, startingBlocks);
+        final List<int[]> actual = new ArrayList<>();
+        
+        assertEquals(expected.size(), count);
+        
+        for (long from = 0L; from < count; from += 17L) {
+            final GeneralPartitionGenerator g = 
+                    new GeneralPartitionGenerator(n, 
+                                                  startingBlocks, 
+                                                  from, 
+                                                  Math.min(count, from + 17L));
+            long rank = from;
+            
+            do {
+                assertEquals(rank++, g.getRank());
+                actual.add(g.getIndices().clone());
+            } while (g.inc());
+        }
+        
+        assertEquals(expected.size(), actual.size());
+        
+        for (int i = 0; i < expected.size(); ++i) {
+            assertTrue(Arrays.equals(expected.get(i), actual.get(i)));
+        }
+    }
+    
+    @Test
+    public void testBlockSums() {
+        final long[] weights = { 3L, -1L, 4L, 1L, -5L, 9L, 2L };
+        final int n = weights.length;
+        
+        for (int k = 1; k <= n; ++k) {
+            final SpecialPartitionGenerator g = 
+                    new SpecialPartitionGenerator(n, k, weights);
+            int[] previous = g.getIndices().clone();
+            
+            do {
+                assertTrue(Arrays.equals(blockSums(g.getIndices(), weights, k),
+                                         g.getBlockSums()));
+                
+                for (int i = 0; i < g.getFirstChangedIndex(); ++i) {
+                    assertEquals(previous[i], g.getIndices()[i]);
+                }
+                
+                previous = g.getIndices().clone();
+            } while (g.inc());
+        }
+        
+        final GeneralPartitionGenerator g = 
+                new GeneralPartitionGenerator(n, 2, 100L, 400L, weights);
+        
+        do {
+            assertTrue(Arrays.equals(blockSums(g.getIndices(), 
+                                               weights, 
+                                               g.getk()),
+                                     g.getBlockSums()));
+        } while (g.inc());
+    }
+    
+    private static long[] blockSums(final int[] indices, 
+                                    final long[] weights,
+                                    final int k) {
+        final long[] sums = new long[k];
+        
+        for (int i = 0; i < indices.length; ++i) {
+            sums[indices[i]] += weights[i];
+        }
+        
+        return sums;
+    }
+    
+    private static List<int[]> collect(final SpecialPartitionGenerator g) {
+        final List<int[]> list = new ArrayList<>();
+        
+        do {
+            list.add(g.getIndices().clone());
+        } while (g.inc());
+        
+        return list;
+    }
+    
+    private static List<int[]> collect(final GeneralPartitionGenerator g) {
+        final List<int[]> list = new ArrayList<>();
+        
+        do {
+            list.add(g.getIndices().clone());
+        } while (g.inc());
+        
+        return list;
+    }
+}